@@ -0,0 +1,38 @@
+package com.example.university.benchmark;
+
+import com.example.university.service.CustomUserDetailsService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class AuthenticationBenchmarks {
+
+    @Benchmark
+    public UserDetails loadUserByUsernameCached(UniversityState state) {
+        return state.userDetailsService.loadUserByUsername(state.randomUsername());
+    }
+
+    @Benchmark
+    public UserDetails loadUserByUsernameUncached(UniversityState state) {
+        CustomUserDetailsService userDetailsService = state.userDetailsService;
+        String username = state.randomUsername();
+        userDetailsService.evictUser(username);
+        return userDetailsService.loadUserByUsername(username);
+    }
+
+    @Benchmark
+    public String encodePassword(UniversityState state) {
+        return state.passwordEncoder.encode(UniversityState.PASSWORD);
+    }
+
+    @Benchmark
+    public boolean matchesPassword(UniversityState state) {
+        return state.passwordEncoder.matches(UniversityState.PASSWORD, state.encodedPassword);
+    }
+}
@@ -0,0 +1,130 @@
+package com.example.university.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// End-to-end request latency with more concurrent clients than Tomcat's default 200 worker threads,
+// so the platform run queues on the thread pool while the virtual run queues on the connection pool.
+// Compare the two requestThreads values; raise the client count with -t.
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(400)
+public class RequestThreadingBenchmarks {
+
+    private static final Pattern CSRF_TOKEN = Pattern.compile("name=\"_csrf\" value=\"([^\"]+)\"");
+    private static final Pattern SESSION_COOKIE = Pattern.compile("JSESSIONID=([^;]+)");
+
+    // One client per benchmark thread, logged in as a random seeded student for the whole trial
+    @State(Scope.Thread)
+    public static class StudentSession {
+
+        String sessionId;
+
+        @Setup(Level.Trial)
+        public void logIn(WebState state) throws IOException, InterruptedException {
+            HttpResponse<String> loginPage = send(state, get(state, "/login", null));
+            sessionId = sessionCookie(loginPage, null);
+            Map<String, String> form = new LinkedHashMap<>();
+            form.put("username", state.randomUsername());
+            form.put("password", UniversityState.PASSWORD);
+            form.put("_csrf", csrfToken(loginPage));
+            HttpResponse<String> loggedIn = send(state, post(state, "/login", sessionId, form));
+            expect(loggedIn, 302);
+            if (!loggedIn.headers().firstValue("Location").orElse("").endsWith("/dashboard")) {
+                throw new IllegalStateException("Login failed: " + loggedIn.headers().firstValue("Location"));
+            }
+            // The session id is rotated on login
+            sessionId = sessionCookie(loggedIn, sessionId);
+        }
+    }
+
+    @Benchmark
+    public int registerStudent(WebState state) throws IOException, InterruptedException {
+        HttpResponse<String> registerPage = send(state, get(state, "/register", null));
+        long n = state.nextRegistration();
+        Map<String, String> form = new LinkedHashMap<>();
+        form.put("username", "web" + n);
+        form.put("email", "web" + n + "@bench.test");
+        form.put("password", UniversityState.PASSWORD);
+        form.put("role", "STUDENT");
+        form.put("studentId", "W" + n);
+        form.put("firstName", "Web");
+        form.put("lastName", String.valueOf(n));
+        form.put("_csrf", csrfToken(registerPage));
+        HttpResponse<String> registered = send(state, post(state, "/register", sessionCookie(registerPage, null), form));
+        return expect(registered, 302);
+    }
+
+    @Benchmark
+    public int listCourses(WebState state, StudentSession session) throws IOException, InterruptedException {
+        return expect(send(state, get(state, "/student/courses", session.sessionId)), 200);
+    }
+
+    private static HttpRequest get(WebState state, String path, String sessionId) {
+        return withSession(HttpRequest.newBuilder(state.uri(path)), sessionId).GET().build();
+    }
+
+    private static HttpRequest post(WebState state, String path, String sessionId, Map<String, String> form) {
+        StringJoiner body = new StringJoiner("&");
+        form.forEach((key, value) -> body.add(URLEncoder.encode(key, StandardCharsets.UTF_8) + "="
+                + URLEncoder.encode(value, StandardCharsets.UTF_8)));
+        return withSession(HttpRequest.newBuilder(state.uri(path)), sessionId)
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(body.toString()))
+                .build();
+    }
+
+    private static HttpRequest.Builder withSession(HttpRequest.Builder builder, String sessionId) {
+        return sessionId == null ? builder : builder.header("Cookie", "JSESSIONID=" + sessionId);
+    }
+
+    private static HttpResponse<String> send(WebState state, HttpRequest request)
+            throws IOException, InterruptedException {
+        return state.httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static int expect(HttpResponse<String> response, int status) {
+        if (response.statusCode() != status) {
+            throw new IllegalStateException(response.request().method() + " " + response.request().uri()
+                    + " returned " + response.statusCode() + ", expected " + status);
+        }
+        return status;
+    }
+
+    private static String csrfToken(HttpResponse<String> page) {
+        expect(page, 200);
+        Matcher matcher = CSRF_TOKEN.matcher(page.body());
+        if (!matcher.find()) {
+            throw new IllegalStateException("No CSRF token on " + page.uri());
+        }
+        return matcher.group(1);
+    }
+
+    private static String sessionCookie(HttpResponse<String> response, String current) {
+        return response.headers().allValues("Set-Cookie").stream()
+                .map(SESSION_COOKIE::matcher)
+                .filter(Matcher::find)
+                .map(matcher -> matcher.group(1))
+                .findFirst()
+                .orElse(current);
+    }
+}
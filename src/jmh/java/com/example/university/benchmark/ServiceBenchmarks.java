@@ -0,0 +1,39 @@
+package com.example.university.benchmark;
+
+import com.example.university.dto.CourseSummary;
+import com.example.university.entity.Course;
+import com.example.university.service.StudentService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.Page;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ServiceBenchmarks {
+
+    @Benchmark
+    public Page<CourseSummary> availableCourses(UniversityState state) {
+        return state.studentService.getAvailableCourses(state.randomStudentId(), null, null, null, 0, 12);
+    }
+
+    // Enroll and immediately unenroll so the seeded dataset stays the same size across iterations.
+    @Benchmark
+    public boolean enrollInCourse(UniversityState state) {
+        StudentService studentService = state.studentService;
+        Long studentId = state.randomStudentId();
+        Long courseId = state.randomOpenCourseId();
+        boolean enrolled = studentService.enrollInCourse(studentId, courseId);
+        studentService.unenrollFromCourse(studentId, courseId);
+        return enrolled;
+    }
+
+    @Benchmark
+    public List<Course> getAllCourses(UniversityState state) {
+        return state.courseService.getAllCourses();
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.university.benchmark;
+
+import com.example.university.UniversityApplication;
+import com.example.university.entity.Course;
+import com.example.university.entity.Department;
+import com.example.university.entity.Student;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import com.example.university.service.CourseService;
+import com.example.university.service.CustomUserDetailsService;
+import com.example.university.service.StudentService;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Boots the application once per trial against an embedded H2 (or whatever spring.datasource.*
+// system properties of the benchmark JVM point at, see the benchmark profile in pom.xml) and seeds
+// a dataset sized by the @Param values below.
+@State(Scope.Benchmark)
+public class UniversityState {
+
+    static final String PASSWORD = "benchmark-password";
+
+    // Courses left without seeded enrollments, so enroll/unenroll benchmarks never touch seeded rows.
+    static final int OPEN_COURSES = 10;
+
+    @Param({"1000"})
+    public int students;
+
+    @Param({"200"})
+    public int courses;
+
+    @Param({"5"})
+    public int enrollmentsPerStudent;
+
+    ConfigurableApplicationContext context;
+    StudentService studentService;
+    CourseService courseService;
+    CustomUserDetailsService userDetailsService;
+    PasswordEncoder passwordEncoder;
+    String encodedPassword;
+
+    private final List<Long> studentIds = new ArrayList<>();
+    private final List<String> usernames = new ArrayList<>();
+    private final List<Long> courseIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = new SpringApplicationBuilder(UniversityApplication.class)
+                .run(commandLineArguments());
+        studentService = bean(StudentService.class);
+        courseService = bean(CourseService.class);
+        userDetailsService = bean(CustomUserDetailsService.class);
+        passwordEncoder = bean(PasswordEncoder.class);
+        encodedPassword = passwordEncoder.encode(PASSWORD);
+        bean(TransactionTemplate.class).executeWithoutResult(status -> seed());
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    private <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    Long randomStudentId() {
+        return studentIds.get(ThreadLocalRandom.current().nextInt(studentIds.size()));
+    }
+
+    String randomUsername() {
+        return usernames.get(ThreadLocalRandom.current().nextInt(usernames.size()));
+    }
+
+    Long randomOpenCourseId() {
+        int open = Math.min(OPEN_COURSES, courseIds.size());
+        return courseIds.get(courseIds.size() - 1 - ThreadLocalRandom.current().nextInt(open));
+    }
+
+    private void seed() {
+        Department department = bean(DepartmentRepository.class)
+                .save(new Department("Benchmark", "BENCH", "Benchmark department"));
+
+        List<Course> newCourses = new ArrayList<>();
+        for (int i = 0; i < courses; i++) {
+            Course course = new Course("Course " + i, "C" + i, "Benchmark course " + i, 1 + i % 5);
+            course.setDepartment(department);
+            newCourses.add(course);
+        }
+        bean(CourseRepository.class).saveAllAndFlush(newCourses).forEach(course -> courseIds.add(course.getId()));
+
+        List<Student> newStudents = new ArrayList<>();
+        for (int i = 0; i < students; i++) {
+            newStudents.add(new Student("student" + i, "student" + i + "@bench.test", encodedPassword,
+                    "S" + i, "Student", String.valueOf(i)));
+        }
+        bean(StudentRepository.class).saveAllAndFlush(newStudents).forEach(student -> {
+            studentIds.add(student.getId());
+            usernames.add(student.getUsername());
+        });
+
+        int seededCourses = Math.max(1, courses - OPEN_COURSES);
+        int perStudent = Math.min(enrollmentsPerStudent, seededCourses);
+        List<Object[]> enrollments = new ArrayList<>();
+        for (int i = 0; i < studentIds.size(); i++) {
+            for (int j = 0; j < perStudent; j++) {
+                enrollments.add(new Object[]{studentIds.get(i), courseIds.get((i + j) % seededCourses)});
+            }
+        }
+        bean(JdbcTemplate.class).batchUpdate(
+                "INSERT INTO student_courses (student_id, course_id) VALUES (?, ?)", enrollments);
+        bean(CourseRepository.class).reconcileEnrolledStudentCounts();
+    }
+
+    // Command-line arguments outrank application.yaml; system properties with the same key win. JMH
+    // forks the JVM that runs this, so those must be passed with -jvmArgsAppend, not to Maven.
+    private String[] commandLineArguments() {
+        List<String> arguments = new ArrayList<>();
+        properties().forEach((key, value) -> arguments.add("--" + key + "=" + System.getProperty(key, value)));
+        return arguments.toArray(String[]::new);
+    }
+
+    Map<String, String> properties() {
+        Map<String, String> properties = new LinkedHashMap<>();
+        String url = System.getProperty("spring.datasource.url",
+                "jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE;MODE=PostgreSQL");
+        properties.put("spring.datasource.url", url);
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        // Boot picks the driver and Hibernate the dialect for any other URL
+        if (url.startsWith("jdbc:h2:")) {
+            properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+            properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        }
+        properties.put("university.enrollment.reconcile-initial-delay", "P1D");
+        properties.put("server.port", "0");
+        properties.put("logging.level.root", "WARN");
+        return properties;
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.university.benchmark;
+
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+// The seeded application served over HTTP on a random port, with Tomcat running requests either on
+// its platform-thread pool or, through the virtual-threads profile, on virtual threads.
+@State(Scope.Benchmark)
+public class WebState extends UniversityState {
+
+    @Param({"platform", "virtual"})
+    public String requestThreads;
+
+    final HttpClient httpClient = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    private final AtomicLong registrations = new AtomicLong();
+
+    @Override
+    Map<String, String> properties() {
+        Map<String, String> properties = super.properties();
+        if ("virtual".equals(requestThreads)) {
+            // Boot silently ignores spring.threads.virtual.enabled below 21, which would make the
+            // comparison measure platform threads twice
+            if (Runtime.version().feature() < 21) {
+                throw new IllegalStateException("Virtual threads need Java 21+, running on "
+                        + Runtime.version() + "; use -p requestThreads=platform on this JVM");
+            }
+            properties.put("spring.profiles.active", "virtual-threads");
+        }
+        return properties;
+    }
+
+    URI uri(String path) {
+        return URI.create("http://localhost:" + context.getEnvironment().getProperty("local.server.port") + path);
+    }
+
+    long nextRegistration() {
+        return registrations.incrementAndGet();
+    }
+}
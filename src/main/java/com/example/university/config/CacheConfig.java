@@ -0,0 +1,46 @@
+package com.example.university.config;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import com.example.university.dto.DepartmentOption;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetails;
+import java.time.Duration;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    // Hit/miss/eviction counts are published as cache.gets / cache.evictions{cache="userDetails"}.
+    // Both caches are async so misses can load outside the cache's lock (see service.Caches).
+    @Bean
+    public AsyncCache<String, UserDetails> userDetailsCache(
+            @Value("${university.cache.user-details.maximum-size:10000}") long maximumSize,
+            @Value("${university.cache.user-details.ttl:PT10M}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        AsyncCache<String, UserDetails> cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "userDetails");
+    }
+
+    // Single-entry cache of the department list; writes invalidate it, the TTL only covers
+    // changes made outside the application.
+    @Bean
+    public AsyncCache<String, List<DepartmentOption>> departmentCache(
+            @Value("${university.cache.departments.ttl:PT1H}") Duration ttl,
+            MeterRegistry meterRegistry) {
+        AsyncCache<String, List<DepartmentOption>> cache = Caffeine.newBuilder()
+                .maximumSize(1)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .buildAsync();
+        return CaffeineCacheMetrics.monitor(meterRegistry, cache, "departments");
+    }
+}
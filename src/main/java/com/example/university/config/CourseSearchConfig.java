@@ -0,0 +1,25 @@
+package com.example.university.config;
+
+import com.example.university.repository.CourseRepository;
+import com.example.university.service.CourseSearchIndex;
+import com.example.university.service.LuceneCourseSearchIndex;
+import com.example.university.service.PostgresCourseSearchIndex;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CourseSearchConfig {
+
+    // PostgreSQL searches its own GIN-indexed tsvector column; any other database (H2 in tests and
+    // local runs) gets an in-memory Lucene index in this process.
+    @Bean
+    public CourseSearchIndex courseSearchIndex(CourseRepository courseRepository,
+                                               @Value("${spring.datasource.url:}") String url) {
+        if (DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL) {
+            return new PostgresCourseSearchIndex(courseRepository);
+        }
+        return new LuceneCourseSearchIndex(courseRepository);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.university.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+// The endpoint the current thread is serving, named the way http.server.requests tags it.
+final class CurrentRequest {
+
+    static final String NO_REQUEST = "none";
+    static final String UNKNOWN_URI = "UNKNOWN";
+
+    private CurrentRequest() {}
+
+    // The mapped pattern (/admin/students/{id}), never the raw path, so it stays low-cardinality.
+    // Work done in the security filters, before handler mapping, counts as UNKNOWN.
+    static String uri() {
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request == null) {
+            return NO_REQUEST;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+                RequestAttributes.SCOPE_REQUEST);
+        return pattern != null ? pattern.toString() : UNKNOWN_URI;
+    }
+
+    static String method() {
+        if (RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes) {
+            HttpServletRequest request = attributes.getRequest();
+            return request.getMethod();
+        }
+        return NO_REQUEST;
+    }
+}
@@ -0,0 +1,28 @@
+package com.example.university.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class DataSourceMetricsConfig {
+
+    // Installed before Boot's Hikari meter binder runs; it only adds its own tracker to pools that
+    // have none. Replica pools copy the primary's settings, tracker factory included.
+    @Bean
+    static BeanPostProcessor requestAttributedPoolMetrics(ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource dataSource
+                        && dataSource.getMetricsTrackerFactory() == null && dataSource.getMetricRegistry() == null) {
+                    dataSource.setMetricsTrackerFactory(new RequestAttributedMetricsTrackerFactory(meterRegistry));
+                }
+                return bean;
+            }
+        };
+    }
+}
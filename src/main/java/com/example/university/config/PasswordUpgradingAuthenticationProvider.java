@@ -0,0 +1,49 @@
+package com.example.university.config;
+
+import com.example.university.service.PasswordUpgradeService;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import java.util.concurrent.RejectedExecutionException;
+
+// DaoAuthenticationProvider re-hashes outdated passwords inline, on the login thread. This one
+// hands the re-hash to PasswordUpgradeService and answers the login straight away.
+public class PasswordUpgradingAuthenticationProvider extends DaoAuthenticationProvider {
+
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final PasswordUpgradeService passwordUpgradeService;
+
+    public PasswordUpgradingAuthenticationProvider(UserDetailsService userDetailsService,
+                                                   BoundedPasswordEncoder passwordEncoder,
+                                                   PasswordUpgradeService passwordUpgradeService) {
+        super(userDetailsService);
+        setPasswordEncoder(passwordEncoder);
+        this.passwordEncoder = passwordEncoder;
+        this.passwordUpgradeService = passwordUpgradeService;
+    }
+
+    // Covers both hashes a login can run: the password check, and the dummy check retrieveUser
+    // makes for unknown usernames so they take as long as known ones.
+    @Override
+    public Authentication authenticate(Authentication authentication) {
+        try {
+            return super.authenticate(authentication);
+        } catch (RejectedExecutionException e) {
+            // Hashing queue is full: fail this login rather than the whole request
+            throw new AuthenticationServiceException("Too many concurrent logins, please retry", e);
+        }
+    }
+
+    @Override
+    protected Authentication createSuccessAuthentication(Object principal, Authentication authentication,
+                                                         UserDetails user) {
+        if (user.getPassword() != null && authentication.getCredentials() != null
+                && passwordEncoder.upgradeEncoding(user.getPassword())) {
+            passwordUpgradeService.upgradeInBackground(user.getUsername(),
+                    authentication.getCredentials().toString(), user.getPassword());
+        }
+        return super.createSuccessAuthentication(principal, authentication, user);
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.university.config;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Only active when university.datasource.replica-urls is set; otherwise Boot's single pool is used.
+// Read-only transactions (and Spring Data's read methods) run on a replica, everything else on the
+// primary.
+@Configuration
+@ConditionalOnProperty("university.datasource.replica-urls")
+public class ReadReplicaConfig {
+
+    private static final String PRIMARY = "primary";
+    private static final String REPLICA = "replica";
+
+    // Same binding Boot applies to its own pool, so spring.datasource.hikari.* keeps working.
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("primary");
+        return dataSource;
+    }
+
+    // Replica pools copy the primary's settings; credentials default to the primary's as well.
+    @Bean
+    public ReplicaDataSource replicaDataSource(
+            HikariDataSource primaryDataSource,
+            @Value("${university.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${university.datasource.replica-username:}") String username,
+            @Value("${university.datasource.replica-password:}") String password,
+            @Value("${university.datasource.replica-max-lag:PT5S}") Duration maxLag,
+            @Value("${university.datasource.replica-lag-query:" + ReplicaDataSource.POSTGRES_LAG_QUERY + "}")
+            String lagQuery,
+            MeterRegistry meterRegistry) {
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            HikariConfig config = new HikariConfig();
+            primaryDataSource.copyStateTo(config);
+            config.setJdbcUrl(replicaUrls.get(i).trim());
+            config.setPoolName("replica-" + (i + 1));
+            config.setReadOnly(true);
+            if (!username.isEmpty()) {
+                config.setUsername(username);
+                config.setPassword(password);
+            }
+            if (config.getMetricsTrackerFactory() == null && config.getMetricRegistry() == null) {
+                config.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(meterRegistry));
+            }
+            // Not started here: a replica that is down at startup only keeps reads on the primary
+            HikariDataSource replica = new HikariDataSource();
+            config.copyStateTo(replica);
+            replicas.add(replica);
+        }
+
+        ReplicaDataSource replicaDataSource = new ReplicaDataSource(primaryDataSource, replicas, maxLag, lagQuery);
+        for (ReplicaDataSource.Replica replica : replicaDataSource.getReplicas()) {
+            Gauge.builder("university.datasource.replica.lag", replica, ReplicaDataSource.Replica::lagSeconds)
+                    .tag("replica", replica.name())
+                    .baseUnit("seconds")
+                    .register(meterRegistry);
+        }
+        return replicaDataSource;
+    }
+
+    // Routes on the transaction's read-only flag; the lazy proxy defers that decision to the first
+    // statement, by which time the transaction manager has published the flag.
+    @Bean
+    @Primary
+    public DataSource dataSource(HikariDataSource primaryDataSource, ReplicaDataSource replicaDataSource) {
+        AbstractRoutingDataSource routing = new AbstractRoutingDataSource() {
+            @Override
+            protected Object determineCurrentLookupKey() {
+                return TransactionSynchronizationManager.isCurrentTransactionReadOnly() ? REPLICA : PRIMARY;
+            }
+        };
+        routing.setTargetDataSources(Map.of(PRIMARY, primaryDataSource, REPLICA, replicaDataSource));
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // Hibernate otherwise holds the first connection of a request for the whole open-in-view
+    // session, so a write after a read-only call would end up on the replica connection.
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties -> properties.put("hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION");
+    }
+
+    // The second-level cache is filled by whatever session misses, read-only ones included, so an
+    // entity or query result read from a lagging replica right after an eviction would be served
+    // until it expires. The two setups are mutually exclusive; fail at startup rather than go stale.
+    @Bean
+    public HibernatePropertiesCustomizer rejectSecondLevelCache() {
+        return properties -> {
+            if (Boolean.parseBoolean(String.valueOf(properties.get("hibernate.cache.use_second_level_cache")))) {
+                throw new IllegalStateException("university.datasource.replica-urls cannot be combined with "
+                        + "the Hibernate second-level cache (second-level-cache profile)");
+            }
+        };
+    }
+}
@@ -0,0 +1,148 @@
+package com.example.university.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Target for read-only transactions: hands out replica connections round-robin,
+// skipping replicas that are down or further behind than maxLag. With no usable replica the
+// primary serves the read, so a lagging replica costs throughput but never freshness.
+public class ReplicaDataSource extends AbstractDataSource implements DisposableBean {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    // Seconds since the last replayed transaction, 0 when the replica has replayed everything it has
+    // received, NULL when it is not receiving at all: a replica whose WAL receiver is down has replayed
+    // everything it got too, and would otherwise look current forever. status is only visible with
+    // pg_read_all_stats (pg_monitor); without it a running receiver counts as streaming. A receiver on
+    // a dead connection stops within wal_receiver_timeout.
+    static final String POSTGRES_LAG_QUERY = """
+            SELECT CASE
+                       WHEN NOT pg_is_in_recovery() THEN 0
+                       WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver
+                                        WHERE COALESCE(status, 'streaming') = 'streaming') THEN NULL
+                       WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+                       ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+                   END""";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final Duration maxLag;
+    private final String lagQuery;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReplicaDataSource(DataSource primary, List<HikariDataSource> replicas,
+                             Duration maxLag, String lagQuery) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.maxLag = maxLag;
+        this.lagQuery = lagQuery;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (!replica.usable) {
+                continue;
+            }
+            try {
+                return replica.dataSource.getConnection();
+            } catch (SQLException e) {
+                // Taken out of rotation until the next lag check finds it healthy again
+                markUnusable(replica, e.getMessage());
+            }
+        }
+        return primary.getConnection();
+    }
+
+    // Replica pools are opened with the configured credentials only; a connection for other
+    // credentials is the primary's to give (or refuse), the same as for writes.
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    // Replicas start out unusable, so reads stay on the primary until the first check has passed.
+    @Scheduled(fixedDelayString = "${university.datasource.replica-lag-check-interval:PT5S}")
+    public void checkReplicationLag() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.dataSource.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet resultSet = statement.executeQuery(lagQuery)) {
+                resultSet.next();
+                double lagSeconds = resultSet.getDouble(1);
+                if (resultSet.wasNull()) {
+                    replica.lagSeconds = Double.NaN;
+                    markUnusable(replica, "not receiving from the primary");
+                    continue;
+                }
+                replica.lagSeconds = lagSeconds;
+                if (lagSeconds * 1000 > maxLag.toMillis()) {
+                    markUnusable(replica, String.format("%.1fs behind the primary", lagSeconds));
+                } else if (!replica.usable) {
+                    logger.info("Replica {} back in rotation ({}s behind)", replica.name(), lagSeconds);
+                    replica.usable = true;
+                }
+            } catch (SQLException e) {
+                replica.lagSeconds = Double.NaN;
+                markUnusable(replica, e.getMessage());
+            }
+        }
+    }
+
+    public List<Replica> getReplicas() {
+        return replicas;
+    }
+
+    private void markUnusable(Replica replica, String reason) {
+        if (replica.usable) {
+            logger.warn("Replica {} taken out of rotation: {}", replica.name(), reason);
+        }
+        replica.usable = false;
+    }
+
+    @Override
+    public void destroy() {
+        replicas.forEach(replica -> replica.dataSource.close());
+    }
+
+    public static final class Replica {
+
+        private final HikariDataSource dataSource;
+        private volatile boolean usable;
+        private volatile double lagSeconds = Double.NaN;
+
+        private Replica(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+
+        public String name() {
+            return dataSource.getPoolName();
+        }
+
+        public HikariDataSource dataSource() {
+            return dataSource;
+        }
+
+        public boolean isUsable() {
+            return usable;
+        }
+
+        public double lagSeconds() {
+            return lagSeconds;
+        }
+    }
+}
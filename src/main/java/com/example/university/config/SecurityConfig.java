@@ -1,27 +1,110 @@
 package com.example.university.config;
 
+import com.example.university.service.CustomUserDetailsService;
+import com.example.university.service.PasswordUpgradeService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.annotation.Order;
+import org.springframework.security.config.Customizer;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+
+    private static final String BCRYPT = "bcrypt";
+    // Spring's default work factor; calibration only ever goes up from here.
+    static final int MIN_BCRYPT_STRENGTH = 10;
+    static final int MAX_BCRYPT_STRENGTH = 16;
+
+    // New hashes are stored as {bcrypt}$2a$<strength>$...; hashes from before the prefix existed still
+    // match and report upgradeEncoding() = true, as do hashes with a lower strength than configured.
+    // A strength of 0 calibrates to target-hash-time on this machine at startup.
+    @Bean
+    public BoundedPasswordEncoder passwordEncoder(
+            @Value("${university.security.password.bcrypt-strength:0}") int strength,
+            @Value("${university.security.password.target-hash-time:PT0.1S}") Duration targetHashTime,
+            @Value("${university.security.password.hashing-threads:0}") int threads,
+            @Value("${university.security.password.queue-capacity:500}") int queueCapacity,
+            MeterRegistry meterRegistry) {
+        int bcryptStrength = strength > 0 ? strength : calibrateStrength(targetHashTime);
+        logger.info("Hashing new passwords with bcrypt strength {}", bcryptStrength);
+
+        DelegatingPasswordEncoder delegate = new DelegatingPasswordEncoder(BCRYPT,
+                Map.of(BCRYPT, new BCryptPasswordEncoder(bcryptStrength)));
+        delegate.setDefaultPasswordEncoderForMatches(new BCryptPasswordEncoder());
+
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new CustomizableThreadFactory("password-hash-"));
+        // Queue depth and task timings show up as executor.*{name="passwordHashing"}
+        ExecutorService monitored = ExecutorServiceMetrics.monitor(meterRegistry, executor, "passwordHashing");
+        return new BoundedPasswordEncoder(delegate, monitored);
+    }
+
+    @Bean
+    public PasswordUpgradingAuthenticationProvider authenticationProvider(CustomUserDetailsService userDetailsService,
+                                                                          BoundedPasswordEncoder passwordEncoder,
+                                                                          PasswordUpgradeService passwordUpgradeService) {
+        return new PasswordUpgradingAuthenticationProvider(userDetailsService, passwordEncoder, passwordUpgradeService);
+    }
+
+    // Each strength step doubles the cost, so one timed hash is enough to pick the step.
+    static int calibrateStrength(Duration target) {
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(MIN_BCRYPT_STRENGTH);
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long nanos = Math.max(1, System.nanoTime() - start);
+
+        int strength = MIN_BCRYPT_STRENGTH;
+        while (strength < MAX_BCRYPT_STRENGTH && nanos * 2 <= target.toNanos()) {
+            nanos *= 2;
+            strength++;
+        }
+        return strength;
+    }
+
+    // Prometheus and health probes have no browser session, so actuator also accepts HTTP Basic
+    // (scrape with an admin account). An admin logged in through the pages can still browse it.
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    @Order(1)
+    public SecurityFilterChain actuatorSecurityFilterChain(HttpSecurity http) throws Exception {
+        http
+                .securityMatcher("/actuator/**")
+                .authorizeHttpRequests(authz -> authz
+                        .requestMatchers("/actuator/health").permitAll()
+                        .anyRequest().hasRole("ADMIN")
+                )
+                .httpBasic(Customizer.withDefaults());
+
+        return http.build();
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .authorizeHttpRequests(authz -> authz
-                        .requestMatchers("/", "/register", "/login", "/css/**", "/js/**").permitAll()
+                        .requestMatchers("/", "/register", "/login", "/error", "/css/**", "/js/**").permitAll()
                         .requestMatchers("/admin/**").hasRole("ADMIN")
                         .requestMatchers("/teacher/**").hasRole("TEACHER")
                         .requestMatchers("/student/**").hasRole("STUDENT")
@@ -0,0 +1,35 @@
+package com.example.university.config;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBooleanProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+// Off by default: with university.sql.logging.enabled unset nothing here is registered and
+// connections are the pool's own.
+@Configuration
+@ConditionalOnBooleanProperty("university.sql.logging.enabled")
+public class SqlLoggingConfig {
+
+    // Only the "dataSource" bean everything else uses, which is the routing proxy when replicas are
+    // configured; the pools underneath stay unwrapped so their metrics and lag checks see them as-is.
+    @Bean
+    static BeanPostProcessor sqlLoggingDataSource(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && beanName.equals("dataSource")) {
+                    return new SqlLoggingDataSource(dataSource,
+                            environment.getProperty("university.sql.logging.sample-rate", Double.class, 0.01),
+                            environment.getProperty("university.sql.logging.slow-threshold", Duration.class,
+                                    Duration.ofMillis(500)));
+                }
+                return bean;
+            }
+        };
+    }
+}
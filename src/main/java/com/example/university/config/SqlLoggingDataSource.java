@@ -0,0 +1,140 @@
+package com.example.university.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.spi.LoggingEventBuilder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Times every statement run through the application DataSource (Hibernate, JdbcTemplate and Flyway
+// alike) and logs it with the endpoint that ran it:
+//   university.sql       INFO, a sample-rate fraction of all statements
+//   university.sql.slow  WARN, every statement that took slow-threshold or longer
+// The request thread only decides whether to log; formatting and output happen on the async
+// appender in logback-spring.xml. Key-value pairs so structured log formats get them as fields.
+public class SqlLoggingDataSource extends DelegatingDataSource {
+
+    static final Logger sampledLogger = LoggerFactory.getLogger("university.sql");
+    static final Logger slowLogger = LoggerFactory.getLogger("university.sql.slow");
+
+    private final double sampleRate;
+    private final long slowThresholdNanos;
+
+    public SqlLoggingDataSource(DataSource target, double sampleRate, Duration slowThreshold) {
+        super(target);
+        this.sampleRate = sampleRate;
+        this.slowThresholdNanos = slowThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection()));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(Connection.class, new ConnectionHandler(super.getConnection(username, password)));
+    }
+
+    void record(String sql, long elapsedNanos) {
+        boolean slow = elapsedNanos >= slowThresholdNanos;
+        if (slow ? !slowLogger.isWarnEnabled() : !sampled()) {
+            return;
+        }
+        LoggingEventBuilder event = slow ? slowLogger.atWarn() : sampledLogger.atInfo();
+        event.addKeyValue("method", CurrentRequest.method())
+                .addKeyValue("uri", CurrentRequest.uri())
+                .addKeyValue("durationMs", elapsedNanos / 1_000_000)
+                .addKeyValue("sql", sql)
+                .log(slow ? "Slow SQL statement" : "SQL statement");
+    }
+
+    private boolean sampled() {
+        return sampleRate > 0 && sampledLogger.isInfoEnabled()
+                && (sampleRate >= 1 || ThreadLocalRandom.current().nextDouble() < sampleRate);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T wrap(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(SqlLoggingDataSource.class.getClassLoader(), new Class<?>[] {type}, handler);
+    }
+
+    // equals compares the proxies themselves; everything else goes straight to the JDBC object
+    private static Object invoke(Object proxy, Object target, Method method, Object[] args) throws Throwable {
+        if (method.getName().equals("equals") && method.getParameterCount() == 1) {
+            return proxy == args[0];
+        }
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private class ConnectionHandler implements InvocationHandler {
+
+        private final Connection connection;
+
+        ConnectionHandler(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = SqlLoggingDataSource.invoke(proxy, connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" ->
+                        wrap(Statement.class, new StatementHandler((Statement) result, null, (Connection) proxy));
+                case "prepareStatement" -> wrap(PreparedStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0], (Connection) proxy));
+                case "prepareCall" -> wrap(CallableStatement.class,
+                        new StatementHandler((Statement) result, (String) args[0], (Connection) proxy));
+                default -> result;
+            };
+        }
+    }
+
+    private class StatementHandler implements InvocationHandler {
+
+        private final Statement statement;
+        private final String preparedSql;
+        private final Connection connection;
+
+        StatementHandler(Statement statement, String preparedSql, Connection connection) {
+            this.statement = statement;
+            this.preparedSql = preparedSql;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            if (!name.startsWith("execute")) {
+                return SqlLoggingDataSource.invoke(proxy, statement, method, args);
+            }
+            // execute(sql) on a plain statement carries its own SQL; a prepared statement's was given up front
+            String sql = args != null && args.length > 0 && args[0] instanceof String given ? given : preparedSql;
+            long start = System.nanoTime();
+            try {
+                return SqlLoggingDataSource.invoke(proxy, statement, method, args);
+            } finally {
+                record(sql, System.nanoTime() - start);
+            }
+        }
+    }
+}
@@ -1,43 +1,68 @@
 package com.example.university.controller;
 
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.ImportReport;
+import com.example.university.dto.StudentView;
+import com.example.university.dto.TeacherView;
 import com.example.university.entity.*;
 import com.example.university.service.*;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriComponentsBuilder;
 import org.springframework.security.crypto.password.PasswordEncoder;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/admin")
 public class AdminController {
 
+    private static final Logger logger = LoggerFactory.getLogger(AdminController.class);
+
+    private static final String DEFAULT_PAGE_SIZE = "20";
+
     private final DepartmentService departmentService;
     private final CourseService courseService;
     private final TeacherService teacherService;
     private final StudentService studentService;
+    private final DashboardService dashboardService;
     private final PasswordEncoder passwordEncoder;
+    private final BulkImportService bulkImportService;
+    private final ExportService exportService;
 
     public AdminController(DepartmentService departmentService,
                            CourseService courseService,
                            TeacherService teacherService,
                            StudentService studentService,
-                           PasswordEncoder passwordEncoder) {
+                           DashboardService dashboardService,
+                           PasswordEncoder passwordEncoder,
+                           BulkImportService bulkImportService,
+                           ExportService exportService) {
         this.departmentService = departmentService;
         this.courseService = courseService;
         this.teacherService = teacherService;
         this.studentService = studentService;
+        this.dashboardService = dashboardService;
         this.passwordEncoder = passwordEncoder;
+        this.bulkImportService = bulkImportService;
+        this.exportService = exportService;
     }
 
     // Dashboard
     @GetMapping
     public String adminDashboard(Model model) {
-        model.addAttribute("departments", departmentService.getAllDepartments());
-        model.addAttribute("courses", courseService.getAllCourses());
-        model.addAttribute("teachers", teacherService.getAllTeachers());
-        model.addAttribute("students", studentService.getAllStudents());
+        model.addAttribute("stats", dashboardService.getStatistics());
         return "admin/dashboard";
     }
 
@@ -75,11 +100,33 @@ public class AdminController {
 
 
     @GetMapping("/courses")
-    public String listCourses(Model model) {
-        model.addAttribute("courses", courseService.getAllCourses());
+    public String listCourses(@RequestParam(required = false) Long after,
+                              @RequestParam(defaultValue = "id") String sort,
+                              @RequestParam(defaultValue = "ASC") Sort.Direction dir,
+                              @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                              @RequestParam(required = false) String q,
+                              Model model) {
+        if (q != null && !q.isBlank()) {
+            // Search results are one page, best match first
+            model.addAttribute("courses", courseService.searchCourses(q, size));
+            model.addAttribute("nextCursor", null);
+            model.addAttribute("sort", sort);
+            model.addAttribute("dir", dir);
+            model.addAttribute("size", size);
+        } else {
+            Window<CourseSummary> courses;
+            try {
+                courses = courseService.getCourseSummaryPage(after, sort, dir, size);
+            } catch (CursorNotFoundException e) {
+                return restartPaging("/admin/courses", sort, dir, size);
+            }
+            model.addAttribute("courses", courses);
+            addPagingAttributes(model, courses, CourseSummary::id, sort, dir, size);
+        }
+        model.addAttribute("q", q);
         model.addAttribute("course", new Course());
         model.addAttribute("departments", departmentService.getAllDepartments());
-        model.addAttribute("teachers", teacherService.getAllTeachers());
+        model.addAttribute("teachers", teacherService.getTeacherOptions());
         return "admin/courses";
     }
 
@@ -93,9 +140,9 @@ public class AdminController {
 
     @GetMapping("/courses/{id}/edit")
     public String editCourseForm(@PathVariable Long id, Model model) {
-        model.addAttribute("course", courseService.getCourseById(id));
+        model.addAttribute("course", courseService.getCourseSummary(id));
         model.addAttribute("departments", departmentService.getAllDepartments());
-        model.addAttribute("teachers", teacherService.getAllTeachers());
+        model.addAttribute("teachers", teacherService.getTeacherOptions());
         return "admin/edit-course";
     }
 
@@ -116,16 +163,26 @@ public class AdminController {
 
 
     @GetMapping("/teachers")
-    public String listTeachers(Model model) {
-        model.addAttribute("teachers", teacherService.getAllTeachers());
+    public String listTeachers(@RequestParam(required = false) Long after,
+                               @RequestParam(defaultValue = "id") String sort,
+                               @RequestParam(defaultValue = "ASC") Sort.Direction dir,
+                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                               Model model) {
+        Window<TeacherView> teachers;
+        try {
+            teachers = teacherService.getTeacherViewPage(after, sort, dir, size);
+        } catch (CursorNotFoundException e) {
+            return restartPaging("/admin/teachers", sort, dir, size);
+        }
+        model.addAttribute("teachers", teachers);
+        addPagingAttributes(model, teachers, TeacherView::id, sort, dir, size);
         model.addAttribute("departments", departmentService.getAllDepartments());
         return "admin/teachers";
     }
 
     @GetMapping("/teachers/{id}/edit")
     public String editTeacherForm(@PathVariable Long id, Model model) {
-        Teacher teacher = teacherService.getTeacherById(id);
-        model.addAttribute("teacher", teacher);
+        model.addAttribute("teacher", teacherService.getTeacherView(id));
         model.addAttribute("departments", departmentService.getAllDepartments());
         return "admin/edit-teacher";
     }
@@ -135,29 +192,9 @@ public class AdminController {
                                 @ModelAttribute Teacher teacher,
                                 @RequestParam(required = false) String newPassword,
                                 @RequestParam(required = false) Long departmentId) {
-        Teacher existingTeacher = teacherService.getTeacherById(id);
-
-
-        existingTeacher.setFirstName(teacher.getFirstName());
-        existingTeacher.setLastName(teacher.getLastName());
-        existingTeacher.setEmail(teacher.getEmail());
-        existingTeacher.setTeacherId(teacher.getTeacherId());
-        existingTeacher.setQualification(teacher.getQualification());
-
-
-        if (newPassword != null && !newPassword.trim().isEmpty()) {
-            existingTeacher.setPassword(passwordEncoder.encode(newPassword));
-        }
-
-
-        if (departmentId != null) {
-            Department department = departmentService.getDepartmentById(departmentId);
-            existingTeacher.setDepartment(department);
-        } else {
-            existingTeacher.setDepartment(null);
-        }
-
-        teacherService.updateTeacher(existingTeacher);
+        String encodedPassword = newPassword != null && !newPassword.trim().isEmpty()
+                ? passwordEncoder.encode(newPassword) : null;
+        teacherService.updateTeacherDetails(id, teacher, encodedPassword, departmentId);
         return "redirect:/admin/teachers";
     }
 
@@ -169,29 +206,36 @@ public class AdminController {
 
     @GetMapping("/teachers/{id}")
     public String viewTeacher(@PathVariable Long id, Model model) {
-        Teacher teacher = teacherService.getTeacherById(id);
-        List<Course> teacherCourses = courseService.getCoursesByTeacher(id);
-
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("courses", teacherCourses);
+        model.addAttribute("teacher", teacherService.getTeacherView(id));
+        model.addAttribute("courses", courseService.getCourseSummariesByTeacher(id));
         return "admin/view-teacher";
     }
 
 
     @GetMapping("/students")
-    public String listStudents(Model model) {
-        model.addAttribute("students", studentService.getAllStudents());
+    public String listStudents(@RequestParam(required = false) Long after,
+                               @RequestParam(defaultValue = "id") String sort,
+                               @RequestParam(defaultValue = "ASC") Sort.Direction dir,
+                               @RequestParam(defaultValue = DEFAULT_PAGE_SIZE) int size,
+                               Model model) {
+        Window<StudentView> students;
+        try {
+            students = studentService.getStudentViewPage(after, sort, dir, size);
+        } catch (CursorNotFoundException e) {
+            return restartPaging("/admin/students", sort, dir, size);
+        }
+        model.addAttribute("students", students);
+        addPagingAttributes(model, students, StudentView::id, sort, dir, size);
         model.addAttribute("departments", departmentService.getAllDepartments());
         return "admin/students";
     }
 
     @GetMapping("/students/{id}/edit")
     public String editStudentForm(@PathVariable Long id, Model model) {
-        Student student = studentService.getStudentById(id);
+        StudentView student = studentService.getStudentView(id);
 
-
-        List<Long> studentDepartmentIds = student.getDepartments().stream()
-                .map(Department::getId)
+        List<Long> studentDepartmentIds = student.departments().stream()
+                .map(DepartmentOption::id)
                 .collect(Collectors.toList());
 
         model.addAttribute("student", student);
@@ -205,45 +249,108 @@ public class AdminController {
                                 @ModelAttribute Student student,
                                 @RequestParam(required = false) String newPassword,
                                 @RequestParam(required = false) List<Long> departmentIds) {
-        Student existingStudent = studentService.getStudentById(id);
+        String encodedPassword = newPassword != null && !newPassword.trim().isEmpty()
+                ? passwordEncoder.encode(newPassword) : null;
+        studentService.updateStudentDetails(id, student, encodedPassword, departmentIds);
+        return "redirect:/admin/students?success=true";
+    }
 
+    @PostMapping("/students/{id}/delete")
+    public String deleteStudent(@PathVariable Long id) {
+        studentService.deleteStudent(id);
+        return "redirect:/admin/students";
+    }
 
-        existingStudent.setFirstName(student.getFirstName());
-        existingStudent.setLastName(student.getLastName());
-        existingStudent.setEmail(student.getEmail());
-        existingStudent.setStudentId(student.getStudentId());
+    @GetMapping("/students/{id}")
+    public String viewStudent(@PathVariable Long id, Model model) {
+        model.addAttribute("student", studentService.getStudentView(id));
+        model.addAttribute("enrolledCourses", studentService.getEnrolledCourseSummaries(id));
+        return "admin/view-student";
+    }
 
+    // ========== BULK IMPORT ==========
+    @GetMapping("/import")
+    public String importForm() {
+        return "admin/import";
+    }
 
-        if (newPassword != null && !newPassword.trim().isEmpty()) {
-            existingStudent.setPassword(passwordEncoder.encode(newPassword));
+    @PostMapping("/import")
+    public String importUsers(@RequestParam(defaultValue = "students") String type,
+                              @RequestParam MultipartFile file,
+                              Model model) {
+        try (InputStream csv = file.getInputStream()) {
+            ImportReport report = "teachers".equals(type)
+                    ? bulkImportService.importTeachers(csv)
+                    : bulkImportService.importStudents(csv);
+            model.addAttribute("report", report);
+            if (report.failure() != null) {
+                model.addAttribute("error", "Import stopped early: " + report.failure()
+                        + ". The rows before it were imported as reported below.");
+            }
+        } catch (IOException | IllegalArgumentException e) {
+            logger.warn("Bulk import of {} failed: {}", type, e.getMessage());
+            model.addAttribute("error", "Import failed: " + e.getMessage());
         }
+        model.addAttribute("type", type);
+        return "admin/import";
+    }
 
+    // ========== EXPORT ==========
+    @GetMapping("/students/export")
+    public void exportStudents(@RequestParam(defaultValue = "csv") String format,
+                               HttpServletResponse response) throws IOException {
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Downloads.prepare(response, exportFormat, "students");
+        exportService.exportStudents(exportFormat, response.getWriter());
+    }
 
-        existingStudent.getDepartments().clear();
-        if (departmentIds != null && !departmentIds.isEmpty()) {
-            for (Long deptId : departmentIds) {
-                Department department = departmentService.getDepartmentById(deptId);
-                existingStudent.getDepartments().add(department);
-            }
+    @GetMapping("/courses/{id}/enrollments/export")
+    public void exportCourseEnrollments(@PathVariable Long id,
+                                        @RequestParam(defaultValue = "csv") String format,
+                                        HttpServletResponse response) throws IOException {
+        if (!exportService.courseExists(id)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Course not found");
+            return;
         }
 
-        studentService.updateStudent(existingStudent);
-        return "redirect:/admin/students?success=true";
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Downloads.prepare(response, exportFormat, "course-" + id + "-enrollments");
+        exportService.exportCourseEnrollments(id, exportFormat, response.getWriter());
     }
 
-    @PostMapping("/students/{id}/delete")
-    public String deleteStudent(@PathVariable Long id) {
-        studentService.deleteStudent(id);
-        return "redirect:/admin/students";
+    @GetMapping("/departments/{id}/students/export")
+    public void exportDepartmentStudents(@PathVariable Long id,
+                                         @RequestParam(defaultValue = "csv") String format,
+                                         HttpServletResponse response) throws IOException {
+        if (!exportService.departmentExists(id)) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND, "Department not found");
+            return;
+        }
+
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Downloads.prepare(response, exportFormat, "department-" + id + "-students");
+        exportService.exportDepartmentStudents(id, exportFormat, response.getWriter());
     }
 
-    @GetMapping("/students/{id}")
-    public String viewStudent(@PathVariable Long id, Model model) {
-        Student student = studentService.getStudentById(id);
-        List<Course> enrolledCourses = studentService.getEnrolledCourses(id);
 
-        model.addAttribute("student", student);
-        model.addAttribute("enrolledCourses", enrolledCourses);
-        return "admin/view-student";
+    private <T> void addPagingAttributes(Model model, Window<T> page, Function<T, Long> id,
+                                         String sort, Sort.Direction dir, int size) {
+        Long nextCursor = page.hasNext() ? id.apply(page.getContent().get(page.size() - 1)) : null;
+        model.addAttribute("nextCursor", nextCursor);
+        model.addAttribute("sort", sort);
+        model.addAttribute("dir", dir);
+        model.addAttribute("size", size);
+    }
+
+    // The row the page was addressed by was deleted: back to the first page, which says so
+    private static String restartPaging(String path, String sort, Sort.Direction dir, int size) {
+        return "redirect:" + UriComponentsBuilder.fromPath(path)
+                .queryParam("sort", sort)
+                .queryParam("dir", dir)
+                .queryParam("size", size)
+                .queryParam("restarted")
+                .build()
+                .encode()
+                .toUriString();
     }
 }
\ No newline at end of file
@@ -11,7 +11,6 @@ import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.transaction.annotation.Transactional;
 
 @Controller
 public class AuthController {
@@ -57,8 +56,9 @@ public class AuthController {
         return "register";
     }
 
+    // Deliberately not @Transactional: each branch does a single save, and without a surrounding
+    // transaction no pooled connection is held while the password is hashed.
     @PostMapping("/register")
-    @Transactional
     public String registerUser(
             @RequestParam String username,
             @RequestParam String email,
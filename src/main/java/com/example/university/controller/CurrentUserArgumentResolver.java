@@ -0,0 +1,52 @@
+package com.example.university.controller;
+
+import com.example.university.entity.Student;
+import com.example.university.entity.Teacher;
+import com.example.university.service.StudentService;
+import com.example.university.service.TeacherService;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+@Component
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String ATTRIBUTE_PREFIX = CurrentUserArgumentResolver.class.getName() + ".";
+
+    private final StudentService studentService;
+    private final TeacherService teacherService;
+
+    public CurrentUserArgumentResolver(StudentService studentService, TeacherService teacherService) {
+        this.studentService = studentService;
+        this.teacherService = teacherService;
+    }
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        Class<?> type = parameter.getParameterType();
+        return parameter.hasParameterAnnotation(CurrentUser.class)
+                && (type == Student.class || type == Teacher.class);
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter, ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest, WebDataBinderFactory binderFactory) {
+        Class<?> type = parameter.getParameterType();
+        // Memoised on the request so forwards and error dispatches reuse the same entity.
+        String attribute = ATTRIBUTE_PREFIX + type.getSimpleName();
+        Object user = webRequest.getAttribute(attribute, RequestAttributes.SCOPE_REQUEST);
+        if (user == null) {
+            String username = SecurityContextHolder.getContext().getAuthentication().getName();
+            user = type == Student.class
+                    ? studentService.getStudentByUsername(username)
+                    : teacherService.getTeacherByUsername(username);
+            webRequest.setAttribute(attribute, user, RequestAttributes.SCOPE_REQUEST);
+        }
+        return user;
+    }
+}
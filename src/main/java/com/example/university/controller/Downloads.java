@@ -0,0 +1,19 @@
+package com.example.university.controller;
+
+import com.example.university.service.ExportFormat;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+
+// Headers for export endpoints that write the file body to the response themselves.
+final class Downloads {
+
+    private Downloads() {}
+
+    static void prepare(HttpServletResponse response, ExportFormat format, String baseName) {
+        response.setContentType(format.contentType());
+        response.setCharacterEncoding("UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(format.fileName(baseName)).build().toString());
+    }
+}
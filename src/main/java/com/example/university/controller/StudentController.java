@@ -1,15 +1,14 @@
 package com.example.university.controller;
 
-import com.example.university.entity.Course;
+import com.example.university.dto.CourseSummary;
 import com.example.university.entity.Student;
 import com.example.university.service.CourseService;
+import com.example.university.service.DepartmentService;
 import com.example.university.service.StudentService;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.data.domain.Page;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import java.util.List;
 
 @Controller
@@ -18,125 +17,100 @@ public class StudentController {
 
     private final StudentService studentService;
     private final CourseService courseService;
-    private final PasswordEncoder passwordEncoder;
+    private final DepartmentService departmentService;
 
     public StudentController(StudentService studentService,
                              CourseService courseService,
-                             PasswordEncoder passwordEncoder) {
+                             DepartmentService departmentService) {
         this.studentService = studentService;
         this.courseService = courseService;
-        this.passwordEncoder = passwordEncoder;
+        this.departmentService = departmentService;
     }
 
     @GetMapping
-    public String studentDashboard(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Student student = studentService.getStudentByUsername(username);
-        List<Course> enrolledCourses = studentService.getEnrolledCourses(student.getId());
-
-        model.addAttribute("student", student);
-        model.addAttribute("enrolledCourses", enrolledCourses);
+    public String studentDashboard(@CurrentUser Student student, Model model) {
+        model.addAttribute("student", studentService.getStudentView(student.getId()));
+        model.addAttribute("enrolledCourses", studentService.getEnrolledCourseSummaries(student.getId()));
+        model.addAttribute("credits", studentService.getCreditSummary(student.getId()));
         return "student/dashboard";
     }
 
     @GetMapping("/courses")
-    public String listCourses(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Student student = studentService.getStudentByUsername(username);
-        List<Course> availableCourses = studentService.getAvailableCourses(student.getId());
-        List<Course> enrolledCourses = studentService.getEnrolledCourses(student.getId());
+    public String listCourses(@CurrentUser Student student,
+                              @RequestParam(required = false) Long departmentId,
+                              @RequestParam(required = false) Integer minCredits,
+                              @RequestParam(required = false) Integer maxCredits,
+                              @RequestParam(defaultValue = "0") int page,
+                              @RequestParam(defaultValue = "12") int size,
+                              @RequestParam(required = false) String q,
+                              Model model) {
+        Page<CourseSummary> availableCourses = q == null || q.isBlank()
+                ? studentService.getAvailableCourses(student.getId(), departmentId, minCredits, maxCredits, page, size)
+                : studentService.searchAvailableCourses(student.getId(), q, departmentId, minCredits, maxCredits, page, size);
+        List<CourseSummary> enrolledCourses = studentService.getEnrolledCourseSummaries(student.getId());
 
         model.addAttribute("availableCourses", availableCourses);
+        model.addAttribute("departments", departmentService.getAllDepartments());
+        model.addAttribute("q", q);
+        model.addAttribute("departmentId", departmentId);
+        model.addAttribute("minCredits", minCredits);
+        model.addAttribute("maxCredits", maxCredits);
         model.addAttribute("enrolledCourses", enrolledCourses);
+        model.addAttribute("credits", studentService.getCreditSummary(student.getId()));
         model.addAttribute("student", student);
         return "student/courses";
     }
 
     @PostMapping("/courses/{courseId}/enroll")
-    public String enrollInCourse(@PathVariable Long courseId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Student student = studentService.getStudentByUsername(username);
-        studentService.enrollInCourse(student.getId(), courseId);
+    public String enrollInCourse(@CurrentUser Student student, @PathVariable Long courseId) {
+        if (!studentService.enrollInCourse(student.getId(), courseId)) {
+            return "redirect:/student/courses?full";
+        }
 
         return "redirect:/student/courses";
     }
 
     @PostMapping("/courses/{courseId}/unenroll")
-    public String unenrollFromCourse(@PathVariable Long courseId) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Student student = studentService.getStudentByUsername(username);
+    public String unenrollFromCourse(@CurrentUser Student student, @PathVariable Long courseId) {
         studentService.unenrollFromCourse(student.getId(), courseId);
 
         return "redirect:/student/courses";
     }
 
     @GetMapping("/profile")
-    public String viewProfile(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Student student = studentService.getStudentByUsername(username);
-        List<Course> enrolledCourses = studentService.getEnrolledCourses(student.getId());
-
-        model.addAttribute("student", student);
-        model.addAttribute("enrolledCourses", enrolledCourses);
+    public String viewProfile(@CurrentUser Student student, Model model) {
+        model.addAttribute("student", studentService.getStudentView(student.getId()));
+        model.addAttribute("enrolledCourses", studentService.getEnrolledCourseSummaries(student.getId()));
+        model.addAttribute("credits", studentService.getCreditSummary(student.getId()));
         return "student/profile";
     }
 
 
     @GetMapping("/profile/edit")
-    public String editProfileForm(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Student student = studentService.getStudentByUsername(username);
-        model.addAttribute("student", student);
+    public String editProfileForm(@CurrentUser Student student, Model model) {
+        model.addAttribute("student", studentService.getStudentView(student.getId()));
         return "student/edit-profile";
     }
 
 
     @PostMapping("/profile/update")
-    public String updateProfile(@ModelAttribute Student student,
+    public String updateProfile(@CurrentUser Student existingStudent,
+                                @ModelAttribute Student student,
                                 @RequestParam(required = false) String newPassword,
                                 @RequestParam String currentPassword,
                                 Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
         try {
-            Student existingStudent = studentService.getStudentByUsername(username);
-
-
-            if (!passwordEncoder.matches(currentPassword, existingStudent.getPassword())) {
+            if (!studentService.updateProfile(existingStudent.getId(), student, currentPassword, newPassword)) {
                 model.addAttribute("error", "Current password is incorrect");
-                model.addAttribute("student", existingStudent);
+                model.addAttribute("student", studentService.getStudentView(existingStudent.getId()));
                 return "student/edit-profile";
             }
-
-
-            existingStudent.setFirstName(student.getFirstName());
-            existingStudent.setLastName(student.getLastName());
-            existingStudent.setEmail(student.getEmail());
-
-
-            if (newPassword != null && !newPassword.trim().isEmpty()) {
-                existingStudent.setPassword(passwordEncoder.encode(newPassword));
-            }
-
-            studentService.updateStudent(existingStudent);
             model.addAttribute("success", "Profile updated successfully!");
             return "redirect:/student/profile?success";
 
         } catch (Exception e) {
             model.addAttribute("error", "Error updating profile: " + e.getMessage());
+            model.addAttribute("student", studentService.getStudentView(existingStudent.getId()));
             return "student/edit-profile";
         }
     }
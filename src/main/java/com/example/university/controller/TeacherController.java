@@ -1,17 +1,20 @@
 package com.example.university.controller;
 
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.DepartmentOption;
 import com.example.university.entity.Course;
-import com.example.university.entity.Department;
 import com.example.university.entity.Teacher;
 import com.example.university.service.CourseService;
 import com.example.university.service.DepartmentService;
+import com.example.university.service.ExportFormat;
+import com.example.university.service.ExportService;
+import com.example.university.service.StudentService;
 import com.example.university.service.TeacherService;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import java.io.IOException;
 import java.util.List;
 
 @Controller
@@ -20,70 +23,49 @@ public class TeacherController {
 
     private final CourseService courseService;
     private final TeacherService teacherService;
+    private final StudentService studentService;
     private final DepartmentService departmentService;
-    private final PasswordEncoder passwordEncoder;
+    private final ExportService exportService;
 
     public TeacherController(CourseService courseService,
                              TeacherService teacherService,
+                             StudentService studentService,
                              DepartmentService departmentService,
-                             PasswordEncoder passwordEncoder) {
+                             ExportService exportService) {
         this.courseService = courseService;
         this.teacherService = teacherService;
+        this.studentService = studentService;
         this.departmentService = departmentService;
-        this.passwordEncoder = passwordEncoder;
+        this.exportService = exportService;
     }
 
     @GetMapping
-    public String teacherDashboard(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Teacher teacher = teacherService.getTeacherByUsername(username);
-        List<Course> myCourses = courseService.getCoursesByTeacher(teacher.getId());
-
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("courses", myCourses);
+    public String teacherDashboard(@CurrentUser Teacher teacher, Model model) {
+        model.addAttribute("teacher", teacherService.getTeacherView(teacher.getId()));
+        model.addAttribute("courses", courseService.getCourseSummariesByTeacher(teacher.getId()));
         return "teacher/dashboard";
     }
 
     @GetMapping("/courses")
-    public String listCourses(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Teacher teacher = teacherService.getTeacherByUsername(username);
-        List<Course> myCourses = courseService.getCoursesByTeacher(teacher.getId());
-
-
-        List<Department> departments = departmentService.getAllDepartments();
-
-        model.addAttribute("courses", myCourses);
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("departments", departments);
-        model.addAttribute("course", new Course()); // Add empty course for the form
-        return "teacher/courses";
+    public String listCourses(@CurrentUser Teacher teacher, Model model) {
+        return populateCourseFormModel(model, teacher, new Course());
     }
 
     @PostMapping("/courses")
-    public String createCourse(@ModelAttribute Course course,
+    public String createCourse(@CurrentUser Teacher teacher,
+                               @ModelAttribute Course course,
                                @RequestParam Long departmentId,
                                Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
         try {
-            Teacher teacher = teacherService.getTeacherByUsername(username);
-
-
             if (departmentId == null) {
                 model.addAttribute("error", "Please select a department for the course");
-                return populateCourseFormModel(model, username, course);
+                return populateCourseFormModel(model, teacher, course);
             }
 
 
             if (course.getName() == null || course.getName().trim().isEmpty()) {
                 model.addAttribute("error", "Course name is required");
-                return populateCourseFormModel(model, username, course);
+                return populateCourseFormModel(model, teacher, course);
             }
 
             courseService.createCourse(course, departmentId, teacher.getId());
@@ -91,59 +73,51 @@ public class TeacherController {
 
         } catch (Exception e) {
             model.addAttribute("error", "Error creating course: " + e.getMessage());
-            return populateCourseFormModel(model, username, course);
+            return populateCourseFormModel(model, teacher, course);
         }
     }
 
     @GetMapping("/courses/{id}/edit")
-    public String editCourseForm(@PathVariable Long id, Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Course course = courseService.getCourseById(id);
-        Teacher teacher = teacherService.getTeacherByUsername(username);
-        List<Department> departments = departmentService.getAllDepartments();
+    public String editCourseForm(@CurrentUser Teacher teacher, @PathVariable Long id, Model model) {
+        CourseSummary course = courseService.getCourseSummary(id);
 
 
-        if (course.getTeacher() == null || !course.getTeacher().getId().equals(teacher.getId())) {
+        if (!teaches(teacher, course)) {
             model.addAttribute("error", "You can only edit your own courses");
-            return populateCourseFormModel(model, username, new Course());
+            return populateCourseFormModel(model, teacher, new Course());
         }
 
         model.addAttribute("course", course);
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("departments", departments);
+        model.addAttribute("teacher", teacherService.getTeacherView(teacher.getId()));
+        model.addAttribute("departments", departmentService.getAllDepartments());
         return "teacher/edit-course";
     }
 
     @PostMapping("/courses/{id}/edit")
-    public String updateCourse(@PathVariable Long id,
+    public String updateCourse(@CurrentUser Teacher teacher,
+                               @PathVariable Long id,
                                @ModelAttribute Course course,
                                @RequestParam Long departmentId,
                                Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
         try {
-            Teacher teacher = teacherService.getTeacherByUsername(username);
-            Course existingCourse = courseService.getCourseById(id);
+            CourseSummary existingCourse = courseService.getCourseSummary(id);
 
 
-            if (existingCourse.getTeacher() == null || !existingCourse.getTeacher().getId().equals(teacher.getId())) {
+            if (!teaches(teacher, existingCourse)) {
                 model.addAttribute("error", "You can only edit your own courses");
-                return populateCourseFormModel(model, username, course);
+                return populateCourseFormModel(model, teacher, course);
             }
 
 
             if (departmentId == null) {
                 model.addAttribute("error", "Please select a department for the course");
-                return populateCourseFormModel(model, username, course);
+                return populateCourseFormModel(model, teacher, course);
             }
 
 
             if (course.getName() == null || course.getName().trim().isEmpty()) {
                 model.addAttribute("error", "Course name is required");
-                return populateCourseFormModel(model, username, course);
+                return populateCourseFormModel(model, teacher, course);
             }
 
             courseService.updateCourse(id, course, departmentId, teacher.getId());
@@ -151,23 +125,19 @@ public class TeacherController {
 
         } catch (Exception e) {
             model.addAttribute("error", "Error updating course: " + e.getMessage());
-            return populateCourseFormModel(model, username, course);
+            return populateCourseFormModel(model, teacher, course);
         }
     }
 
     @PostMapping("/courses/{id}/delete")
-    public String deleteCourse(@PathVariable Long id, Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
+    public String deleteCourse(@CurrentUser Teacher teacher, @PathVariable Long id, Model model) {
         try {
-            Teacher teacher = teacherService.getTeacherByUsername(username);
-            Course course = courseService.getCourseById(id);
+            CourseSummary course = courseService.getCourseSummary(id);
 
 
-            if (course.getTeacher() == null || !course.getTeacher().getId().equals(teacher.getId())) {
+            if (!teaches(teacher, course)) {
                 model.addAttribute("error", "You can only delete your own courses");
-                return populateCourseFormModel(model, username, new Course());
+                return populateCourseFormModel(model, teacher, new Course());
             }
 
             courseService.deleteCourse(id);
@@ -175,108 +145,92 @@ public class TeacherController {
 
         } catch (Exception e) {
             model.addAttribute("error", "Error deleting course: " + e.getMessage());
-            return populateCourseFormModel(model, username, new Course());
+            return populateCourseFormModel(model, teacher, new Course());
         }
     }
 
     @GetMapping("/courses/{id}/students")
-    public String viewCourseStudents(@PathVariable Long id, Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
+    public String viewCourseStudents(@CurrentUser Teacher teacher, @PathVariable Long id, Model model) {
+        CourseSummary course = courseService.getCourseSummary(id);
 
-        Course course = courseService.getCourseById(id);
-        Teacher teacher = teacherService.getTeacherByUsername(username);
 
-
-        if (course.getTeacher() == null || !course.getTeacher().getId().equals(teacher.getId())) {
+        if (!teaches(teacher, course)) {
             model.addAttribute("error", "You can only view students in your own courses");
-            return populateCourseFormModel(model, username, new Course());
+            return populateCourseFormModel(model, teacher, new Course());
         }
 
         model.addAttribute("course", course);
-        model.addAttribute("students", course.getStudents());
-        model.addAttribute("teacher", teacher);
+        model.addAttribute("students", studentService.getStudentViewsInCourse(id));
+        model.addAttribute("teacher", teacherService.getTeacherView(teacher.getId()));
         return "teacher/course-students";
     }
 
-    @GetMapping("/profile")
-    public String viewProfile(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
+    @GetMapping("/courses/{id}/students/export")
+    public void exportCourseStudents(@CurrentUser Teacher teacher, @PathVariable Long id,
+                                     @RequestParam(defaultValue = "csv") String format,
+                                     HttpServletResponse response) throws IOException {
+        CourseSummary course = courseService.getCourseSummary(id);
 
-        Teacher teacher = teacherService.getTeacherByUsername(username);
-        List<Course> myCourses = courseService.getCoursesByTeacher(teacher.getId());
+        if (!teaches(teacher, course)) {
+            response.sendError(HttpServletResponse.SC_FORBIDDEN, "You can only export students in your own courses");
+            return;
+        }
 
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("courses", myCourses);
+        ExportFormat exportFormat = ExportFormat.of(format);
+        Downloads.prepare(response, exportFormat, course.code() + "-students");
+        exportService.exportCourseEnrollments(id, exportFormat, response.getWriter());
+    }
+
+    @GetMapping("/profile")
+    public String viewProfile(@CurrentUser Teacher teacher, Model model) {
+        model.addAttribute("teacher", teacherService.getTeacherView(teacher.getId()));
+        model.addAttribute("courses", courseService.getCourseSummariesByTeacher(teacher.getId()));
         return "teacher/profile";
     }
 
     @GetMapping("/profile/edit")
-    public String editProfileForm(Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
-        Teacher teacher = teacherService.getTeacherByUsername(username);
-        List<Course> myCourses = courseService.getCoursesByTeacher(teacher.getId());
-
-        model.addAttribute("teacher", teacher);
-        model.addAttribute("courses", myCourses);
+    public String editProfileForm(@CurrentUser Teacher teacher, Model model) {
+        model.addAttribute("teacher", teacherService.getTeacherView(teacher.getId()));
+        model.addAttribute("courses", courseService.getCourseSummariesByTeacher(teacher.getId()));
         return "teacher/edit-profile";
     }
 
     @PostMapping("/profile/update")
-    public String updateProfile(@ModelAttribute Teacher teacher,
+    public String updateProfile(@CurrentUser Teacher existingTeacher,
+                                @ModelAttribute Teacher teacher,
                                 @RequestParam(required = false) String newPassword,
                                 @RequestParam String currentPassword,
                                 Model model) {
-        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        String username = auth.getName();
-
         try {
-            Teacher existingTeacher = teacherService.getTeacherByUsername(username);
-
-
-            if (!passwordEncoder.matches(currentPassword, existingTeacher.getPassword())) {
+            if (!teacherService.updateProfile(existingTeacher.getId(), teacher, currentPassword, newPassword)) {
                 model.addAttribute("error", "Current password is incorrect");
-                model.addAttribute("teacher", existingTeacher);
-                model.addAttribute("courses", courseService.getCoursesByTeacher(existingTeacher.getId()));
+                model.addAttribute("teacher", teacherService.getTeacherView(existingTeacher.getId()));
+                model.addAttribute("courses", courseService.getCourseSummariesByTeacher(existingTeacher.getId()));
                 return "teacher/edit-profile";
             }
-
-
-            existingTeacher.setFirstName(teacher.getFirstName());
-            existingTeacher.setLastName(teacher.getLastName());
-            existingTeacher.setEmail(teacher.getEmail());
-            existingTeacher.setQualification(teacher.getQualification());
-
-
-            if (newPassword != null && !newPassword.trim().isEmpty()) {
-                existingTeacher.setPassword(passwordEncoder.encode(newPassword));
-            }
-
-            teacherService.updateTeacher(existingTeacher);
             return "redirect:/teacher/profile?success";
 
         } catch (Exception e) {
             model.addAttribute("error", "Error updating profile: " + e.getMessage());
-            Teacher currentTeacher = teacherService.getTeacherByUsername(username);
-            model.addAttribute("teacher", currentTeacher);
-            model.addAttribute("courses", courseService.getCoursesByTeacher(currentTeacher.getId()));
+            model.addAttribute("teacher", teacherService.getTeacherView(existingTeacher.getId()));
+            model.addAttribute("courses", courseService.getCourseSummariesByTeacher(existingTeacher.getId()));
             return "teacher/edit-profile";
         }
     }
 
 
-    private String populateCourseFormModel(Model model, String username, Course course) {
-        Teacher teacher = teacherService.getTeacherByUsername(username);
-        List<Course> myCourses = courseService.getCoursesByTeacher(teacher.getId());
-        List<Department> departments = departmentService.getAllDepartments();
+    private String populateCourseFormModel(Model model, Teacher teacher, Course course) {
+        List<CourseSummary> myCourses = courseService.getCourseSummariesByTeacher(teacher.getId());
+        List<DepartmentOption> departments = departmentService.getAllDepartments();
 
-        model.addAttribute("teacher", teacher);
+        model.addAttribute("teacher", teacherService.getTeacherView(teacher.getId()));
         model.addAttribute("courses", myCourses);
         model.addAttribute("departments", departments);
         model.addAttribute("course", course); // This is important for form persistence
         return "teacher/courses";
     }
-}
\ No newline at end of file
+
+    private static boolean teaches(Teacher teacher, CourseSummary course) {
+        return course.teacherId() != null && course.teacherId().equals(teacher.getId());
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.university.dto;
+
+public record CourseSummary(Long id, String name, String code, String description, Integer credits,
+                            Long departmentId, String departmentName,
+                            Long teacherId, String teacherFirstName, String teacherLastName,
+                            int enrolledCount, Integer capacity) {
+
+    public String teacherName() {
+        return teacherFirstName == null ? null : teacherFirstName + " " + teacherLastName;
+    }
+
+    public boolean full() {
+        return capacity != null && enrolledCount >= capacity;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.university.dto;
+
+import java.util.List;
+
+// averageCredits is per enrolled course, 0 without enrollments.
+public record CreditSummary(long courseCount, long totalCredits, double averageCredits,
+                            List<DepartmentCredits> departments) {
+}
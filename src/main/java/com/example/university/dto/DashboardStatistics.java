@@ -0,0 +1,8 @@
+package com.example.university.dto;
+
+import java.util.List;
+
+public record DashboardStatistics(long departmentCount, long courseCount,
+                                  long teacherCount, long studentCount,
+                                  List<DepartmentTotals> departmentTotals) {
+}
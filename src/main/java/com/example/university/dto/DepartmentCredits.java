@@ -0,0 +1,6 @@
+package com.example.university.dto;
+
+// One row of a student's credit breakdown; departmentId and departmentName are null for courses
+// without a department.
+public record DepartmentCredits(Long departmentId, String departmentName, long courseCount, long totalCredits) {
+}
@@ -0,0 +1,5 @@
+package com.example.university.dto;
+
+// Immutable department snapshot for dropdowns and listings; safe to share across requests.
+public record DepartmentOption(Long id, String name, String code, String description) {
+}
@@ -0,0 +1,5 @@
+package com.example.university.dto;
+
+public record DepartmentTotals(Long id, String name, String code,
+                               long courseCount, long teacherCount, long studentCount) {
+}
@@ -0,0 +1,4 @@
+package com.example.university.dto;
+
+public record EnrollmentCount(Long studentId, long courses) {
+}
@@ -0,0 +1,4 @@
+package com.example.university.dto;
+
+public record ImportError(long line, String message) {
+}
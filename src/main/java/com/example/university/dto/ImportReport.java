@@ -0,0 +1,13 @@
+package com.example.university.dto;
+
+import java.util.List;
+
+// errors holds at most the first few hundred rejected rows; rejected is the full count.
+// failure is set when the file could not be read to the end; the counts cover the rows before it.
+public record ImportReport(String type, long rowsRead, long imported, long rejected,
+                           List<ImportError> errors, long elapsedMillis, String failure) {
+
+    public boolean errorsTruncated() {
+        return rejected > errors.size();
+    }
+}
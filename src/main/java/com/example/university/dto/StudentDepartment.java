@@ -0,0 +1,9 @@
+package com.example.university.dto;
+
+// One student-department membership, fetched for a whole page of students at once.
+public record StudentDepartment(Long studentId, Long departmentId, String name, String code, String description) {
+
+    public DepartmentOption department() {
+        return new DepartmentOption(departmentId, name, code, description);
+    }
+}
@@ -0,0 +1,5 @@
+package com.example.university.dto;
+
+public record StudentExportRow(String studentId, String firstName, String lastName, String email,
+                               String username) {
+}
@@ -0,0 +1,8 @@
+package com.example.university.dto;
+
+import java.util.List;
+
+// Everything the student pages show about one student, loaded before the view renders.
+public record StudentView(Long id, String studentId, String username, String firstName, String lastName,
+                          String email, List<DepartmentOption> departments, int enrolledCourseCount) {
+}
@@ -0,0 +1,5 @@
+package com.example.university.dto;
+
+// Teacher dropdown entry.
+public record TeacherOption(Long id, String firstName, String lastName) {
+}
@@ -0,0 +1,6 @@
+package com.example.university.dto;
+
+// Everything the teacher pages show about one teacher; department is null when unassigned.
+public record TeacherView(Long id, String teacherId, String username, String firstName, String lastName,
+                          String email, String qualification, DepartmentOption department) {
+}
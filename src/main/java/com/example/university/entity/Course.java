@@ -1,17 +1,24 @@
 package com.example.university.entity;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "courses")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "courses")
 public class Course {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "courses_seq")
+    @SequenceGenerator(name = "courses_seq", sequenceName = "courses_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Course name is required")
@@ -27,6 +34,10 @@ public class Course {
     @NotNull(message = "Credits are required")
     private Integer credits;
 
+    // Seat limit enforced by CourseRepository.reserveSeat; null means unlimited.
+    @Min(value = 1, message = "Capacity must be at least 1")
+    private Integer capacity;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "department_id")
     private Department department;
@@ -35,9 +46,15 @@ public class Course {
     @JoinColumn(name = "teacher_id")
     private Teacher teacher;
 
+    // Not cached: enrolments are written through Student.enrolledCourses, which would not evict it
     @ManyToMany(mappedBy = "enrolledCourses", fetch = FetchType.LAZY)
     private Set<Student> students = new HashSet<>();
 
+    // Maintained only by CourseRepository's atomic UPDATE statements, never by entity flushes.
+    @ColumnDefault("0")
+    @Column(name = "enrolled_student_count", nullable = false, insertable = false, updatable = false)
+    private int enrolledStudentCount;
+
     public Course() {}
 
     public Course(String name, String code, String description, Integer credits) {
@@ -49,7 +66,11 @@ public class Course {
 
 
     public int getEnrolledStudentCount() {
-        return students.size();
+        return enrolledStudentCount;
+    }
+
+    public void setEnrolledStudentCount(int enrolledStudentCount) {
+        this.enrolledStudentCount = enrolledStudentCount;
     }
 
 
@@ -68,6 +89,9 @@ public class Course {
     public Integer getCredits() { return credits; }
     public void setCredits(Integer credits) { this.credits = credits; }
 
+    public Integer getCapacity() { return capacity; }
+    public void setCapacity(Integer capacity) { this.capacity = capacity; }
+
     public Department getDepartment() { return department; }
     public void setDepartment(Department department) { this.department = department; }
 
@@ -2,15 +2,20 @@ package com.example.university.entity;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.util.HashSet;
 import java.util.Set;
 
 @Entity
 @Table(name = "departments")
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "departments")
 public class Department {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "departments_seq")
+    @SequenceGenerator(name = "departments_seq", sequenceName = "departments_seq", allocationSize = 50)
     private Long id;
 
     @NotBlank(message = "Department name is required")
@@ -26,7 +31,10 @@ public class Department {
     @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
     private Set<Teacher> teachers = new HashSet<>();
 
+    // Cached as course ids, resolved from the courses region. Teachers and students are left out:
+    // their entities are not cached, so a cached id list would mean one select per element.
     @OneToMany(mappedBy = "department", fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "department-courses")
     private Set<Course> courses = new HashSet<>();
 
     @ManyToMany(mappedBy = "departments", fetch = FetchType.LAZY)
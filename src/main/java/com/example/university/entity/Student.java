@@ -47,14 +47,16 @@ public class Student extends User {
     }
 
 
-    public void enrollInCourse(Course course) {
-        this.enrolledCourses.add(course);
+    public boolean enrollInCourse(Course course) {
+        boolean added = this.enrolledCourses.add(course);
         course.getStudents().add(this);
+        return added;
     }
 
-    public void unenrollFromCourse(Course course) {
-        this.enrolledCourses.remove(course);
+    public boolean unenrollFromCourse(Course course) {
+        boolean removed = this.enrolledCourses.remove(course);
         course.getStudents().remove(this);
+        return removed;
     }
 
 
@@ -1,20 +1,150 @@
 package com.example.university.repository;
 
+import com.example.university.dto.CourseSummary;
 import com.example.university.entity.Course;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface CourseRepository extends JpaRepository<Course, Long> {
+    String COURSE_SEATS = "course_seats";
+
     boolean existsByName(String name);
     boolean existsByCode(String code);
+
+    // Result ids go to the query cache when the second-level-cache profile is on; ignored otherwise
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByDepartmentId(Long departmentId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Course> findByTeacherId(Long teacherId);
 
-    @Query("SELECT c FROM Course c WHERE c.id NOT IN " +
-            "(SELECT sc.id FROM Student s JOIN s.enrolledCourses sc WHERE s.id = :studentId)")
-    List<Course> findCoursesNotEnrolledByStudent(@Param("studentId") Long studentId);
-}
\ No newline at end of file
+    @EntityGraph(attributePaths = {"department", "teacher"})
+    Window<Course> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query(value = "SELECT new com.example.university.dto.CourseSummary(c.id, c.name, c.code, c.description, " +
+            "c.credits, d.id, d.name, t.id, t.firstName, t.lastName, c.enrolledStudentCount, c.capacity) " +
+            "FROM Course c LEFT JOIN c.department d LEFT JOIN c.teacher t " +
+            "WHERE NOT EXISTS (SELECT 1 FROM Student s JOIN s.enrolledCourses e WHERE s.id = :studentId AND e = c) " +
+            "AND (:departmentId IS NULL OR d.id = :departmentId) " +
+            "AND (:minCredits IS NULL OR c.credits >= :minCredits) " +
+            "AND (:maxCredits IS NULL OR c.credits <= :maxCredits)",
+            countQuery = "SELECT COUNT(c) FROM Course c " +
+                    "WHERE NOT EXISTS (SELECT 1 FROM Student s JOIN s.enrolledCourses e WHERE s.id = :studentId AND e = c) " +
+                    "AND (:departmentId IS NULL OR c.department.id = :departmentId) " +
+                    "AND (:minCredits IS NULL OR c.credits >= :minCredits) " +
+                    "AND (:maxCredits IS NULL OR c.credits <= :maxCredits)")
+    Page<CourseSummary> findSummariesNotEnrolledByStudent(@Param("studentId") Long studentId,
+                                                          @Param("departmentId") Long departmentId,
+                                                          @Param("minCredits") Integer minCredits,
+                                                          @Param("maxCredits") Integer maxCredits,
+                                                          Pageable pageable);
+
+    @Query("SELECT new com.example.university.dto.CourseSummary(c.id, c.name, c.code, c.description, c.credits, " +
+            "d.id, d.name, t.id, t.firstName, t.lastName, c.enrolledStudentCount, c.capacity) " +
+            "FROM Student s JOIN s.enrolledCourses c LEFT JOIN c.department d LEFT JOIN c.teacher t " +
+            "WHERE s.id = :studentId " +
+            "ORDER BY c.name")
+    List<CourseSummary> findSummariesEnrolledByStudent(@Param("studentId") Long studentId);
+
+    @Query("SELECT c.id FROM Student s JOIN s.enrolledCourses c WHERE s.id = :studentId")
+    List<Long> findIdsEnrolledByStudent(@Param("studentId") Long studentId);
+
+    @Query("SELECT new com.example.university.dto.CourseSummary(c.id, c.name, c.code, c.description, c.credits, " +
+            "d.id, d.name, t.id, t.firstName, t.lastName, c.enrolledStudentCount, c.capacity) " +
+            "FROM Course c LEFT JOIN c.department d LEFT JOIN c.teacher t " +
+            "WHERE t.id = :teacherId " +
+            "ORDER BY c.name")
+    List<CourseSummary> findSummariesByTeacher(@Param("teacherId") Long teacherId);
+
+    @Query("SELECT new com.example.university.dto.CourseSummary(c.id, c.name, c.code, c.description, c.credits, " +
+            "d.id, d.name, t.id, t.firstName, t.lastName, c.enrolledStudentCount, c.capacity) " +
+            "FROM Course c LEFT JOIN c.department d LEFT JOIN c.teacher t " +
+            "WHERE c.id = :courseId")
+    Optional<CourseSummary> findSummaryById(@Param("courseId") Long courseId);
+
+    @Query("SELECT new com.example.university.dto.CourseSummary(c.id, c.name, c.code, c.description, c.credits, " +
+            "d.id, d.name, t.id, t.firstName, t.lastName, c.enrolledStudentCount, c.capacity) " +
+            "FROM Course c LEFT JOIN c.department d LEFT JOIN c.teacher t " +
+            "WHERE c.id IN :courseIds")
+    List<CourseSummary> findSummariesByIdIn(@Param("courseIds") Collection<Long> courseIds);
+
+    @Query("SELECT new com.example.university.dto.CourseSummary(c.id, c.name, c.code, c.description, c.credits, " +
+            "d.id, d.name, t.id, t.firstName, t.lastName, c.enrolledStudentCount, c.capacity) " +
+            "FROM Course c LEFT JOIN c.department d LEFT JOIN c.teacher t")
+    List<CourseSummary> findAllSummaries();
+
+    // PostgreSQL only: search_vector and its GIN index come from db/vendor/postgresql/V4
+    @Query(value = "SELECT c.id FROM courses c, to_tsquery('simple', :query) q " +
+            "WHERE c.search_vector @@ q " +
+            "ORDER BY ts_rank(c.search_vector, q) DESC, c.name, c.id " +
+            "LIMIT :limit",
+            nativeQuery = true)
+    List<Long> searchIds(@Param("query") String query, @Param("limit") int limit);
+
+    // searchIds with the findSummariesNotEnrolledByStudent filters; the casts type the null checks
+    @Query(value = "SELECT c.id FROM courses c, to_tsquery('simple', :query) q " +
+            "WHERE c.search_vector @@ q " +
+            "AND NOT EXISTS (SELECT 1 FROM student_courses sc WHERE sc.student_id = :studentId AND sc.course_id = c.id) " +
+            "AND (CAST(:departmentId AS BIGINT) IS NULL OR c.department_id = :departmentId) " +
+            "AND (CAST(:minCredits AS INTEGER) IS NULL OR c.credits >= :minCredits) " +
+            "AND (CAST(:maxCredits AS INTEGER) IS NULL OR c.credits <= :maxCredits) " +
+            "ORDER BY ts_rank(c.search_vector, q) DESC, c.name, c.id",
+            countQuery = "SELECT COUNT(*) FROM courses c " +
+                    "WHERE c.search_vector @@ to_tsquery('simple', :query) " +
+                    "AND NOT EXISTS (SELECT 1 FROM student_courses sc WHERE sc.student_id = :studentId AND sc.course_id = c.id) " +
+                    "AND (CAST(:departmentId AS BIGINT) IS NULL OR c.department_id = :departmentId) " +
+                    "AND (CAST(:minCredits AS INTEGER) IS NULL OR c.credits >= :minCredits) " +
+                    "AND (CAST(:maxCredits AS INTEGER) IS NULL OR c.credits <= :maxCredits)",
+            nativeQuery = true)
+    Page<Long> searchIdsNotEnrolledByStudent(@Param("query") String query,
+                                             @Param("studentId") Long studentId,
+                                             @Param("departmentId") Long departmentId,
+                                             @Param("minCredits") Integer minCredits,
+                                             @Param("maxCredits") Integer maxCredits,
+                                             Pageable pageable);
+
+    // Returns 0 when the course is full; the row lock taken by the UPDATE serialises concurrent callers.
+    // The seat queries name a query space no cached region or query uses, so Hibernate evicts nothing
+    // (an unnamed native query empties the whole second-level cache, and "courses" would drop every
+    // course and every cached course list). Callers evict the courses they touch; only
+    // enrolled_student_count changes, which no cached query filters on.
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COURSE_SEATS))
+    @Query(value = "UPDATE courses SET enrolled_student_count = enrolled_student_count + 1 " +
+            "WHERE id = :courseId AND (capacity IS NULL OR enrolled_student_count < capacity)",
+            nativeQuery = true)
+    int reserveSeat(@Param("courseId") Long courseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COURSE_SEATS))
+    @Query(value = "UPDATE courses SET enrolled_student_count = enrolled_student_count - 1 " +
+            "WHERE id = :courseId AND enrolled_student_count > 0",
+            nativeQuery = true)
+    int releaseSeat(@Param("courseId") Long courseId);
+
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = COURSE_SEATS))
+    @Query(value = "UPDATE courses c SET enrolled_student_count = " +
+            "(SELECT COUNT(*) FROM student_courses sc WHERE sc.course_id = c.id) " +
+            "WHERE c.enrolled_student_count <> " +
+            "(SELECT COUNT(*) FROM student_courses sc WHERE sc.course_id = c.id)",
+            nativeQuery = true)
+    int reconcileEnrolledStudentCounts();
+}
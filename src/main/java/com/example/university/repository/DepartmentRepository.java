@@ -1,11 +1,26 @@
 package com.example.university.repository;
 
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.DepartmentTotals;
 import com.example.university.entity.Department;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 
 @Repository
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
     boolean existsByName(String name);
     boolean existsByCode(String code);
+
+    @Query("SELECT new com.example.university.dto.DepartmentOption(d.id, d.name, d.code, d.description) " +
+            "FROM Department d ORDER BY d.name")
+    List<DepartmentOption> findAllOptions();
+
+    @Query("SELECT new com.example.university.dto.DepartmentTotals(d.id, d.name, d.code, " +
+            "(SELECT COUNT(c) FROM Course c WHERE c.department = d), " +
+            "(SELECT COUNT(t) FROM Teacher t WHERE t.department = d), " +
+            "(SELECT COUNT(s) FROM Student s JOIN s.departments sd WHERE sd = d)) " +
+            "FROM Department d ORDER BY d.name")
+    List<DepartmentTotals> findDepartmentTotals();
 }
\ No newline at end of file
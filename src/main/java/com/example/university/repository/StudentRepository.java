@@ -1,13 +1,90 @@
 package com.example.university.repository;
 
+import com.example.university.dto.DepartmentCredits;
+import com.example.university.dto.EnrollmentCount;
+import com.example.university.dto.StudentDepartment;
+import com.example.university.dto.StudentExportRow;
 import com.example.university.entity.Student;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface StudentRepository extends JpaRepository<Student, Long> {
+    String EXPORT_FETCH_SIZE = "500";
+
     Optional<Student> findByStudentId(String studentId);
     boolean existsByStudentId(String studentId);
     Optional<Student> findByUsername(String username);
-}
\ No newline at end of file
+    Window<Student> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @Query("SELECT s FROM Student s JOIN s.enrolledCourses c WHERE c.id = :courseId " +
+            "ORDER BY s.lastName, s.firstName, s.id")
+    List<Student> findByEnrolledCourseId(@Param("courseId") Long courseId);
+
+    // Page-at-a-time lookups behind StudentView, so a listing costs a fixed number of queries
+    @Query("SELECT new com.example.university.dto.StudentDepartment(s.id, d.id, d.name, d.code, d.description) " +
+            "FROM Student s JOIN s.departments d WHERE s.id IN :studentIds ORDER BY d.name")
+    List<StudentDepartment> findDepartmentsOfStudents(@Param("studentIds") Collection<Long> studentIds);
+
+    @Query("SELECT new com.example.university.dto.EnrollmentCount(s.id, COUNT(c)) " +
+            "FROM Student s JOIN s.enrolledCourses c WHERE s.id IN :studentIds GROUP BY s.id")
+    List<EnrollmentCount> countEnrollments(@Param("studentIds") Collection<Long> studentIds);
+
+    // Credit totals of one student's enrollments, one row per course department
+    @Query("SELECT new com.example.university.dto.DepartmentCredits(d.id, d.name, COUNT(c), SUM(c.credits)) " +
+            "FROM Student s JOIN s.enrolledCourses c LEFT JOIN c.department d " +
+            "WHERE s.id = :studentId GROUP BY d.id, d.name ORDER BY d.name")
+    List<DepartmentCredits> sumCreditsByDepartment(@Param("studentId") Long studentId);
+
+    @Query("SELECT COUNT(c) > 0 FROM Student s JOIN s.enrolledCourses c WHERE s.id = :studentId AND c.id = :courseId")
+    boolean existsEnrollment(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    // Enrollment rows are written directly so enrolling never loads the Student graph; the context is
+    // cleared afterwards so an already-loaded enrolledCourses set cannot be served stale. Only the
+    // join table is named as touched, so cached courses and departments survive.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_courses"))
+    @Query(value = "INSERT INTO student_courses (student_id, course_id) VALUES (:studentId, :courseId) " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertEnrollment(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "student_courses"))
+    @Query(value = "DELETE FROM student_courses WHERE student_id = :studentId AND course_id = :courseId",
+            nativeQuery = true)
+    int deleteEnrollment(@Param("studentId") Long studentId, @Param("courseId") Long courseId);
+
+    // Export streams: unmanaged rows pulled from a server-side cursor EXPORT_FETCH_SIZE at a time.
+    // Must be consumed inside a transaction and closed.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.university.dto.StudentExportRow(s.studentId, s.firstName, s.lastName, " +
+            "s.email, s.username) FROM Student s ORDER BY s.id")
+    Stream<StudentExportRow> streamRoster();
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.university.dto.StudentExportRow(s.studentId, s.firstName, s.lastName, " +
+            "s.email, s.username) FROM Student s JOIN s.enrolledCourses c WHERE c.id = :courseId " +
+            "ORDER BY s.lastName, s.firstName, s.id")
+    Stream<StudentExportRow> streamByCourse(@Param("courseId") Long courseId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = EXPORT_FETCH_SIZE))
+    @Query("SELECT new com.example.university.dto.StudentExportRow(s.studentId, s.firstName, s.lastName, " +
+            "s.email, s.username) FROM Student s JOIN s.departments d WHERE d.id = :departmentId " +
+            "ORDER BY s.lastName, s.firstName, s.id")
+    Stream<StudentExportRow> streamByDepartment(@Param("departmentId") Long departmentId);
+}
@@ -1,8 +1,17 @@
 package com.example.university.repository;
 
+import com.example.university.dto.TeacherOption;
 import com.example.university.entity.Teacher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -10,4 +19,15 @@ public interface TeacherRepository extends JpaRepository<Teacher, Long> {
     Optional<Teacher> findByTeacherId(String teacherId);
     boolean existsByTeacherId(String teacherId);
     Optional<Teacher> findByUsername(String username);
+
+    @EntityGraph(attributePaths = "department")
+    Window<Teacher> findAllBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(attributePaths = "department")
+    @Query("SELECT t FROM Teacher t WHERE t.id = :id")
+    Optional<Teacher> findWithDepartmentById(@Param("id") Long id);
+
+    @Query("SELECT new com.example.university.dto.TeacherOption(t.id, t.firstName, t.lastName) " +
+            "FROM Teacher t ORDER BY t.lastName, t.firstName, t.id")
+    List<TeacherOption> findAllOptions();
 }
\ No newline at end of file
@@ -1,7 +1,13 @@
 package com.example.university.repository;
 
 import com.example.university.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.Optional;
 
@@ -11,4 +17,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    // Names its table so the second-level cache is not flushed on every password upgrade
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "users"))
+    @Query(value = "UPDATE users SET password = :newHash WHERE username = :username AND password = :oldHash",
+            nativeQuery = true)
+    int updatePasswordIfUnchanged(@Param("username") String username,
+                                  @Param("oldHash") String oldHash,
+                                  @Param("newHash") String newHash);
 }
\ No newline at end of file
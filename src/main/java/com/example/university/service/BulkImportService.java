@@ -0,0 +1,417 @@
+package com.example.university.service;
+
+import com.example.university.config.BoundedPasswordEncoder;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.ImportError;
+import com.example.university.dto.ImportReport;
+import com.example.university.entity.Role;
+import com.example.university.entity.User;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.regex.Pattern;
+
+// Bulk onboarding from CSV. Rows are read as a stream and handled in chunks: one set-based
+// uniqueness query per column, passwords hashed in parallel on the hashing pool, then JDBC batch
+// inserts into users and students/teachers in one transaction per chunk. A chunk the database
+// refuses is retried one row at a time, so only the offending rows are rejected.
+@Service
+public class BulkImportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkImportService.class);
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 500;
+
+    private static final Pattern EMAIL = Pattern.compile("^[^@\\s]+@[^@\\s]+$");
+    // Hashes exported from another system are stored as-is; legacy ones are upgraded on first login.
+    private static final Pattern BCRYPT_HASH = Pattern.compile("^(\\{bcrypt})?\\$2[aby]?\\$\\d{2}\\$[./A-Za-z0-9]{53}$");
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private static final String NEXT_USER_ID_BLOCK = "SELECT nextval('users_seq')";
+    private static final String INSERT_USER =
+            "INSERT INTO users (id, username, email, password, role, enabled) VALUES (?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_STUDENT =
+            "INSERT INTO students (user_id, student_id, first_name, last_name) VALUES (?, ?, ?, ?)";
+    private static final String INSERT_TEACHER =
+            "INSERT INTO teachers (user_id, teacher_id, first_name, last_name, qualification, department_id) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final DepartmentService departmentService;
+    private final int hashingParallelism;
+
+    public BulkImportService(JdbcTemplate jdbcTemplate,
+                             NamedParameterJdbcTemplate namedParameterJdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             BoundedPasswordEncoder passwordEncoder,
+                             DepartmentService departmentService,
+                             @Value("${university.import.hashing-parallelism:0}") int hashingParallelism) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.namedParameterJdbcTemplate = namedParameterJdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.departmentService = departmentService;
+        this.hashingParallelism = hashingParallelism > 0 ? hashingParallelism
+                : Runtime.getRuntime().availableProcessors();
+    }
+
+    // Columns: username, email, password, studentId, firstName, lastName
+    public ImportReport importStudents(InputStream csv) throws IOException {
+        return new ImportRun(Role.ROLE_STUDENT).execute(csv);
+    }
+
+    // Columns: username, email, password, teacherId, firstName, lastName, optional qualification
+    // and department (a department code)
+    public ImportReport importTeachers(InputStream csv) throws IOException {
+        return new ImportRun(Role.ROLE_TEACHER).execute(csv);
+    }
+
+    private record Row(long line, String username, String email, String password, String externalId,
+                       String firstName, String lastName, String qualification, Long departmentId) {
+    }
+
+    private record HashedRow(Row row, String hash) {
+    }
+
+    private final class ImportRun {
+
+        private final Role role;
+        private final String idColumn;
+        private final Set<String> seenUsernames = new HashSet<>();
+        private final Set<String> seenEmails = new HashSet<>();
+        private final Set<String> seenIds = new HashSet<>();
+        private final List<ImportError> errors = new ArrayList<>();
+        private Map<String, Long> departmentIdsByCode;
+        private long rowsRead;
+        private long imported;
+        private long rejected;
+
+        ImportRun(Role role) {
+            this.role = role;
+            this.idColumn = role == Role.ROLE_STUDENT ? "studentid" : "teacherid";
+        }
+
+        ImportReport execute(InputStream csv) throws IOException {
+            long started = System.currentTimeMillis();
+            String failure = null;
+            try (CsvReader reader = new CsvReader(new InputStreamReader(csv, StandardCharsets.UTF_8))) {
+                Map<String, Integer> columns = readHeader(reader.readRecord());
+                List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+                try {
+                    List<String> fields;
+                    while ((fields = reader.readRecord()) != null) {
+                        rowsRead++;
+                        Row row = toRow(reader.recordLine(), fields, columns);
+                        if (row != null) {
+                            chunk.add(row);
+                        }
+                        if (chunk.size() == CHUNK_SIZE) {
+                            importChunk(chunk);
+                            chunk.clear();
+                        }
+                    }
+                } catch (IOException e) {
+                    // Earlier chunks are committed already, so report them rather than throw them away
+                    failure = "Reading stopped after " + rowsRead + " rows: " + e.getMessage();
+                    logger.warn("{} import: {}", role, failure);
+                }
+                importChunk(chunk);
+            }
+            long elapsed = System.currentTimeMillis() - started;
+            logger.info("{} import finished: {} rows, {} imported, {} rejected in {} ms",
+                    role, rowsRead, imported, rejected, elapsed);
+            return new ImportReport(role == Role.ROLE_STUDENT ? "students" : "teachers",
+                    rowsRead, imported, rejected, List.copyOf(errors), elapsed, failure);
+        }
+
+        private Map<String, Integer> readHeader(List<String> header) {
+            if (header == null) {
+                throw new IllegalArgumentException("CSV file is empty");
+            }
+            Map<String, Integer> columns = new HashMap<>();
+            for (int i = 0; i < header.size(); i++) {
+                String name = header.get(i);
+                // Excel's "CSV UTF-8" starts the file with a byte order mark, which UTF-8 decoding keeps
+                if (i == 0 && name.startsWith(BYTE_ORDER_MARK)) {
+                    name = name.substring(1);
+                }
+                columns.put(name.trim().toLowerCase(Locale.ROOT), i);
+            }
+            for (String required : List.of("username", "email", "password", idColumn, "firstname", "lastname")) {
+                if (!columns.containsKey(required)) {
+                    throw new IllegalArgumentException("Missing column: " + required);
+                }
+            }
+            return columns;
+        }
+
+        // Field checks mirror the entity constraints; duplicates within the file are caught here,
+        // duplicates against the database in importChunk.
+        private Row toRow(long line, List<String> fields, Map<String, Integer> columns) {
+            String username = field(fields, columns, "username");
+            String email = field(fields, columns, "email");
+            String password = field(fields, columns, "password");
+            String externalId = field(fields, columns, idColumn);
+            String firstName = field(fields, columns, "firstname");
+            String lastName = field(fields, columns, "lastname");
+
+            String problem = null;
+            if (username == null || username.length() < 3 || username.length() > 50) {
+                problem = "Username must be 3 to 50 characters";
+            } else if (email == null || !EMAIL.matcher(email).matches()) {
+                problem = "Invalid email format";
+            } else if (password == null || password.length() < 6) {
+                problem = "Password must be at least 6 characters";
+            } else if (externalId == null) {
+                problem = (role == Role.ROLE_STUDENT ? "Student" : "Teacher") + " ID is required";
+            } else if (firstName == null || lastName == null) {
+                problem = "First and last name are required";
+            } else if (!seenUsernames.add(username)) {
+                problem = "Duplicate username in file: " + username;
+            } else if (!seenEmails.add(email)) {
+                problem = "Duplicate email in file: " + email;
+            } else if (!seenIds.add(externalId)) {
+                problem = "Duplicate ID in file: " + externalId;
+            }
+
+            Long departmentId = null;
+            String departmentCode = field(fields, columns, "department");
+            if (problem == null && role == Role.ROLE_TEACHER && departmentCode != null) {
+                departmentId = departmentIdsByCode().get(departmentCode);
+                if (departmentId == null) {
+                    problem = "Department not found: " + departmentCode;
+                }
+            }
+            if (problem != null) {
+                reject(line, problem);
+                return null;
+            }
+            return new Row(line, username, email, password, externalId, firstName, lastName,
+                    field(fields, columns, "qualification"), departmentId);
+        }
+
+        private void importChunk(List<Row> chunk) {
+            if (chunk.isEmpty()) {
+                return;
+            }
+            List<HashedRow> rows = hashPasswords(withoutConflicts(chunk));
+            if (rows.isEmpty()) {
+                return;
+            }
+
+            List<Long> ids = reserveUserIds(rows.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(rows, ids));
+                imported += rows.size();
+            } catch (RuntimeException e) {
+                // Usually one row conflicting with a user created while the chunk was being prepared
+                logger.info("{} import chunk failed, retrying its {} rows one by one: {}", role, rows.size(), e.getMessage());
+                for (int i = 0; i < rows.size(); i++) {
+                    insertAlone(rows.get(i), ids.get(i));
+                }
+            }
+            logger.info("{} import progress: {} rows read, {} imported, {} rejected",
+                    role, rowsRead, imported, rejected);
+        }
+
+        // Rejects the rows whose username, email or ID is already in the database
+        private List<Row> withoutConflicts(List<Row> chunk) {
+            Set<String> takenUsernames = existing("SELECT username FROM users WHERE username IN (:values)",
+                    chunk.stream().map(Row::username).toList());
+            Set<String> takenEmails = existing("SELECT email FROM users WHERE email IN (:values)",
+                    chunk.stream().map(Row::email).toList());
+            Set<String> takenIds = existing(role == Role.ROLE_STUDENT
+                            ? "SELECT student_id FROM students WHERE student_id IN (:values)"
+                            : "SELECT teacher_id FROM teachers WHERE teacher_id IN (:values)",
+                    chunk.stream().map(Row::externalId).toList());
+
+            List<Row> rows = new ArrayList<>(chunk.size());
+            for (Row row : chunk) {
+                if (takenUsernames.contains(row.username())) {
+                    reject(row.line(), "Username already exists: " + row.username());
+                } else if (takenEmails.contains(row.email())) {
+                    reject(row.line(), "Email already exists: " + row.email());
+                } else if (takenIds.contains(row.externalId())) {
+                    reject(row.line(), "ID already exists: " + row.externalId());
+                } else {
+                    rows.add(row);
+                }
+            }
+            return rows;
+        }
+
+        private void insertAlone(HashedRow row, long id) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> insert(List.of(row), List.of(id)));
+                imported++;
+            } catch (DataIntegrityViolationException e) {
+                // A user registered meanwhile gets the same message as one found up front
+                if (!withoutConflicts(List.of(row.row())).isEmpty()) {
+                    reject(row.row().line(), "Could not be imported: " + e.getMostSpecificCause().getMessage());
+                }
+            } catch (RuntimeException e) {
+                logger.warn("{} import of line {} failed", role, row.row().line(), e);
+                reject(row.row().line(), "Could not be imported: " + e.getMessage());
+            }
+        }
+
+        // Submits one wave per hashing thread so logins queued on the same pool are never
+        // stuck behind a whole chunk. A row whose hash fails is rejected on its own.
+        private List<HashedRow> hashPasswords(List<Row> rows) {
+            List<HashedRow> hashed = new ArrayList<>(rows.size());
+            for (int from = 0; from < rows.size(); from += hashingParallelism) {
+                List<Row> waveRows = rows.subList(from, Math.min(from + hashingParallelism, rows.size()));
+                List<CompletableFuture<String>> wave = new ArrayList<>(waveRows.size());
+                for (Row row : waveRows) {
+                    wave.add(hash(row.password()));
+                }
+                for (int i = 0; i < waveRows.size(); i++) {
+                    Row row = waveRows.get(i);
+                    try {
+                        hashed.add(new HashedRow(row, wave.get(i).join()));
+                    } catch (CompletionException e) {
+                        reject(row.line(), e.getCause() instanceof RejectedExecutionException
+                                ? "Password hashing is busy, import this row again later"
+                                : "Password could not be hashed: " + e.getCause().getMessage());
+                    }
+                }
+            }
+            return hashed;
+        }
+
+        private CompletableFuture<String> hash(String password) {
+            if (BCRYPT_HASH.matcher(password).matches()) {
+                return CompletableFuture.completedFuture(password);
+            }
+            try {
+                return passwordEncoder.encodeAsync(password);
+            } catch (RejectedExecutionException e) {
+                // The hashing queue is full (logins have priority); thrown by the submit itself
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+
+        private void insert(List<HashedRow> rows, List<Long> ids) {
+            jdbcTemplate.batchUpdate(INSERT_USER, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    Row row = rows.get(i).row();
+                    ps.setLong(1, ids.get(i));
+                    ps.setString(2, row.username());
+                    ps.setString(3, row.email());
+                    ps.setString(4, rows.get(i).hash());
+                    ps.setString(5, role.name());
+                    ps.setBoolean(6, true);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return rows.size();
+                }
+            });
+
+            jdbcTemplate.batchUpdate(role == Role.ROLE_STUDENT ? INSERT_STUDENT : INSERT_TEACHER,
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement ps, int i) throws SQLException {
+                            Row row = rows.get(i).row();
+                            ps.setLong(1, ids.get(i));
+                            ps.setString(2, row.externalId());
+                            ps.setString(3, row.firstName());
+                            ps.setString(4, row.lastName());
+                            if (role == Role.ROLE_TEACHER) {
+                                // An empty cell means no qualification: null, not an empty string
+                                if (row.qualification() != null) {
+                                    ps.setString(5, row.qualification());
+                                } else {
+                                    ps.setNull(5, Types.VARCHAR);
+                                }
+                                if (row.departmentId() != null) {
+                                    ps.setLong(6, row.departmentId());
+                                } else {
+                                    ps.setNull(6, Types.BIGINT);
+                                }
+                            }
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return rows.size();
+                        }
+                    });
+        }
+
+        // Same contract as Hibernate's pooled optimizer on users_seq: a nextval of n owns the ids
+        // n - ID_ALLOCATION_SIZE + 1 .. n, so these never collide with ids handed out through JPA.
+        private List<Long> reserveUserIds(int count) {
+            List<Long> ids = new ArrayList<>(count);
+            while (ids.size() < count) {
+                long hi = jdbcTemplate.queryForObject(NEXT_USER_ID_BLOCK, Long.class);
+                for (long id = Math.max(1, hi - User.ID_ALLOCATION_SIZE + 1); id <= hi && ids.size() < count; id++) {
+                    ids.add(id);
+                }
+            }
+            return ids;
+        }
+
+        private Set<String> existing(String sql, Collection<String> values) {
+            return new HashSet<>(namedParameterJdbcTemplate.queryForList(sql, Map.of("values", values), String.class));
+        }
+
+        private Map<String, Long> departmentIdsByCode() {
+            if (departmentIdsByCode == null) {
+                departmentIdsByCode = new HashMap<>();
+                for (DepartmentOption department : departmentService.getAllDepartments()) {
+                    departmentIdsByCode.put(department.code(), department.id());
+                }
+            }
+            return departmentIdsByCode;
+        }
+
+        private void reject(long line, String message) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportError(line, message));
+            }
+        }
+
+        private String field(List<String> fields, Map<String, Integer> columns, String column) {
+            Integer index = columns.get(column);
+            if (index == null || index >= fields.size()) {
+                return null;
+            }
+            String value = fields.get(index).trim();
+            return value.isEmpty() ? null : value;
+        }
+    }
+}
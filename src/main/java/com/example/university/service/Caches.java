@@ -0,0 +1,80 @@
+package com.example.university.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+
+// Cache.get(key, loader) runs the loader inside ConcurrentHashMap.compute, i.e. under a monitor,
+// which pins a virtual thread to its carrier for the whole database round trip. Here only an empty
+// future is placed under the lock; the first caller loads on its own thread and concurrent callers
+// for the same key park on the future. Invalidating a key mid-load drops the future, so the
+// loaded value is returned to its caller but never cached.
+final class Caches {
+
+    private Caches() {}
+
+    // For loaders: a new read-write transaction, which ReadReplicaConfig routes to the primary even
+    // when the caller is in a read-only one. Evictions happen right after a write commits, and a
+    // refill from a lagging replica would put the old row back for the whole TTL.
+    static TransactionTemplate fillTransaction(PlatformTransactionManager transactionManager) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        return template;
+    }
+
+    // For rows changed by native UPDATEs outside the second-level cache's knowledge (see
+    // CourseRepository.COURSE_SEATS): evicts now, and again once the transaction completes, since a
+    // concurrent reader may cache the old row before the change commits. A no-op without the cache.
+    static void evictEntity(EntityManagerFactory entityManagerFactory, Class<?> entityClass, Object id) {
+        evictAroundCompletion(() -> entityManagerFactory.getCache().evict(entityClass, id));
+    }
+
+    static void evictEntities(EntityManagerFactory entityManagerFactory, Class<?> entityClass) {
+        evictAroundCompletion(() -> entityManagerFactory.getCache().evict(entityClass));
+    }
+
+    private static void evictAroundCompletion(Runnable evict) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+        evict.run();
+    }
+
+    static <K, V> V getOrLoad(AsyncCache<K, V> cache, K key, Function<K, V> loader) {
+        CompletableFuture<V> loading = new CompletableFuture<>();
+        CompletableFuture<V> cached = cache.get(key, (k, executor) -> loading);
+        if (cached == loading) {
+            try {
+                loading.complete(loader.apply(key));
+            } catch (Throwable e) {
+                // Errors too: a future left incomplete would park every later caller for the key.
+                // Failed futures are removed by the cache, so the next call retries the load.
+                loading.completeExceptionally(e);
+                throw e;
+            }
+        }
+        try {
+            return cached.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw e;
+        }
+    }
+}
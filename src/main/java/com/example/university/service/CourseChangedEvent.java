@@ -0,0 +1,5 @@
+package com.example.university.service;
+
+// Published whenever a course is created, updated or removed.
+public record CourseChangedEvent(Long courseId) {
+}
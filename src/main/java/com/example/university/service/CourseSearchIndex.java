@@ -0,0 +1,17 @@
+package com.example.university.service;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import java.util.List;
+
+// Course ids matching every term as a word prefix in the name, code, description or department
+// name, best match first. See CourseSearchConfig for which implementation is used.
+public interface CourseSearchIndex {
+
+    List<Long> search(List<String> terms, int limit);
+
+    // Same order, limited to courses the student is not enrolled in and, where given, to the
+    // department and credit range. Filtering happens before paging, so the total counts every match.
+    Page<Long> searchNotEnrolledByStudent(List<String> terms, Long studentId, Long departmentId,
+                                          Integer minCredits, Integer maxCredits, Pageable pageable);
+}
@@ -1,34 +1,96 @@
 package com.example.university.service;
 
+import com.example.university.dto.CourseSummary;
 import com.example.university.entity.Course;
 import com.example.university.entity.Department;
 import com.example.university.entity.Teacher;
 import com.example.university.repository.CourseRepository;
 import com.example.university.repository.DepartmentRepository;
 import com.example.university.repository.TeacherRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("university.service")
 public class CourseService {
 
+    private static final Set<String> SORTABLE = Set.of("name", "code", "credits");
+
     private final CourseRepository courseRepository;
     private final DepartmentRepository departmentRepository;
     private final TeacherRepository teacherRepository;
+    private final CourseSearchIndex courseSearchIndex;
+    private final ApplicationEventPublisher eventPublisher;
 
     public CourseService(CourseRepository courseRepository,
                          DepartmentRepository departmentRepository,
-                         TeacherRepository teacherRepository) {
+                         TeacherRepository teacherRepository,
+                         CourseSearchIndex courseSearchIndex,
+                         ApplicationEventPublisher eventPublisher) {
         this.courseRepository = courseRepository;
         this.departmentRepository = departmentRepository;
         this.teacherRepository = teacherRepository;
+        this.courseSearchIndex = courseSearchIndex;
+        this.eventPublisher = eventPublisher;
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getAllCourses() {
         return courseRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Window<Course> getCoursePage(Long afterId, String sortBy, Sort.Direction direction, int size) {
+        Sort sort = KeysetPaging.sort(sortBy, direction, SORTABLE);
+        ScrollPosition position = afterId == null ? ScrollPosition.keyset()
+                : courseRepository.findById(afterId)
+                        .map(anchor -> KeysetPaging.after(anchor, sort))
+                        .orElseThrow(() -> new CursorNotFoundException(afterId));
+        return courseRepository.findAllBy(position, sort, KeysetPaging.limit(size));
+    }
+
+    @Transactional(readOnly = true)
+    public Window<CourseSummary> getCourseSummaryPage(Long afterId, String sortBy, Sort.Direction direction, int size) {
+        return getCoursePage(afterId, sortBy, direction, size).map(Views::course);
+    }
+
+    // Best match first; words are matched as prefixes against name, code, description and department
+    @Transactional(readOnly = true)
+    public List<CourseSummary> searchCourses(String query, int limit) {
+        return summariesInOrder(courseSearchIndex.search(SearchTerms.query(query), KeysetPaging.limit(limit).max()));
+    }
+
+    // searchCourses narrowed like StudentService.getAvailableCourses; the index filters before paging
+    @Transactional(readOnly = true)
+    public Page<CourseSummary> searchCoursesNotEnrolledByStudent(Long studentId, String query, Long departmentId,
+                                                                 Integer minCredits, Integer maxCredits,
+                                                                 Pageable pageable) {
+        Page<Long> ids = courseSearchIndex.searchNotEnrolledByStudent(SearchTerms.query(query), studentId,
+                departmentId, minCredits, maxCredits, pageable);
+        return new PageImpl<>(summariesInOrder(ids.getContent()), pageable, ids.getTotalElements());
+    }
+
+    @Transactional(readOnly = true)
+    public CourseSummary getCourseSummary(Long id) {
+        return courseRepository.findSummaryById(id)
+                .orElseThrow(() -> new RuntimeException("Course not found"));
+    }
+
+    @Transactional(readOnly = true)
     public Course getCourseById(Long id) {
         return courseRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Course not found"));
@@ -52,7 +114,9 @@ public class CourseService {
         course.setDepartment(department);
         course.setTeacher(teacher);
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -63,6 +127,7 @@ public class CourseService {
         course.setCode(courseDetails.getCode());
         course.setDescription(courseDetails.getDescription());
         course.setCredits(courseDetails.getCredits());
+        course.setCapacity(courseDetails.getCapacity());
 
         if (departmentId != null) {
             Department department = departmentRepository.findById(departmentId)
@@ -76,19 +141,39 @@ public class CourseService {
             course.setTeacher(teacher);
         }
 
-        return courseRepository.save(course);
+        Course saved = courseRepository.save(course);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
+        return saved;
     }
 
     @Transactional
     public void deleteCourse(Long id) {
         courseRepository.deleteById(id);
+        eventPublisher.publishEvent(new CourseChangedEvent(id));
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByDepartment(Long departmentId) {
         return courseRepository.findByDepartmentId(departmentId);
     }
 
+    @Transactional(readOnly = true)
+    public List<CourseSummary> getCourseSummariesByTeacher(Long teacherId) {
+        return courseRepository.findSummariesByTeacher(teacherId);
+    }
+
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByTeacher(Long teacherId) {
         return courseRepository.findByTeacherId(teacherId);
     }
-}
\ No newline at end of file
+
+    // Summaries for the ids in the same order, skipping any deleted since the index was read
+    private List<CourseSummary> summariesInOrder(List<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, CourseSummary> summaries = courseRepository.findSummariesByIdIn(ids).stream()
+                .collect(Collectors.toMap(CourseSummary::id, Function.identity()));
+        return ids.stream().map(summaries::get).filter(Objects::nonNull).toList();
+    }
+}
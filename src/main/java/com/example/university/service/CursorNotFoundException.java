@@ -0,0 +1,10 @@
+package com.example.university.service;
+
+// The row a keyset page was addressed by (the "after" id) no longer exists, so there is no
+// position to continue from.
+public class CursorNotFoundException extends RuntimeException {
+
+    public CursorNotFoundException(Long afterId) {
+        super("Page cursor " + afterId + " not found");
+    }
+}
@@ -2,23 +2,59 @@ package com.example.university.service;
 
 import com.example.university.entity.User;
 import com.example.university.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 @Service
+@Timed("university.service")
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
+    private final AsyncCache<String, UserDetails> userDetailsCache;
+    private final TransactionTemplate fillTransaction;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, AsyncCache<String, UserDetails> userDetailsCache,
+                                    PlatformTransactionManager transactionManager) {
         this.userRepository = userRepository;
+        this.userDetailsCache = userDetailsCache;
+        this.fillTransaction = Caches.fillTransaction(transactionManager);
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        User user = userRepository.findByUsername(username)
+        UserDetails cached = username == null ? loadFromDatabase(null)
+                : Caches.getOrLoad(userDetailsCache, username, this::loadFromDatabase);
+        // Hand out a copy: Spring Security erases the password on the instance it authenticated.
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    // Called whenever a user's password, enabled flag or existence changes. Inside a transaction the
+    // entry is dropped after commit, so a concurrent login cannot re-cache the old row.
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    userDetailsCache.synchronous().invalidate(username);
+                }
+            });
+        }
+        userDetailsCache.synchronous().invalidate(username);
+    }
+
+    private UserDetails loadFromDatabase(String username) {
+        User user = fillTransaction.execute(status -> userRepository.findByUsername(username))
                 .orElseThrow(() -> new UsernameNotFoundException("User not found: " + username));
 
         return org.springframework.security.core.userdetails.User
@@ -28,4 +64,4 @@ public class CustomUserDetailsService implements UserDetailsService {
                 .disabled(!user.isEnabled())
                 .build();
     }
-}
\ No newline at end of file
+}
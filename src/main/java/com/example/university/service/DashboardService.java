@@ -0,0 +1,39 @@
+package com.example.university.service;
+
+import com.example.university.dto.DashboardStatistics;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import com.example.university.repository.TeacherRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+@Service
+public class DashboardService {
+
+    private final DepartmentRepository departmentRepository;
+    private final CourseRepository courseRepository;
+    private final TeacherRepository teacherRepository;
+    private final StudentRepository studentRepository;
+
+    public DashboardService(DepartmentRepository departmentRepository,
+                            CourseRepository courseRepository,
+                            TeacherRepository teacherRepository,
+                            StudentRepository studentRepository) {
+        this.departmentRepository = departmentRepository;
+        this.courseRepository = courseRepository;
+        this.teacherRepository = teacherRepository;
+        this.studentRepository = studentRepository;
+    }
+
+    // Counts only; no entity is loaded to build the dashboard.
+    @Transactional(readOnly = true)
+    public DashboardStatistics getStatistics() {
+        return new DashboardStatistics(
+                departmentRepository.count(),
+                courseRepository.count(),
+                teacherRepository.count(),
+                studentRepository.count(),
+                departmentRepository.findDepartmentTotals());
+    }
+}
@@ -1,24 +1,45 @@
 package com.example.university.service;
 
+import com.example.university.dto.DepartmentOption;
 import com.example.university.entity.Department;
 import com.example.university.repository.DepartmentRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
 
 @Service
+@Timed("university.service")
 public class DepartmentService {
 
+    private static final String ALL = "all";
+
     private final DepartmentRepository departmentRepository;
+    private final AsyncCache<String, List<DepartmentOption>> departmentCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate fillTransaction;
 
-    public DepartmentService(DepartmentRepository departmentRepository) {
+    public DepartmentService(DepartmentRepository departmentRepository,
+                             AsyncCache<String, List<DepartmentOption>> departmentCache,
+                             ApplicationEventPublisher eventPublisher,
+                             PlatformTransactionManager transactionManager) {
         this.departmentRepository = departmentRepository;
+        this.departmentCache = departmentCache;
+        this.eventPublisher = eventPublisher;
+        this.fillTransaction = Caches.fillTransaction(transactionManager);
     }
 
-    public List<Department> getAllDepartments() {
-        return departmentRepository.findAll();
+    public List<DepartmentOption> getAllDepartments() {
+        return Caches.getOrLoad(departmentCache, ALL, key ->
+                fillTransaction.execute(status -> List.copyOf(departmentRepository.findAllOptions())));
     }
 
+    @Transactional(readOnly = true)
     public Department getDepartmentById(Long id) {
         return departmentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Department not found"));
@@ -32,7 +53,9 @@ public class DepartmentService {
         if (departmentRepository.existsByCode(department.getCode())) {
             throw new RuntimeException("Department code already exists");
         }
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        eventPublisher.publishEvent(new DepartmentsChangedEvent(saved.getId()));
+        return saved;
     }
 
     @Transactional
@@ -43,11 +66,20 @@ public class DepartmentService {
         department.setCode(departmentDetails.getCode());
         department.setDescription(departmentDetails.getDescription());
 
-        return departmentRepository.save(department);
+        Department saved = departmentRepository.save(department);
+        eventPublisher.publishEvent(new DepartmentsChangedEvent(id));
+        return saved;
     }
 
     @Transactional
     public void deleteDepartment(Long id) {
         departmentRepository.deleteById(id);
+        eventPublisher.publishEvent(new DepartmentsChangedEvent(id));
+    }
+
+    // Runs after commit so a reader can never re-cache the pre-change list.
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentsChanged(DepartmentsChangedEvent event) {
+        departmentCache.synchronous().invalidateAll();
     }
 }
\ No newline at end of file
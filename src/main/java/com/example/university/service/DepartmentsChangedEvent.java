@@ -0,0 +1,5 @@
+package com.example.university.service;
+
+// Published whenever a department is created, renamed or removed.
+public record DepartmentsChangedEvent(Long departmentId) {
+}
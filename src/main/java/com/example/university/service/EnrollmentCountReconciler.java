@@ -0,0 +1,39 @@
+package com.example.university.service;
+
+import com.example.university.entity.Course;
+import com.example.university.repository.CourseRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+@Component
+public class EnrollmentCountReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentCountReconciler.class);
+
+    private final CourseRepository courseRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public EnrollmentCountReconciler(CourseRepository courseRepository, EntityManagerFactory entityManagerFactory) {
+        this.courseRepository = courseRepository;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    // Repairs courses whose enrolled_student_count no longer matches student_courses.
+    @Scheduled(initialDelayString = "${university.enrollment.reconcile-initial-delay:PT1M}",
+            fixedDelayString = "${university.enrollment.reconcile-interval:PT1H}")
+    @Transactional
+    public int reconcile() {
+        int repaired = courseRepository.reconcileEnrolledStudentCounts();
+        if (repaired > 0) {
+            // Which courses were repaired is not known here; drop the cached courses, but not the
+            // departments or the cached course lists, which do not depend on the count
+            Caches.evictEntities(entityManagerFactory, Course.class);
+            logger.warn("Repaired enrolled student count on {} course(s)", repaired);
+        }
+        return repaired;
+    }
+}
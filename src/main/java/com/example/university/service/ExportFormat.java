@@ -0,0 +1,27 @@
+package com.example.university.service;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("text/csv"),
+    JSON("application/json");
+
+    private final String contentType;
+
+    ExportFormat(String contentType) {
+        this.contentType = contentType;
+    }
+
+    public String contentType() {
+        return contentType;
+    }
+
+    public String fileName(String baseName) {
+        return baseName + "." + name().toLowerCase(Locale.ROOT);
+    }
+
+    // Anything other than "json" falls back to CSV.
+    public static ExportFormat of(String format) {
+        return "json".equalsIgnoreCase(format) ? JSON : CSV;
+    }
+}
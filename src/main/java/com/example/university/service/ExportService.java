@@ -0,0 +1,121 @@
+package com.example.university.service;
+
+import com.example.university.dto.StudentExportRow;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.StreamWriteFeature;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+// Writes rosters straight from a database cursor to the caller's Writer, one row at a time, so heap
+// use does not grow with the number of students. The whole download is one transaction, so on
+// PostgreSQL it gets its own statement timeout instead of the production profile's 30 seconds.
+@Service
+public class ExportService {
+
+    private final StudentRepository studentRepository;
+    private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+    private final JsonMapper jsonMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final boolean postgres;
+    private final Duration statementTimeout;
+
+    public ExportService(StudentRepository studentRepository,
+                         CourseRepository courseRepository,
+                         DepartmentRepository departmentRepository,
+                         JsonMapper jsonMapper,
+                         JdbcTemplate jdbcTemplate,
+                         @Value("${spring.datasource.url:}") String url,
+                         @Value("${university.export.statement-timeout:PT10M}") Duration statementTimeout) {
+        this.studentRepository = studentRepository;
+        this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+        this.jsonMapper = jsonMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.postgres = DatabaseDriver.fromJdbcUrl(url) == DatabaseDriver.POSTGRESQL;
+        this.statementTimeout = statementTimeout;
+    }
+
+    // Let callers answer 404 before they commit the response to a download
+    public boolean courseExists(Long courseId) {
+        return courseRepository.existsById(courseId);
+    }
+
+    public boolean departmentExists(Long departmentId) {
+        return departmentRepository.existsById(departmentId);
+    }
+
+    @Transactional(readOnly = true)
+    public void exportStudents(ExportFormat format, Writer out) throws IOException {
+        extendStatementTimeout();
+        try (Stream<StudentExportRow> rows = studentRepository.streamRoster()) {
+            write(format, rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportCourseEnrollments(Long courseId, ExportFormat format, Writer out) throws IOException {
+        extendStatementTimeout();
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
+        try (Stream<StudentExportRow> rows = studentRepository.streamByCourse(courseId)) {
+            write(format, rows, out);
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public void exportDepartmentStudents(Long departmentId, ExportFormat format, Writer out) throws IOException {
+        extendStatementTimeout();
+        if (!departmentRepository.existsById(departmentId)) {
+            throw new RuntimeException("Department not found");
+        }
+        try (Stream<StudentExportRow> rows = studentRepository.streamByDepartment(departmentId)) {
+            write(format, rows, out);
+        }
+    }
+
+    // SET LOCAL ends with the transaction, so the pooled connection goes back with the default timeout
+    private void extendStatementTimeout() {
+        if (postgres) {
+            jdbcTemplate.execute("SET LOCAL statement_timeout = " + statementTimeout.toMillis());
+        }
+    }
+
+    private void write(ExportFormat format, Stream<StudentExportRow> rows, Writer out) throws IOException {
+        Iterator<StudentExportRow> iterator = rows.iterator();
+        if (format == ExportFormat.JSON) {
+            // The caller owns the Writer, so the generator must not close it
+            try (JsonGenerator generator = jsonMapper.writer()
+                    .without(StreamWriteFeature.AUTO_CLOSE_TARGET)
+                    .createGenerator(out)) {
+                generator.writeStartArray();
+                while (iterator.hasNext()) {
+                    generator.writePOJO(iterator.next());
+                }
+                generator.writeEndArray();
+            }
+        } else {
+            CsvWriter csv = new CsvWriter(out);
+            csv.writeRecord("studentId", "firstName", "lastName", "email", "username");
+            while (iterator.hasNext()) {
+                StudentExportRow row = iterator.next();
+                csv.writeRecord(row.studentId(), row.firstName(), row.lastName(), row.email(), row.username());
+            }
+        }
+        out.flush();
+    }
+}
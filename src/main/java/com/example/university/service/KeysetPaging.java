@@ -0,0 +1,41 @@
+package com.example.university.service;
+
+import org.springframework.beans.BeanWrapper;
+import org.springframework.beans.PropertyAccessorFactory;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+// Keyset (cursor) paging: a page is addressed by the id of the last row already shown.
+final class KeysetPaging {
+
+    static final String ID = "id";
+    static final int MAX_PAGE_SIZE = 100;
+
+    private KeysetPaging() {}
+
+    // Sort keys must be non-null; id is appended as tie-breaker so every keyset is unique.
+    static Sort sort(String property, Sort.Direction direction, Set<String> sortable) {
+        Sort.Direction dir = direction != null ? direction : Sort.Direction.ASC;
+        if (property == null || ID.equals(property) || !sortable.contains(property)) {
+            return Sort.by(dir, ID);
+        }
+        return Sort.by(dir, property, ID);
+    }
+
+    static Limit limit(int size) {
+        return Limit.of(Math.max(1, Math.min(size, MAX_PAGE_SIZE)));
+    }
+
+    static ScrollPosition after(Object anchor, Sort sort) {
+        BeanWrapper row = PropertyAccessorFactory.forBeanPropertyAccess(anchor);
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), row.getPropertyValue(order.getProperty()));
+        }
+        return ScrollPosition.forward(keys);
+    }
+}
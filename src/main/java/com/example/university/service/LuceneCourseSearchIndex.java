@@ -0,0 +1,260 @@
+package com.example.university.service;
+
+import com.example.university.dto.CourseSummary;
+import com.example.university.repository.CourseRepository;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.LowerCaseFilter;
+import org.apache.lucene.analysis.Tokenizer;
+import org.apache.lucene.analysis.util.CharTokenizer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.BoostQuery;
+import org.apache.lucene.search.DisjunctionMaxQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.PrefixQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopFieldCollectorManager;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.util.BytesRef;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.transaction.event.TransactionalEventListener;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Lucene index over the course catalog, held in memory, for databases without full-text search
+// (H2 in tests and local runs). Built from the database on first use, then updated per course
+// after each commit that changes a course or renames a department. Each query word must prefix a
+// word of the course; it scores by the best field it is found in, like the Postgres search_vector
+// weights: name or code 3, department name 2, description 1.
+public class LuceneCourseSearchIndex implements CourseSearchIndex, AutoCloseable {
+
+    // Same words as SearchTerms: lowercased runs of letters and digits
+    static final Analyzer ANALYZER = new Analyzer() {
+        @Override
+        protected TokenStreamComponents createComponents(String fieldName) {
+            Tokenizer tokenizer = CharTokenizer.fromTokenCharPredicate(Character::isLetterOrDigit);
+            return new TokenStreamComponents(tokenizer, new LowerCaseFilter(tokenizer));
+        }
+    };
+
+    private static final String ID = "id";
+    private static final String DEPARTMENT_ID = "departmentId";
+    private static final String CREDITS = "credits";
+    private static final String SORT_NAME = "sortName";
+    private static final String NAME = "name";
+    private static final String DEPARTMENT = "department";
+    private static final String DESCRIPTION = "description";
+
+    private static final float NAME_WEIGHT = 3;
+    private static final float DEPARTMENT_WEIGHT = 2;
+    private static final float DESCRIPTION_WEIGHT = 1;
+
+    private static final Sort RANKING = new Sort(SortField.FIELD_SCORE,
+            new SortField(SORT_NAME, SortField.Type.STRING), new SortField(ID, SortField.Type.LONG));
+
+    private final CourseRepository courseRepository;
+    private final IndexWriter writer;
+    private final SearcherManager searchers;
+    // Serialises the first build and later updates, so an update cannot slip in before the build
+    private final Lock lock = new ReentrantLock();
+    private volatile boolean built;
+
+    public LuceneCourseSearchIndex(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+        try {
+            writer = new IndexWriter(new ByteBuffersDirectory(), new IndexWriterConfig(ANALYZER));
+            searchers = new SearcherManager(writer, null);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public List<Long> search(List<String> terms, int limit) {
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        ensureBuilt();
+        return find(matching(terms), limit, RANKING);
+    }
+
+    // The filters are non-scoring clauses of the same query, so they apply before the top hits are taken
+    @Override
+    public Page<Long> searchNotEnrolledByStudent(List<String> terms, Long studentId, Long departmentId,
+                                                 Integer minCredits, Integer maxCredits, Pageable pageable) {
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        ensureBuilt();
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(matching(terms), BooleanClause.Occur.MUST);
+        List<Long> enrolled = courseRepository.findIdsEnrolledByStudent(studentId);
+        if (!enrolled.isEmpty()) {
+            query.add(LongPoint.newSetQuery(ID, enrolled), BooleanClause.Occur.MUST_NOT);
+        }
+        if (departmentId != null) {
+            query.add(LongPoint.newExactQuery(DEPARTMENT_ID, departmentId), BooleanClause.Occur.FILTER);
+        }
+        if (minCredits != null || maxCredits != null) {
+            query.add(IntPoint.newRangeQuery(CREDITS,
+                    minCredits == null ? Integer.MIN_VALUE : minCredits,
+                    maxCredits == null ? Integer.MAX_VALUE : maxCredits), BooleanClause.Occur.FILTER);
+        }
+        return find(query.build(), pageable, RANKING, true);
+    }
+
+    // Runs after commit, so the reload sees the change
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCourseChanged(CourseChangedEvent event) {
+        reindex(List.of(event.courseId()));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onDepartmentsChanged(DepartmentsChangedEvent event) {
+        if (!built || event.departmentId() == null) {
+            return;
+        }
+        List<Long> affected = find(LongPoint.newExactQuery(DEPARTMENT_ID, event.departmentId()),
+                Integer.MAX_VALUE, Sort.INDEXORDER);
+        if (!affected.isEmpty()) {
+            reindex(affected);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        searchers.close();
+        writer.close();
+        writer.getDirectory().close();
+    }
+
+    private void reindex(Collection<Long> courseIds) {
+        lock.lock();
+        try {
+            if (!built) {
+                return;
+            }
+            for (Long courseId : courseIds) {
+                writer.deleteDocuments(LongPoint.newExactQuery(ID, courseId));
+            }
+            for (CourseSummary course : courseRepository.findSummariesByIdIn(courseIds)) {
+                writer.addDocument(document(course));
+            }
+            searchers.maybeRefreshBlocking();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void ensureBuilt() {
+        if (built) {
+            return;
+        }
+        lock.lock();
+        try {
+            if (!built) {
+                for (CourseSummary course : courseRepository.findAllSummaries()) {
+                    writer.addDocument(document(course));
+                }
+                searchers.maybeRefreshBlocking();
+                built = true;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private List<Long> find(Query query, int limit, Sort sort) {
+        return find(query, PageRequest.ofSize(limit), sort, false).getContent();
+    }
+
+    // Without countAll the total is only a lower bound, which saves visiting every match
+    private Page<Long> find(Query query, Pageable pageable, Sort sort, boolean countAll) {
+        try {
+            IndexSearcher searcher = searchers.acquire();
+            try {
+                // Lucene sizes its result queue by n, so never ask for more than there are documents
+                int n = (int) Math.max(1, Math.min(pageable.getOffset() + pageable.getPageSize(),
+                        searcher.getIndexReader().maxDoc()));
+                TopFieldDocs top = searcher.search(query,
+                        new TopFieldCollectorManager(sort, n, countAll ? Integer.MAX_VALUE : 0));
+                ScoreDoc[] hits = top.scoreDocs;
+                StoredFields storedFields = searcher.storedFields();
+                List<Long> ids = new ArrayList<>();
+                for (int i = (int) Math.min(pageable.getOffset(), hits.length); i < hits.length; i++) {
+                    ids.add(storedFields.document(hits[i].doc).getField(ID).numericValue().longValue());
+                }
+                return new PageImpl<>(ids, pageable, top.totalHits.value);
+            } finally {
+                searchers.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Query matching(List<String> terms) {
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new DisjunctionMaxQuery(List.of(
+                    prefix(NAME, term, NAME_WEIGHT),
+                    prefix(DEPARTMENT, term, DEPARTMENT_WEIGHT),
+                    prefix(DESCRIPTION, term, DESCRIPTION_WEIGHT)), 0), BooleanClause.Occur.MUST);
+        }
+        return query.build();
+    }
+
+    private static Query prefix(String field, String term, float weight) {
+        return new BoostQuery(new PrefixQuery(new Term(field, term)), weight);
+    }
+
+    private static Document document(CourseSummary course) {
+        Document document = new Document();
+        document.add(new LongPoint(ID, course.id()));
+        document.add(new NumericDocValuesField(ID, course.id()));
+        document.add(new StoredField(ID, course.id()));
+        if (course.departmentId() != null) {
+            document.add(new LongPoint(DEPARTMENT_ID, course.departmentId()));
+        }
+        if (course.credits() != null) {
+            document.add(new IntPoint(CREDITS, course.credits()));
+        }
+        document.add(new SortedDocValuesField(SORT_NAME, new BytesRef(course.name())));
+        document.add(new TextField(NAME, course.name() + " " + course.code(), Field.Store.NO));
+        if (course.departmentName() != null) {
+            document.add(new TextField(DEPARTMENT, course.departmentName(), Field.Store.NO));
+        }
+        if (course.description() != null) {
+            document.add(new TextField(DESCRIPTION, course.description(), Field.Store.NO));
+        }
+        return document;
+    }
+}
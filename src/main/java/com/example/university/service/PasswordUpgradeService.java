@@ -0,0 +1,58 @@
+package com.example.university.service;
+
+import com.example.university.config.BoundedPasswordEncoder;
+import com.example.university.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+// Replaces legacy or under-strength hashes after a successful login, off the request thread.
+@Service
+public class PasswordUpgradeService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PasswordUpgradeService.class);
+
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final TransactionTemplate transactionTemplate;
+
+    public PasswordUpgradeService(BoundedPasswordEncoder passwordEncoder,
+                                  UserRepository userRepository,
+                                  CustomUserDetailsService userDetailsService,
+                                  TransactionTemplate transactionTemplate) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+        this.userDetailsService = userDetailsService;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    // Never fails the login it follows: the old hash still works and the next login tries again
+    public void upgradeInBackground(String username, String rawPassword, String currentHash) {
+        CompletableFuture<String> newHash;
+        try {
+            newHash = passwordEncoder.encodeAsync(rawPassword);
+        } catch (RejectedExecutionException e) {
+            // Thrown by the submit itself when the hashing queue is full, so exceptionally never sees it
+            logger.warn("Skipped password hash upgrade for {}: hashing queue is full", username);
+            return;
+        }
+        newHash.thenAccept(hash -> storeUpgradedHash(username, currentHash, hash))
+                .exceptionally(e -> {
+                    logger.warn("Could not upgrade password hash for {}", username, e);
+                    return null;
+                });
+    }
+
+    // Compare-and-set on the old hash, so a password changed in the meantime is never overwritten.
+    void storeUpgradedHash(String username, String currentHash, String newHash) {
+        Integer updated = transactionTemplate.execute(status ->
+                userRepository.updatePasswordIfUnchanged(username, currentHash, newHash));
+        if (updated != null && updated > 0) {
+            userDetailsService.evictUser(username);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.university.service;
+
+import com.example.university.repository.CourseRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Queries the courses.search_vector column (GIN-indexed), which triggers from
+// db/vendor/postgresql/V4 keep current, so there is nothing to maintain here.
+public class PostgresCourseSearchIndex implements CourseSearchIndex {
+
+    private final CourseRepository courseRepository;
+
+    public PostgresCourseSearchIndex(CourseRepository courseRepository) {
+        this.courseRepository = courseRepository;
+    }
+
+    @Override
+    public List<Long> search(List<String> terms, int limit) {
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return courseRepository.searchIds(tsQuery(terms), limit);
+    }
+
+    @Override
+    public Page<Long> searchNotEnrolledByStudent(List<String> terms, Long studentId, Long departmentId,
+                                                 Integer minCredits, Integer maxCredits, Pageable pageable) {
+        if (terms.isEmpty()) {
+            return Page.empty(pageable);
+        }
+        return courseRepository.searchIdsNotEnrolledByStudent(tsQuery(terms), studentId, departmentId,
+                minCredits, maxCredits, pageable);
+    }
+
+    // Terms are letters and digits only, so they are safe to splice into tsquery syntax
+    private static String tsQuery(List<String> terms) {
+        return terms.stream().map(term -> term + ":*").collect(Collectors.joining(" & "));
+    }
+}
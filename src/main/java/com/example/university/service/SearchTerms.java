@@ -0,0 +1,30 @@
+package com.example.university.service;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+// Lowercased runs of letters and digits: "CS-101 Intro" -> [cs, 101, intro]. The query words for
+// both backends; LuceneCourseSearchIndex.ANALYZER and course_search_words in db/vendor/postgresql/V5
+// split the indexed text the same way.
+final class SearchTerms {
+
+    static final int MAX_QUERY_TERMS = 10;
+
+    private SearchTerms() {}
+
+    static List<String> of(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        return Arrays.stream(text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{Nd}]+"))
+                .filter(term -> !term.isEmpty())
+                .distinct()
+                .toList();
+    }
+
+    static List<String> query(String text) {
+        List<String> terms = of(text);
+        return terms.size() > MAX_QUERY_TERMS ? terms.subList(0, MAX_QUERY_TERMS) : terms;
+    }
+}
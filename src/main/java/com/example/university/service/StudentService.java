@@ -1,33 +1,122 @@
 package com.example.university.service;
 
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.CreditSummary;
+import com.example.university.dto.DepartmentCredits;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.EnrollmentCount;
+import com.example.university.dto.StudentDepartment;
+import com.example.university.dto.StudentView;
 import com.example.university.entity.Course;
+import com.example.university.entity.Department;
 import com.example.university.entity.Student;
 import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
 import com.example.university.repository.StudentRepository;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManagerFactory;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
+@Timed("university.service")
 public class StudentService {
 
+    private static final Set<String> SORTABLE = Set.of("studentId", "firstName", "lastName", "email");
+
     private final StudentRepository studentRepository;
     private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final CourseService courseService;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManagerFactory entityManagerFactory;
 
-    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository) {
+    public StudentService(StudentRepository studentRepository, CourseRepository courseRepository,
+                          DepartmentRepository departmentRepository, CustomUserDetailsService userDetailsService,
+                          CourseService courseService, PasswordEncoder passwordEncoder, TransactionTemplate transactionTemplate,
+                          EntityManagerFactory entityManagerFactory) {
         this.studentRepository = studentRepository;
         this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+        this.userDetailsService = userDetailsService;
+        this.courseService = courseService;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
+        this.entityManagerFactory = entityManagerFactory;
     }
 
+    @Transactional(readOnly = true)
     public List<Student> getAllStudents() {
         return studentRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Window<Student> getStudentPage(Long afterId, String sortBy, Sort.Direction direction, int size) {
+        Sort sort = KeysetPaging.sort(sortBy, direction, SORTABLE);
+        ScrollPosition position = afterId == null ? ScrollPosition.keyset()
+                : studentRepository.findById(afterId)
+                        .map(anchor -> KeysetPaging.after(anchor, sort))
+                        .orElseThrow(() -> new CursorNotFoundException(afterId));
+        return studentRepository.findAllBy(position, sort, KeysetPaging.limit(size));
+    }
+
+    @Transactional(readOnly = true)
+    public Window<StudentView> getStudentViewPage(Long afterId, String sortBy, Sort.Direction direction, int size) {
+        Window<Student> students = getStudentPage(afterId, sortBy, direction, size);
+        return students.map(toView(students.getContent()));
+    }
+
+    @Transactional(readOnly = true)
+    public StudentView getStudentView(Long id) {
+        Student student = getStudentById(id);
+        return toView(List.of(student)).apply(student);
+    }
+
+    @Transactional(readOnly = true)
+    public List<StudentView> getStudentViewsInCourse(Long courseId) {
+        List<Student> students = studentRepository.findByEnrolledCourseId(courseId);
+        return students.stream().map(toView(students)).toList();
+    }
+
+    // Departments and enrollment counts for all of the given students in two queries.
+    private Function<Student, StudentView> toView(List<Student> students) {
+        if (students.isEmpty()) {
+            return student -> Views.student(student, List.of(), 0);
+        }
+        List<Long> ids = students.stream().map(Student::getId).toList();
+        Map<Long, List<DepartmentOption>> departments = studentRepository.findDepartmentsOfStudents(ids).stream()
+                .collect(Collectors.groupingBy(StudentDepartment::studentId,
+                        Collectors.mapping(StudentDepartment::department, Collectors.toList())));
+        Map<Long, Long> enrolled = studentRepository.countEnrollments(ids).stream()
+                .collect(Collectors.toMap(EnrollmentCount::studentId, EnrollmentCount::courses));
+        return student -> Views.student(student,
+                departments.getOrDefault(student.getId(), List.of()),
+                enrolled.getOrDefault(student.getId(), 0L).intValue());
+    }
+
+    @Transactional(readOnly = true)
     public Student getStudentById(Long id) {
         return studentRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
     }
 
+    @Transactional(readOnly = true)
     public Student getStudentByUsername(String username) {
         return studentRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Student not found"));
@@ -35,46 +124,149 @@ public class StudentService {
 
     @Transactional
     public Student updateStudent(Student student) {
+        userDetailsService.evictUser(student.getUsername());
         return studentRepository.save(student);
     }
 
+    // Admin edit: details, an optional new password hash and the complete department set, applied
+    // to the managed entity so the department collection is loaded and replaced in one transaction.
+    @Transactional
+    public Student updateStudentDetails(Long id, Student details, String encodedPassword, List<Long> departmentIds) {
+        Student student = getStudentById(id);
+        student.setFirstName(details.getFirstName());
+        student.setLastName(details.getLastName());
+        student.setEmail(details.getEmail());
+        student.setStudentId(details.getStudentId());
+        if (encodedPassword != null) {
+            student.setPassword(encodedPassword);
+        }
+
+        student.getDepartments().clear();
+        if (departmentIds != null && !departmentIds.isEmpty()) {
+            List<Department> departments = departmentRepository.findAllById(departmentIds);
+            if (departments.size() != new HashSet<>(departmentIds).size()) {
+                throw new RuntimeException("Department not found");
+            }
+            student.getDepartments().addAll(departments);
+        }
+
+        userDetailsService.evictUser(student.getUsername());
+        return student;
+    }
+
+    // Self-service edit. The current password is checked against the primary's hash (the @CurrentUser
+    // entity may come from a lagging replica) with no transaction open, so bcrypt never holds a pooled
+    // connection, and a new password is only hashed once that check has passed. The write re-reads the
+    // row and applies only while the hash is still the one checked. Returns false, changing nothing,
+    // when currentPassword does not match.
+    public boolean updateProfile(Long id, Student details, String currentPassword, String newPassword) {
+        String checkedHash = transactionTemplate.execute(status -> getStudentById(id).getPassword());
+        if (!passwordEncoder.matches(currentPassword, checkedHash)) {
+            return false;
+        }
+        String encodedPassword = newPassword != null && !newPassword.isBlank() ? passwordEncoder.encode(newPassword) : null;
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Student student = getStudentById(id);
+            if (!student.getPassword().equals(checkedHash)) {
+                // Changed since the check, e.g. reset by an admin: the password given is no longer current
+                return false;
+            }
+            student.setFirstName(details.getFirstName());
+            student.setLastName(details.getLastName());
+            student.setEmail(details.getEmail());
+            if (encodedPassword != null) {
+                student.setPassword(encodedPassword);
+            }
+
+            userDetailsService.evictUser(student.getUsername());
+            return true;
+        }));
+    }
+
     @Transactional
     public void deleteStudent(Long id) {
+        studentRepository.findById(id).ifPresent(existing -> userDetailsService.evictUser(existing.getUsername()));
         studentRepository.deleteById(id);
     }
 
+    // Returns false when the course has no free seat. An existing enrollment is reported as success
+    // before any seat is reserved, so re-enrolling in a course that has since filled up is not refused.
+    // Otherwise the seat is reserved first so the course row lock orders concurrent enrollments; a
+    // duplicate that races past the check hands its seat straight back.
     @Transactional
-    public void enrollInCourse(Long studentId, Long courseId) {
-        Student student = getStudentById(studentId);
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+    public boolean enrollInCourse(Long studentId, Long courseId) {
+        requireEnrollmentParties(studentId, courseId);
 
-        student.enrollInCourse(course);
-        studentRepository.save(student);
+        if (studentRepository.existsEnrollment(studentId, courseId)) {
+            return true;
+        }
+        if (courseRepository.reserveSeat(courseId) == 0) {
+            return false;
+        }
+        if (studentRepository.insertEnrollment(studentId, courseId) == 0) {
+            courseRepository.releaseSeat(courseId);
+        }
+        Caches.evictEntity(entityManagerFactory, Course.class, courseId);
+        return true;
     }
 
     @Transactional
     public void unenrollFromCourse(Long studentId, Long courseId) {
-        Student student = getStudentById(studentId);
-        Course course = courseRepository.findById(courseId)
-                .orElseThrow(() -> new RuntimeException("Course not found"));
+        requireEnrollmentParties(studentId, courseId);
+
+        if (studentRepository.deleteEnrollment(studentId, courseId) > 0) {
+            courseRepository.releaseSeat(courseId);
+            Caches.evictEntity(entityManagerFactory, Course.class, courseId);
+        }
+    }
 
-        student.unenrollFromCourse(course);
-        studentRepository.save(student);
+    private void requireEnrollmentParties(Long studentId, Long courseId) {
+        if (!studentRepository.existsById(studentId)) {
+            throw new RuntimeException("Student not found");
+        }
+        if (!courseRepository.existsById(courseId)) {
+            throw new RuntimeException("Course not found");
+        }
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getEnrolledCourses(Long studentId) {
         Student student = getStudentById(studentId);
         return student.getEnrolledCourses().stream().toList();
     }
 
-    public List<Course> getAvailableCourses(Long studentId) {
-        Student student = getStudentById(studentId);
-        List<Course> allCourses = courseRepository.findAll();
-        List<Course> enrolledCourses = getEnrolledCourses(studentId);
+    @Transactional(readOnly = true)
+    public Page<CourseSummary> getAvailableCourses(Long studentId, Long departmentId,
+                                                   Integer minCredits, Integer maxCredits, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), KeysetPaging.limit(size).max(), Sort.by("name", "id"));
+        return courseRepository.findSummariesNotEnrolledByStudent(studentId, departmentId, minCredits, maxCredits, pageable);
+    }
+
+    // Same filters as getAvailableCourses, in match order
+    @Transactional(readOnly = true)
+    public Page<CourseSummary> searchAvailableCourses(Long studentId, String query, Long departmentId,
+                                                      Integer minCredits, Integer maxCredits, int page, int size) {
+        Pageable pageable = PageRequest.of(Math.max(page, 0), KeysetPaging.limit(size).max());
+        return courseService.searchCoursesNotEnrolledByStudent(studentId, query, departmentId, minCredits, maxCredits,
+                pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CourseSummary> getEnrolledCourseSummaries(Long studentId) {
+        return courseRepository.findSummariesEnrolledByStudent(studentId);
+    }
 
-        return allCourses.stream()
-                .filter(course -> !enrolledCourses.contains(course))
-                .toList();
+    // Totals are added up from the per-department rows, so the whole summary is one grouped query
+    @Transactional(readOnly = true)
+    public CreditSummary getCreditSummary(Long studentId) {
+        List<DepartmentCredits> departments = studentRepository.sumCreditsByDepartment(studentId);
+        long courses = 0;
+        long credits = 0;
+        for (DepartmentCredits department : departments) {
+            courses += department.courseCount();
+            credits += department.totalCredits();
+        }
+        double average = courses == 0 ? 0 : (double) credits / courses;
+        return new CreditSummary(courses, credits, average, departments);
     }
-}
\ No newline at end of file
+}
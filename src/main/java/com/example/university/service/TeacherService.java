@@ -1,33 +1,86 @@
 package com.example.university.service;
 
+import com.example.university.dto.TeacherOption;
+import com.example.university.dto.TeacherView;
 import com.example.university.entity.Course;
+import com.example.university.entity.Department;
 import com.example.university.entity.Teacher;
 import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
 import com.example.university.repository.TeacherRepository;
+import io.micrometer.core.annotation.Timed;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import java.util.List;
+import java.util.Set;
 
 @Service
+@Timed("university.service")
 public class TeacherService {
 
+    private static final Set<String> SORTABLE = Set.of("teacherId", "firstName", "lastName", "email");
+
     private final TeacherRepository teacherRepository;
     private final CourseRepository courseRepository;
+    private final DepartmentRepository departmentRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final PasswordEncoder passwordEncoder;
+    private final TransactionTemplate transactionTemplate;
 
-    public TeacherService(TeacherRepository teacherRepository, CourseRepository courseRepository) {
+    public TeacherService(TeacherRepository teacherRepository, CourseRepository courseRepository,
+                          DepartmentRepository departmentRepository, CustomUserDetailsService userDetailsService,
+                          PasswordEncoder passwordEncoder, TransactionTemplate transactionTemplate) {
         this.teacherRepository = teacherRepository;
         this.courseRepository = courseRepository;
+        this.departmentRepository = departmentRepository;
+        this.userDetailsService = userDetailsService;
+        this.passwordEncoder = passwordEncoder;
+        this.transactionTemplate = transactionTemplate;
     }
 
+    @Transactional(readOnly = true)
     public List<Teacher> getAllTeachers() {
         return teacherRepository.findAll();
     }
 
+    @Transactional(readOnly = true)
+    public Window<Teacher> getTeacherPage(Long afterId, String sortBy, Sort.Direction direction, int size) {
+        Sort sort = KeysetPaging.sort(sortBy, direction, SORTABLE);
+        ScrollPosition position = afterId == null ? ScrollPosition.keyset()
+                : teacherRepository.findById(afterId)
+                        .map(anchor -> KeysetPaging.after(anchor, sort))
+                        .orElseThrow(() -> new CursorNotFoundException(afterId));
+        return teacherRepository.findAllBy(position, sort, KeysetPaging.limit(size));
+    }
+
+    @Transactional(readOnly = true)
+    public Window<TeacherView> getTeacherViewPage(Long afterId, String sortBy, Sort.Direction direction, int size) {
+        return getTeacherPage(afterId, sortBy, direction, size).map(Views::teacher);
+    }
+
+    @Transactional(readOnly = true)
+    public TeacherView getTeacherView(Long id) {
+        return teacherRepository.findWithDepartmentById(id)
+                .map(Views::teacher)
+                .orElseThrow(() -> new RuntimeException("Teacher not found"));
+    }
+
+    public List<TeacherOption> getTeacherOptions() {
+        return teacherRepository.findAllOptions();
+    }
+
+    @Transactional(readOnly = true)
     public Teacher getTeacherById(Long id) {
         return teacherRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Teacher not found"));
     }
 
+    @Transactional(readOnly = true)
     public Teacher getTeacherByUsername(String username) {
         return teacherRepository.findByUsername(username)
                 .orElseThrow(() -> new RuntimeException("Teacher not found"));
@@ -35,14 +88,69 @@ public class TeacherService {
 
     @Transactional
     public Teacher updateTeacher(Teacher teacher) {
+        userDetailsService.evictUser(teacher.getUsername());
         return teacherRepository.save(teacher);
     }
 
+    // Admin edit: details, an optional new password hash and the department (null clears it),
+    // applied to the entity as this read-write transaction loads it from the primary.
+    @Transactional
+    public Teacher updateTeacherDetails(Long id, Teacher details, String encodedPassword, Long departmentId) {
+        Teacher teacher = getTeacherById(id);
+        teacher.setFirstName(details.getFirstName());
+        teacher.setLastName(details.getLastName());
+        teacher.setEmail(details.getEmail());
+        teacher.setTeacherId(details.getTeacherId());
+        teacher.setQualification(details.getQualification());
+        if (encodedPassword != null) {
+            teacher.setPassword(encodedPassword);
+        }
+
+        Department department = departmentId == null ? null : departmentRepository.findById(departmentId)
+                .orElseThrow(() -> new RuntimeException("Department not found"));
+        teacher.setDepartment(department);
+
+        userDetailsService.evictUser(teacher.getUsername());
+        return teacher;
+    }
+
+    // Self-service edit. The current password is checked against the primary's hash (the @CurrentUser
+    // entity may come from a lagging replica) with no transaction open, so bcrypt never holds a pooled
+    // connection, and a new password is only hashed once that check has passed. The write re-reads the
+    // row and applies only while the hash is still the one checked. Returns false, changing nothing,
+    // when currentPassword does not match.
+    public boolean updateProfile(Long id, Teacher details, String currentPassword, String newPassword) {
+        String checkedHash = transactionTemplate.execute(status -> getTeacherById(id).getPassword());
+        if (!passwordEncoder.matches(currentPassword, checkedHash)) {
+            return false;
+        }
+        String encodedPassword = newPassword != null && !newPassword.isBlank() ? passwordEncoder.encode(newPassword) : null;
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> {
+            Teacher teacher = getTeacherById(id);
+            if (!teacher.getPassword().equals(checkedHash)) {
+                // Changed since the check, e.g. reset by an admin: the password given is no longer current
+                return false;
+            }
+            teacher.setFirstName(details.getFirstName());
+            teacher.setLastName(details.getLastName());
+            teacher.setEmail(details.getEmail());
+            teacher.setQualification(details.getQualification());
+            if (encodedPassword != null) {
+                teacher.setPassword(encodedPassword);
+            }
+
+            userDetailsService.evictUser(teacher.getUsername());
+            return true;
+        }));
+    }
+
     @Transactional
     public void deleteTeacher(Long id) {
+        teacherRepository.findById(id).ifPresent(existing -> userDetailsService.evictUser(existing.getUsername()));
         teacherRepository.deleteById(id);
     }
 
+    @Transactional(readOnly = true)
     public List<Course> getCoursesByTeacher(Long teacherId) {
         Teacher teacher = getTeacherById(teacherId);
         return teacher.getCourses().stream().toList();
@@ -0,0 +1,47 @@
+package com.example.university.service;
+
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.StudentView;
+import com.example.university.dto.TeacherView;
+import com.example.university.entity.Course;
+import com.example.university.entity.Department;
+import com.example.university.entity.Student;
+import com.example.university.entity.Teacher;
+import java.util.List;
+
+// Entity -> view record mapping. Called inside the service transaction, where lazy associations
+// can still load; templates only ever see the records.
+final class Views {
+
+    private Views() {}
+
+    static DepartmentOption department(Department department) {
+        return department == null ? null
+                : new DepartmentOption(department.getId(), department.getName(), department.getCode(),
+                        department.getDescription());
+    }
+
+    static CourseSummary course(Course course) {
+        Department department = course.getDepartment();
+        Teacher teacher = course.getTeacher();
+        return new CourseSummary(course.getId(), course.getName(), course.getCode(), course.getDescription(),
+                course.getCredits(),
+                department == null ? null : department.getId(), department == null ? null : department.getName(),
+                teacher == null ? null : teacher.getId(),
+                teacher == null ? null : teacher.getFirstName(), teacher == null ? null : teacher.getLastName(),
+                course.getEnrolledStudentCount(), course.getCapacity());
+    }
+
+    static TeacherView teacher(Teacher teacher) {
+        return new TeacherView(teacher.getId(), teacher.getTeacherId(), teacher.getUsername(),
+                teacher.getFirstName(), teacher.getLastName(), teacher.getEmail(), teacher.getQualification(),
+                department(teacher.getDepartment()));
+    }
+
+    static StudentView student(Student student, List<DepartmentOption> departments, int enrolledCourseCount) {
+        return new StudentView(student.getId(), student.getStudentId(), student.getUsername(),
+                student.getFirstName(), student.getLastName(), student.getEmail(),
+                departments, enrolledCourseCount);
+    }
+}
@@ -0,0 +1,80 @@
+-- Schema as Hibernate generated it with ddl-auto=update before Flyway, IDENTITY ids included.
+-- Databases that already have these tables are baselined at version 1 and skip this script, so
+-- it must stay exactly that schema: every later change goes in a new version.
+
+CREATE TABLE users (
+    id       BIGINT       GENERATED BY DEFAULT AS IDENTITY,
+    username VARCHAR(50)  NOT NULL,
+    email    VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    role     VARCHAR(255) NOT NULL,
+    enabled  BOOLEAN      NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email),
+    CONSTRAINT ck_users_role CHECK (role IN ('ROLE_ADMIN', 'ROLE_TEACHER', 'ROLE_STUDENT'))
+);
+
+CREATE TABLE departments (
+    id          BIGINT       GENERATED BY DEFAULT AS IDENTITY,
+    name        VARCHAR(255) NOT NULL,
+    code        VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    CONSTRAINT pk_departments PRIMARY KEY (id),
+    CONSTRAINT uk_departments_name UNIQUE (name),
+    CONSTRAINT uk_departments_code UNIQUE (code)
+);
+
+CREATE TABLE students (
+    user_id    BIGINT       NOT NULL,
+    student_id VARCHAR(255) NOT NULL,
+    first_name VARCHAR(255) NOT NULL,
+    last_name  VARCHAR(255) NOT NULL,
+    CONSTRAINT pk_students PRIMARY KEY (user_id),
+    CONSTRAINT uk_students_student_id UNIQUE (student_id),
+    CONSTRAINT fk_students_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE TABLE teachers (
+    user_id       BIGINT       NOT NULL,
+    teacher_id    VARCHAR(255) NOT NULL,
+    first_name    VARCHAR(255) NOT NULL,
+    last_name     VARCHAR(255) NOT NULL,
+    qualification VARCHAR(255),
+    department_id BIGINT,
+    CONSTRAINT pk_teachers PRIMARY KEY (user_id),
+    CONSTRAINT uk_teachers_teacher_id UNIQUE (teacher_id),
+    CONSTRAINT fk_teachers_user FOREIGN KEY (user_id) REFERENCES users (id),
+    CONSTRAINT fk_teachers_department FOREIGN KEY (department_id) REFERENCES departments (id)
+);
+
+CREATE TABLE courses (
+    id            BIGINT       GENERATED BY DEFAULT AS IDENTITY,
+    name          VARCHAR(255) NOT NULL,
+    code          VARCHAR(255) NOT NULL,
+    description   VARCHAR(255),
+    credits       INTEGER      NOT NULL,
+    department_id BIGINT,
+    teacher_id    BIGINT,
+    CONSTRAINT pk_courses PRIMARY KEY (id),
+    CONSTRAINT uk_courses_name UNIQUE (name),
+    CONSTRAINT uk_courses_code UNIQUE (code),
+    CONSTRAINT fk_courses_department FOREIGN KEY (department_id) REFERENCES departments (id),
+    CONSTRAINT fk_courses_teacher FOREIGN KEY (teacher_id) REFERENCES teachers (user_id)
+);
+
+CREATE TABLE student_courses (
+    course_id  BIGINT NOT NULL,
+    student_id BIGINT NOT NULL,
+    CONSTRAINT pk_student_courses PRIMARY KEY (course_id, student_id),
+    CONSTRAINT fk_student_courses_course FOREIGN KEY (course_id) REFERENCES courses (id),
+    CONSTRAINT fk_student_courses_student FOREIGN KEY (student_id) REFERENCES students (user_id)
+);
+
+CREATE TABLE student_departments (
+    department_id BIGINT NOT NULL,
+    student_id    BIGINT NOT NULL,
+    CONSTRAINT pk_student_departments PRIMARY KEY (department_id, student_id),
+    CONSTRAINT fk_student_departments_department FOREIGN KEY (department_id) REFERENCES departments (id),
+    CONSTRAINT fk_student_departments_student FOREIGN KEY (student_id) REFERENCES students (user_id)
+);
@@ -0,0 +1,11 @@
+-- Postgres does not index foreign key columns on its own. These cover the joins and filters
+-- behind course listings, teacher pages, department rosters and enrollment lookups.
+
+CREATE INDEX IF NOT EXISTS idx_courses_department_id ON courses (department_id);
+CREATE INDEX IF NOT EXISTS idx_courses_teacher_id ON courses (teacher_id);
+CREATE INDEX IF NOT EXISTS idx_teachers_department_id ON teachers (department_id);
+
+-- The primary keys lead with course_id / department_id; these serve the student-side lookups
+-- ("my courses", "my departments") and the ON DELETE checks from students.
+CREATE INDEX IF NOT EXISTS idx_student_courses_student_course ON student_courses (student_id, course_id);
+CREATE INDEX IF NOT EXISTS idx_student_departments_student_department ON student_departments (student_id, department_id);
@@ -0,0 +1,11 @@
+-- Per-course seat capacity (null = unlimited) and the denormalized enrollment count that the seat
+-- reservation updates in place. Existing enrollments are counted once here; from then on
+-- StudentService and EnrollmentCountReconciler keep the count current.
+
+ALTER TABLE courses ADD COLUMN capacity INTEGER;
+ALTER TABLE courses ADD COLUMN enrolled_student_count INTEGER DEFAULT 0 NOT NULL;
+ALTER TABLE courses ADD CONSTRAINT ck_courses_capacity CHECK (capacity >= 1);
+
+UPDATE courses c
+SET enrolled_student_count = (SELECT COUNT(*) FROM student_courses sc WHERE sc.course_id = c.id)
+WHERE c.id IN (SELECT course_id FROM student_courses);
@@ -0,0 +1,69 @@
+package com.example.university;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Boots with ddl-auto=validate, so the context fails to load if an entity drifts from the migrations.
+@SpringBootTest(properties = "spring.jpa.hibernate.ddl-auto=validate")
+@ActiveProfiles("test")
+class SchemaMigrationTest {
+
+    @Autowired
+    private Flyway flyway;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void testMigrationsAreAppliedAndNonePending() {
+        // Then
+        assertNotNull(flyway.info().current());
+        assertEquals(0, flyway.info().pending().length);
+    }
+
+    @Test
+    void testForeignKeyColumnsAreIndexed() throws Exception {
+        // When
+        Set<String> courseIndexes = indexNames("courses");
+        Set<String> teacherIndexes = indexNames("teachers");
+        Set<String> studentCourseIndexes = indexNames("student_courses");
+        Set<String> studentDepartmentIndexes = indexNames("student_departments");
+
+        // Then
+        assertTrue(courseIndexes.contains("idx_courses_department_id"));
+        assertTrue(courseIndexes.contains("idx_courses_teacher_id"));
+        assertTrue(teacherIndexes.contains("idx_teachers_department_id"));
+        assertTrue(studentCourseIndexes.contains("idx_student_courses_student_course"));
+        assertTrue(studentDepartmentIndexes.contains("idx_student_departments_student_department"));
+    }
+
+    private Set<String> indexNames(String table) throws Exception {
+        Set<String> names = new HashSet<>();
+        try (Connection connection = dataSource.getConnection()) {
+            DatabaseMetaData metaData = connection.getMetaData();
+            String tableName = metaData.storesUpperCaseIdentifiers() ? table.toUpperCase(Locale.ROOT) : table;
+            try (ResultSet indexes = metaData.getIndexInfo(null, null, tableName, false, false)) {
+                while (indexes.next()) {
+                    String name = indexes.getString("INDEX_NAME");
+                    if (name != null) {
+                        names.add(name.toLowerCase(Locale.ROOT));
+                    }
+                }
+            }
+        }
+        return names;
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.university;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// A database Hibernate created before Flyway (V1 is exactly that schema) holding data and no
+// migration history: it is baselined at V1 as application.yaml configures, then migrated.
+class SchemaUpgradeTest {
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // One connection kept open: H2 check constraints stop evaluating once the session that created them is closed
+        dataSource = new SingleConnectionDataSource("jdbc:h2:mem:pre-flyway;DB_CLOSE_DELAY=-1;MODE=PostgreSQL", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V1__baseline_schema.sql")).execute(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.execute("DROP ALL OBJECTS");
+        dataSource.destroy();
+    }
+
+    @Test
+    void migrate_FromPreFlywaySchema_ShouldAddSeatColumnsAndCountExistingEnrollments() {
+        // Given
+        long ada = insertStudent("ada");
+        long alan = insertStudent("alan");
+        long algebra = insertCourse("Algebra", "MA1");
+        long poetry = insertCourse("Poetry", "EN1");
+        jdbcTemplate.update("INSERT INTO student_courses (course_id, student_id) VALUES (?, ?)", algebra, ada);
+        jdbcTemplate.update("INSERT INTO student_courses (course_id, student_id) VALUES (?, ?)", algebra, alan);
+
+        // When
+        Flyway flyway = Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration", "classpath:db/vendor/h2")
+                .baselineOnMigrate(true)
+                .baselineVersion("1")
+                .load();
+        flyway.migrate();
+
+        // Then
+        assertEquals(0, flyway.info().pending().length);
+        assertEquals(2, enrolledCount(algebra));
+        assertEquals(0, enrolledCount(poetry));
+        assertNull(jdbcTemplate.queryForObject("SELECT capacity FROM courses WHERE id = ?", Integer.class, algebra));
+        assertThrows(DataIntegrityViolationException.class,
+                () -> jdbcTemplate.update("UPDATE courses SET capacity = 0 WHERE id = ?", poetry));
+        Long nextCourseId = jdbcTemplate.queryForObject("SELECT NEXT VALUE FOR courses_seq", Long.class);
+        assertTrue(nextCourseId - 49 > poetry);
+    }
+
+    private long insertStudent(String name) {
+        jdbcTemplate.update("INSERT INTO users (username, email, password, role, enabled) VALUES (?, ?, 'x', 'ROLE_STUDENT', TRUE)",
+                name, name + "@university.com");
+        long id = jdbcTemplate.queryForObject("SELECT id FROM users WHERE username = ?", Long.class, name);
+        jdbcTemplate.update("INSERT INTO students (user_id, student_id, first_name, last_name) VALUES (?, ?, ?, 'Upgrade')",
+                id, "UP-" + name, name);
+        return id;
+    }
+
+    private long insertCourse(String name, String code) {
+        jdbcTemplate.update("INSERT INTO courses (name, code, credits) VALUES (?, ?, 3)", name, code);
+        return jdbcTemplate.queryForObject("SELECT id FROM courses WHERE code = ?", Long.class, code);
+    }
+
+    private int enrolledCount(long courseId) {
+        return jdbcTemplate.queryForObject("SELECT enrolled_student_count FROM courses WHERE id = ?", Integer.class, courseId);
+    }
+}
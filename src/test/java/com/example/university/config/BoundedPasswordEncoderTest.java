@@ -0,0 +1,104 @@
+package com.example.university.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoundedPasswordEncoderTest {
+
+    private final AtomicReference<String> hashingThread = new AtomicReference<>();
+    private final CountDownLatch release = new CountDownLatch(1);
+    private volatile boolean blockEncode;
+
+    private ExecutorService executor;
+    private BoundedPasswordEncoder passwordEncoder;
+
+    // Records which thread did the work, and can hold encode() until released
+    private final PasswordEncoder delegate = new PasswordEncoder() {
+        @Override
+        public String encode(CharSequence rawPassword) {
+            hashingThread.set(Thread.currentThread().getName());
+            if (blockEncode) {
+                try {
+                    release.await(10, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+            return "hashed:" + rawPassword;
+        }
+
+        @Override
+        public boolean matches(CharSequence rawPassword, String encodedPassword) {
+            hashingThread.set(Thread.currentThread().getName());
+            return encodedPassword.equals("hashed:" + rawPassword);
+        }
+
+        @Override
+        public boolean upgradeEncoding(String encodedPassword) {
+            return !encodedPassword.startsWith("hashed:");
+        }
+    };
+
+    @BeforeEach
+    void setUp() {
+        executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(1),
+                runnable -> new Thread(runnable, "password-hash-test"));
+        passwordEncoder = new BoundedPasswordEncoder(delegate, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        passwordEncoder.destroy();
+    }
+
+    @Test
+    void encodeAndMatches_ShouldRunOnHashingExecutor() {
+        // When
+        String encoded = passwordEncoder.encode("secret");
+
+        // Then
+        assertThat(encoded).isEqualTo("hashed:secret");
+        assertThat(hashingThread.get()).isEqualTo("password-hash-test");
+
+        hashingThread.set(null);
+        assertThat(passwordEncoder.matches("secret", encoded)).isTrue();
+        assertThat(hashingThread.get()).isEqualTo("password-hash-test");
+    }
+
+    @Test
+    void upgradeEncoding_ShouldDelegate() {
+        assertThat(passwordEncoder.upgradeEncoding("$2a$10$legacy")).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding("hashed:secret")).isFalse();
+    }
+
+    @Test
+    void encodeAsync_ShouldCompleteWithHash() throws Exception {
+        assertThat(passwordEncoder.encodeAsync("secret").get(5, TimeUnit.SECONDS)).isEqualTo("hashed:secret");
+    }
+
+    @Test
+    void matches_WhenQueueIsFull_ShouldFailFast() {
+        // Given one hash running and one queued
+        blockEncode = true;
+        passwordEncoder.encodeAsync("running");
+        passwordEncoder.encodeAsync("queued");
+
+        // When / Then
+        assertThatThrownBy(() -> passwordEncoder.matches("secret", "hashed:secret"))
+                .isInstanceOf(RejectedExecutionException.class);
+    }
+}
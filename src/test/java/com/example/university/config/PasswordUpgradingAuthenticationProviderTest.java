@@ -0,0 +1,110 @@
+package com.example.university.config;
+
+import com.example.university.service.PasswordUpgradeService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.AuthenticationServiceException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordUpgradingAuthenticationProviderTest {
+
+    @Mock
+    private UserDetailsService userDetailsService;
+
+    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Mock
+    private PasswordUpgradeService passwordUpgradeService;
+
+    private PasswordUpgradingAuthenticationProvider authenticationProvider;
+
+    @BeforeEach
+    void setUp() {
+        authenticationProvider = new PasswordUpgradingAuthenticationProvider(userDetailsService,
+                passwordEncoder, passwordUpgradeService);
+        lenient().when(userDetailsService.loadUserByUsername("john.doe")).thenReturn(
+                User.withUsername("john.doe").password("$2a$10$legacy").roles("STUDENT").build());
+    }
+
+    @Test
+    void authenticate_WithLegacyHash_ShouldScheduleUpgrade() {
+        // Given
+        when(passwordEncoder.matches("secret", "$2a$10$legacy")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$legacy")).thenReturn(true);
+
+        // When
+        Authentication result = authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("john.doe", "secret"));
+
+        // Then
+        assertThat(result.isAuthenticated()).isTrue();
+        verify(passwordUpgradeService).upgradeInBackground("john.doe", "secret", "$2a$10$legacy");
+    }
+
+    @Test
+    void authenticate_WithCurrentHash_ShouldNotScheduleUpgrade() {
+        // Given
+        when(passwordEncoder.matches("secret", "$2a$10$legacy")).thenReturn(true);
+        when(passwordEncoder.upgradeEncoding("$2a$10$legacy")).thenReturn(false);
+
+        // When
+        authenticationProvider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated("john.doe", "secret"));
+
+        // Then
+        verifyNoInteractions(passwordUpgradeService);
+    }
+
+    @Test
+    void authenticate_WithWrongPassword_ShouldNotScheduleUpgrade() {
+        // Given
+        when(passwordEncoder.matches("wrong", "$2a$10$legacy")).thenReturn(false);
+
+        // When / Then
+        assertThatThrownBy(() -> authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("john.doe", "wrong")))
+                .isInstanceOf(BadCredentialsException.class);
+        verifyNoInteractions(passwordUpgradeService);
+    }
+
+    @Test
+    void authenticate_WhenHashingQueueIsFull_ShouldFailAsAuthenticationError() {
+        // Given
+        when(passwordEncoder.matches(any(), any())).thenThrow(new RejectedExecutionException("full"));
+
+        // When / Then
+        assertThatThrownBy(() -> authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("john.doe", "secret")))
+                .isInstanceOf(AuthenticationServiceException.class);
+    }
+
+    @Test
+    void authenticate_UnknownUserWhenHashingQueueIsFull_ShouldFailAsAuthenticationError() {
+        // Given
+        when(userDetailsService.loadUserByUsername("ghost")).thenThrow(new UsernameNotFoundException("ghost"));
+        when(passwordEncoder.encode(any())).thenReturn("$2a$10$dummy");
+        when(passwordEncoder.matches(any(), any())).thenThrow(new RejectedExecutionException("full"));
+
+        // When / Then
+        assertThatThrownBy(() -> authenticationProvider.authenticate(
+                UsernamePasswordAuthenticationToken.unauthenticated("ghost", "secret")))
+                .isInstanceOf(AuthenticationServiceException.class)
+                .hasCauseInstanceOf(RejectedExecutionException.class);
+    }
+}
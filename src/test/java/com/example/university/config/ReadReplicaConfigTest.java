@@ -0,0 +1,34 @@
+package com.example.university.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.hibernate.autoconfigure.HibernatePropertiesCustomizer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ReadReplicaConfigTest {
+
+    private final HibernatePropertiesCustomizer customizer = new ReadReplicaConfig().rejectSecondLevelCache();
+
+    @Test
+    void rejectSecondLevelCache_WhenEnabled_ShouldFailStartup() {
+        // Given
+        Map<String, Object> properties = new HashMap<>(Map.of("hibernate.cache.use_second_level_cache", "true"));
+
+        // When / Then
+        assertThatThrownBy(() -> customizer.customize(properties))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("second-level cache");
+    }
+
+    @Test
+    void rejectSecondLevelCache_WhenDisabledOrUnset_ShouldPass() {
+        // When / Then
+        assertThatCode(() -> customizer.customize(new HashMap<>(Map.of("hibernate.cache.use_second_level_cache", false))))
+                .doesNotThrowAnyException();
+        assertThatCode(() -> customizer.customize(new HashMap<>())).doesNotThrowAnyException();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.university.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ReplicaDataSourceTest {
+
+    private final DataSource primary = mock(DataSource.class);
+    private final Connection primaryConnection = mock(Connection.class);
+
+    private final HikariDataSource firstReplica = mock(HikariDataSource.class);
+    private final Connection firstConnection = mock(Connection.class);
+
+    private final HikariDataSource secondReplica = mock(HikariDataSource.class);
+    private final Connection secondConnection = mock(Connection.class);
+
+    private ReplicaDataSource replicaDataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstConnection);
+        when(firstReplica.getPoolName()).thenReturn("replica-1");
+        when(secondReplica.getConnection()).thenReturn(secondConnection);
+        when(secondReplica.getPoolName()).thenReturn("replica-2");
+        replicaDataSource = new ReplicaDataSource(primary, List.of(firstReplica, secondReplica),
+                Duration.ofSeconds(5), "SELECT lag");
+    }
+
+    @Test
+    void testReadsStayOnPrimaryUntilFirstLagCheck() throws SQLException {
+        // When
+        Connection connection = replicaDataSource.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void testHealthyReplicasAreUsedRoundRobin() throws SQLException {
+        // Given
+        reportLag(firstConnection, 0.2);
+        reportLag(secondConnection, 1.0);
+        replicaDataSource.checkReplicationLag();
+
+        // When / Then
+        assertThat(List.of(replicaDataSource.getConnection(), replicaDataSource.getConnection(),
+                replicaDataSource.getConnection(), replicaDataSource.getConnection()))
+                .containsExactly(firstConnection, secondConnection, firstConnection, secondConnection);
+    }
+
+    @Test
+    void testLaggingReplicaIsSkipped() throws SQLException {
+        // Given
+        reportLag(firstConnection, 30);
+        reportLag(secondConnection, 0);
+        replicaDataSource.checkReplicationLag();
+
+        // When / Then
+        assertThat(replicaDataSource.getConnection()).isSameAs(secondConnection);
+        assertThat(replicaDataSource.getConnection()).isSameAs(secondConnection);
+        assertThat(replicaDataSource.getReplicas().get(0).isUsable()).isFalse();
+        assertThat(replicaDataSource.getReplicas().get(0).lagSeconds()).isEqualTo(30);
+    }
+
+    @Test
+    void testAllReplicasLaggingFallsBackToPrimary() throws SQLException {
+        // Given
+        reportLag(firstConnection, 10);
+        reportLag(secondConnection, 6);
+        replicaDataSource.checkReplicationLag();
+
+        // When
+        Connection connection = replicaDataSource.getConnection();
+
+        // Then
+        assertThat(connection).isSameAs(primaryConnection);
+    }
+
+    @Test
+    void testUnreachableReplicaIsTakenOutOfRotation() throws SQLException {
+        // Given
+        reportLag(firstConnection, 0);
+        reportLag(secondConnection, 0);
+        replicaDataSource.checkReplicationLag();
+        when(firstReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+
+        // When
+        List<Connection> connections = List.of(replicaDataSource.getConnection(), replicaDataSource.getConnection(),
+                replicaDataSource.getConnection());
+
+        // Then
+        assertThat(connections).containsOnly(secondConnection);
+        assertThat(replicaDataSource.getReplicas().get(0).isUsable()).isFalse();
+    }
+
+    @Test
+    void testReplicaReturnsToRotationWhenCaughtUp() throws SQLException {
+        // Given
+        reportLag(firstConnection, 60);
+        when(secondReplica.getConnection()).thenThrow(new SQLException("Connection refused"));
+        replicaDataSource.checkReplicationLag();
+        assertThat(replicaDataSource.getConnection()).isSameAs(primaryConnection);
+
+        // When
+        reportLag(firstConnection, 0.5);
+        replicaDataSource.checkReplicationLag();
+
+        // Then
+        assertThat(replicaDataSource.getConnection()).isSameAs(firstConnection);
+        assertThat(replicaDataSource.getReplicas().get(1).lagSeconds()).isNaN();
+    }
+
+    @Test
+    void testReplicaNotReceivingIsTakenOutOfRotation() throws SQLException {
+        // Given: the first replica has replayed all it received, but its WAL receiver is gone
+        reportLag(firstConnection, 0);
+        reportLag(secondConnection, 0);
+        replicaDataSource.checkReplicationLag();
+        ResultSet notReceiving = firstConnection.createStatement().executeQuery("SELECT lag");
+        when(notReceiving.wasNull()).thenReturn(true);
+
+        // When
+        replicaDataSource.checkReplicationLag();
+
+        // Then
+        assertThat(replicaDataSource.getReplicas().get(0).isUsable()).isFalse();
+        assertThat(replicaDataSource.getReplicas().get(0).lagSeconds()).isNaN();
+        assertThat(List.of(replicaDataSource.getConnection(), replicaDataSource.getConnection()))
+                .containsOnly(secondConnection);
+    }
+
+    @Test
+    void testExplicitCredentialsGoToPrimary() throws SQLException {
+        // Given
+        reportLag(firstConnection, 0);
+        reportLag(secondConnection, 0);
+        replicaDataSource.checkReplicationLag();
+        Connection reportingConnection = mock(Connection.class);
+        when(primary.getConnection("reporting", "secret")).thenReturn(reportingConnection);
+
+        // When
+        Connection connection = replicaDataSource.getConnection("reporting", "secret");
+
+        // Then
+        assertThat(connection).isSameAs(reportingConnection);
+    }
+
+    private void reportLag(Connection connection, double lagSeconds) throws SQLException {
+        Statement statement = mock(Statement.class);
+        ResultSet resultSet = mock(ResultSet.class);
+        when(connection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(anyString())).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true);
+        when(resultSet.getDouble(1)).thenReturn(lagSeconds);
+    }
+}
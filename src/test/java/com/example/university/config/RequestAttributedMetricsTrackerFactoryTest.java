@@ -0,0 +1,88 @@
+package com.example.university.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RequestAttributedMetricsTrackerFactoryTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private IMetricsTracker tracker;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ObjectProvider<MeterRegistry> provider = mock(ObjectProvider.class);
+        when(provider.getObject()).thenReturn(meterRegistry);
+        PoolStats poolStats = new PoolStats(0) {
+            @Override
+            protected void update() {
+            }
+        };
+        tracker = new RequestAttributedMetricsTrackerFactory(provider).create("primary", poolStats);
+    }
+
+    @AfterEach
+    void tearDown() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void recordConnectionAcquired_DuringRequest_ShouldTagMappedPattern() {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/students/42");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/admin/students/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(40));
+
+        // Then
+        assertThat(meterRegistry.get("university.datasource.connection.acquire")
+                .tags("pool", "primary", "uri", "/admin/students/{id}").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(40);
+        assertThat(meterRegistry.get("hikaricp.connections.acquire").tag("pool", "primary").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void recordConnectionAcquired_BeforeHandlerMapping_ShouldTagUnknown() {
+        // Given
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest("POST", "/login")));
+
+        // When
+        tracker.recordConnectionAcquiredNanos(1000);
+
+        // Then
+        assertThat(meterRegistry.get("university.datasource.connection.acquire").tag("uri", "UNKNOWN").timer().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void recordConnectionTimeout_OutsideRequest_ShouldTagNone() {
+        // When
+        tracker.recordConnectionTimeout();
+
+        // Then
+        assertThat(meterRegistry.get("university.datasource.connection.timeouts").tag("uri", "none").counter().count())
+                .isEqualTo(1);
+        assertThat(meterRegistry.get("hikaricp.connections.timeout").tag("pool", "primary").counter().count())
+                .isEqualTo(1);
+    }
+}
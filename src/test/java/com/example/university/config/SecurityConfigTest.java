@@ -3,9 +3,12 @@ package com.example.university.config;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 
+import java.time.Duration;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -28,6 +31,29 @@ class SecurityConfigTest {
                 "Encoded password should match the raw password");
     }
 
+    @Test
+    void passwordEncoder_NewHashes_ShouldBePrefixedAndCurrent() {
+        String encodedPassword = passwordEncoder.encode("test123");
+
+        assertTrue(encodedPassword.startsWith("{bcrypt}$2a$"), "New hashes should carry the bcrypt id");
+        assertFalse(passwordEncoder.upgradeEncoding(encodedPassword), "New hashes should not need upgrading");
+    }
+
+    @Test
+    void passwordEncoder_LegacyHashes_ShouldMatchAndNeedUpgrade() {
+        String legacyPassword = new BCryptPasswordEncoder().encode("test123");
+
+        assertTrue(passwordEncoder.matches("test123", legacyPassword), "Unprefixed bcrypt hashes should still match");
+        assertFalse(passwordEncoder.matches("wrong", legacyPassword));
+        assertTrue(passwordEncoder.upgradeEncoding(legacyPassword), "Unprefixed hashes should be upgraded");
+    }
+
+    @Test
+    void calibrateStrength_ShouldStayWithinBounds() {
+        assertEquals(SecurityConfig.MIN_BCRYPT_STRENGTH, SecurityConfig.calibrateStrength(Duration.ZERO));
+        assertEquals(SecurityConfig.MAX_BCRYPT_STRENGTH, SecurityConfig.calibrateStrength(Duration.ofDays(1)));
+    }
+
     @Test
     void securityFilterChain() {
         assertNotNull(securityFilterChain, "SecurityFilterChain bean should be loaded");
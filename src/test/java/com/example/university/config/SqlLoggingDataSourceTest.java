@@ -0,0 +1,127 @@
+package com.example.university.config;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class SqlLoggingDataSourceTest {
+
+    private static final String SQL = "select c.id from course c where c.department_id=?";
+
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger("university.sql");
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    private DataSource target;
+    private Connection connection;
+    private PreparedStatement statement;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        target = mock(DataSource.class);
+        connection = mock(Connection.class);
+        statement = mock(PreparedStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareStatement(SQL)).thenReturn(statement);
+        when(statement.executeQuery()).thenReturn(mock(ResultSet.class));
+        events.start();
+        sqlLogger.addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.detachAppender(events);
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void executeQuery_Sampled_ShouldLogStatementWithEndpoint() throws Exception {
+        // Given
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/admin/courses/7");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/admin/courses/{id}");
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+        DataSource dataSource = new SqlLoggingDataSource(target, 1.0, Duration.ofMinutes(1));
+
+        // When
+        try (Connection logged = dataSource.getConnection();
+             PreparedStatement prepared = logged.prepareStatement(SQL)) {
+            prepared.setLong(1, 3L);
+            prepared.executeQuery();
+            assertThat(prepared.getConnection()).isSameAs(logged);
+        }
+
+        // Then
+        verify(statement).setLong(1, 3L);
+        verify(connection).close();
+        assertThat(events.list).singleElement().satisfies(event -> {
+            assertThat(event.getLoggerName()).isEqualTo("university.sql");
+            assertThat(event.getLevel()).isEqualTo(Level.INFO);
+            assertThat(keyValues(event)).containsEntry("method", "GET")
+                    .containsEntry("uri", "/admin/courses/{id}")
+                    .containsEntry("sql", SQL)
+                    .containsKey("durationMs");
+        });
+    }
+
+    @Test
+    void execute_SlowerThanThreshold_ShouldLogWarningEvenWhenNotSampled() throws Exception {
+        // Given
+        Statement plain = mock(Statement.class);
+        when(connection.createStatement()).thenReturn(plain);
+        DataSource dataSource = new SqlLoggingDataSource(target, 0.0, Duration.ZERO);
+
+        // When
+        try (Connection logged = dataSource.getConnection();
+             Statement created = logged.createStatement()) {
+            created.execute("select 1");
+        }
+
+        // Then
+        assertThat(events.list).singleElement().satisfies(event -> {
+            assertThat(event.getLoggerName()).isEqualTo("university.sql.slow");
+            assertThat(event.getLevel()).isEqualTo(Level.WARN);
+            assertThat(keyValues(event)).containsEntry("sql", "select 1").containsEntry("uri", "none");
+        });
+    }
+
+    @Test
+    void executeQuery_NotSampledAndFast_ShouldLogNothing() throws Exception {
+        // Given
+        DataSource dataSource = new SqlLoggingDataSource(target, 0.0, Duration.ofMinutes(1));
+
+        // When
+        try (Connection logged = dataSource.getConnection()) {
+            logged.prepareStatement(SQL).executeQuery();
+        }
+
+        // Then
+        verify(statement).executeQuery();
+        assertThat(events.list).isEmpty();
+    }
+
+    private static Map<String, Object> keyValues(ILoggingEvent event) {
+        return event.getKeyValuePairs().stream().collect(Collectors.toMap(pair -> pair.key, pair -> pair.value));
+    }
+}
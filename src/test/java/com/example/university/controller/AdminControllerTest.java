@@ -1,5 +1,12 @@
 package com.example.university.controller;
 
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.DashboardStatistics;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.ImportReport;
+import com.example.university.dto.StudentView;
+import com.example.university.dto.TeacherOption;
+import com.example.university.dto.TeacherView;
 import com.example.university.entity.*;
 import com.example.university.service.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -8,14 +15,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockMultipartFile;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.ui.Model;
 
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.HashSet;
 import java.util.List;
-import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -36,9 +46,18 @@ class AdminControllerTest {
     @Mock
     private StudentService studentService;
 
+    @Mock
+    private DashboardService dashboardService;
+
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private BulkImportService bulkImportService;
+
+    @Mock
+    private ExportService exportService;
+
     @Mock
     private Model model;
 
@@ -46,13 +65,13 @@ class AdminControllerTest {
     private AdminController adminController;
 
     private Department department;
-    private Course course;
     private Teacher teacher;
-    private Student student;
-    private List<Department> departments;
-    private List<Course> courses;
-    private List<Teacher> teachers;
-    private List<Student> students;
+    private List<DepartmentOption> departments;
+    private CourseSummary courseSummary;
+    private List<CourseSummary> courseSummaries;
+    private TeacherView teacherView;
+    private List<TeacherOption> teacherOptions;
+    private StudentView studentView;
 
     @BeforeEach
     void setUp() {
@@ -62,12 +81,6 @@ class AdminControllerTest {
         department.setName("Computer Science");
         department.setCode("CS");
 
-        course = new Course();
-        course.setId(1L);
-        course.setName("Data Structures");
-        course.setCode("CS201");
-        course.setCredits(3);
-
         teacher = new Teacher();
         teacher.setId(1L);
         teacher.setFirstName("John");
@@ -77,41 +90,30 @@ class AdminControllerTest {
         teacher.setQualification("PhD");
         teacher.setDepartment(department);
 
-        student = new Student();
-        student.setId(1L);
-        student.setFirstName("Jane");
-        student.setLastName("Smith");
-        student.setEmail("jane.smith@university.com");
-        student.setStudentId("S2001");
-
-        // Use Set for departments
-        Set<Department> departmentSet = new HashSet<>();
-        departmentSet.add(department);
-        student.setDepartments(departmentSet);
-
-        departments = Collections.singletonList(department);
-        courses = Collections.singletonList(course);
-        teachers = Collections.singletonList(teacher);
-        students = Collections.singletonList(student);
+        departments = Collections.singletonList(new DepartmentOption(1L, "Computer Science", "CS", null));
+        courseSummary = new CourseSummary(1L, "Data Structures", "CS201", null, 3, 1L, "Computer Science",
+                1L, "John", "Doe", 0, null);
+        courseSummaries = Collections.singletonList(courseSummary);
+        teacherView = new TeacherView(1L, "T1001", "jdoe", "John", "Doe", "john.doe@university.com", "PhD",
+                departments.get(0));
+        teacherOptions = Collections.singletonList(new TeacherOption(1L, "John", "Doe"));
+        studentView = new StudentView(1L, "S2001", "jsmith", "Jane", "Smith", "jane.smith@university.com",
+                departments, 0);
     }
 
     @Test
     void adminDashboard() {
         // Arrange
-        when(departmentService.getAllDepartments()).thenReturn(departments);
-        when(courseService.getAllCourses()).thenReturn(courses);
-        when(teacherService.getAllTeachers()).thenReturn(teachers);
-        when(studentService.getAllStudents()).thenReturn(students);
+        DashboardStatistics stats = new DashboardStatistics(1, 1, 1, 1, Collections.emptyList());
+        when(dashboardService.getStatistics()).thenReturn(stats);
 
         // Act
         String viewName = adminController.adminDashboard(model);
 
         // Assert
         assertEquals("admin/dashboard", viewName);
-        verify(model).addAttribute("departments", departments);
-        verify(model).addAttribute("courses", courses);
-        verify(model).addAttribute("teachers", teachers);
-        verify(model).addAttribute("students", students);
+        verify(model).addAttribute("stats", stats);
+        verifyNoInteractions(departmentService, courseService, teacherService, studentService);
     }
 
     @Test
@@ -189,19 +191,54 @@ class AdminControllerTest {
     @Test
     void listCourses() {
         // Arrange
-        when(courseService.getAllCourses()).thenReturn(courses);
+        Window<CourseSummary> page = Window.from(courseSummaries, ScrollPosition::offset);
+        when(courseService.getCourseSummaryPage(null, "id", Sort.Direction.ASC, 20)).thenReturn(page);
         when(departmentService.getAllDepartments()).thenReturn(departments);
-        when(teacherService.getAllTeachers()).thenReturn(teachers);
+        when(teacherService.getTeacherOptions()).thenReturn(teacherOptions);
 
         // Act
-        String viewName = adminController.listCourses(model);
+        String viewName = adminController.listCourses(null, "id", Sort.Direction.ASC, 20, null, model);
 
         // Assert
         assertEquals("admin/courses", viewName);
-        verify(model).addAttribute("courses", courses);
+        verify(model).addAttribute("courses", page);
+        verify(model).addAttribute("nextCursor", null);
         verify(model).addAttribute(eq("course"), any(Course.class));
         verify(model).addAttribute("departments", departments);
-        verify(model).addAttribute("teachers", teachers);
+        verify(model).addAttribute("teachers", teacherOptions);
+    }
+
+    @Test
+    void listCourses_withMoreRows_shouldExposeNextCursor() {
+        // Arrange
+        Window<CourseSummary> page = Window.from(courseSummaries, ScrollPosition::offset, true);
+        when(courseService.getCourseSummaryPage(null, "name", Sort.Direction.DESC, 1)).thenReturn(page);
+
+        // Act
+        String viewName = adminController.listCourses(null, "name", Sort.Direction.DESC, 1, null, model);
+
+        // Assert
+        assertEquals("admin/courses", viewName);
+        verify(model).addAttribute("nextCursor", courseSummary.id());
+        verify(model).addAttribute("sort", "name");
+        verify(model).addAttribute("dir", Sort.Direction.DESC);
+        verify(model).addAttribute("size", 1);
+    }
+
+    @Test
+    void listCourses_withQuery_shouldShowSearchResultsOnOnePage() {
+        // Arrange
+        when(courseService.searchCourses("java prog", 20)).thenReturn(courseSummaries);
+
+        // Act
+        String viewName = adminController.listCourses(null, "id", Sort.Direction.ASC, 20, "java prog", model);
+
+        // Assert
+        assertEquals("admin/courses", viewName);
+        verify(model).addAttribute("courses", courseSummaries);
+        verify(model).addAttribute("nextCursor", null);
+        verify(model).addAttribute("q", "java prog");
+        verify(courseService, never()).getCourseSummaryPage(any(), any(), any(), anyInt());
     }
 
     @Test
@@ -226,18 +263,18 @@ class AdminControllerTest {
     void editCourseForm() {
         // Arrange
         Long courseId = 1L;
-        when(courseService.getCourseById(courseId)).thenReturn(course);
+        when(courseService.getCourseSummary(courseId)).thenReturn(courseSummary);
         when(departmentService.getAllDepartments()).thenReturn(departments);
-        when(teacherService.getAllTeachers()).thenReturn(teachers);
+        when(teacherService.getTeacherOptions()).thenReturn(teacherOptions);
 
         // Act
         String viewName = adminController.editCourseForm(courseId, model);
 
         // Assert
         assertEquals("admin/edit-course", viewName);
-        verify(model).addAttribute("course", course);
+        verify(model).addAttribute("course", courseSummary);
         verify(model).addAttribute("departments", departments);
-        verify(model).addAttribute("teachers", teachers);
+        verify(model).addAttribute("teachers", teacherOptions);
     }
 
     @Test
@@ -275,15 +312,17 @@ class AdminControllerTest {
     @Test
     void listTeachers() {
         // Arrange
-        when(teacherService.getAllTeachers()).thenReturn(teachers);
+        Window<TeacherView> page = Window.from(List.of(teacherView), ScrollPosition::offset);
+        when(teacherService.getTeacherViewPage(null, "id", Sort.Direction.ASC, 20)).thenReturn(page);
         when(departmentService.getAllDepartments()).thenReturn(departments);
 
         // Act
-        String viewName = adminController.listTeachers(model);
+        String viewName = adminController.listTeachers(null, "id", Sort.Direction.ASC, 20, model);
 
         // Assert
         assertEquals("admin/teachers", viewName);
-        verify(model).addAttribute("teachers", teachers);
+        verify(model).addAttribute("teachers", page);
+        verify(model).addAttribute("nextCursor", null);
         verify(model).addAttribute("departments", departments);
     }
 
@@ -291,7 +330,7 @@ class AdminControllerTest {
     void editTeacherForm() {
         // Arrange
         Long teacherId = 1L;
-        when(teacherService.getTeacherById(teacherId)).thenReturn(teacher);
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView);
         when(departmentService.getAllDepartments()).thenReturn(departments);
 
         // Act
@@ -299,7 +338,7 @@ class AdminControllerTest {
 
         // Assert
         assertEquals("admin/edit-teacher", viewName);
-        verify(model).addAttribute("teacher", teacher);
+        verify(model).addAttribute("teacher", teacherView);
         verify(model).addAttribute("departments", departments);
     }
 
@@ -314,22 +353,13 @@ class AdminControllerTest {
         updatedTeacher.setTeacherId("T1002");
         updatedTeacher.setQualification("Master's");
 
-        when(teacherService.getTeacherById(teacherId)).thenReturn(teacher);
-        when(departmentService.getDepartmentById(1L)).thenReturn(department);
-
         // Act
         String viewName = adminController.updateTeacher(teacherId, updatedTeacher, null, 1L);
 
         // Assert
         assertEquals("redirect:/admin/teachers", viewName);
-        verify(teacherService).updateTeacher(teacher);
+        verify(teacherService).updateTeacherDetails(teacherId, updatedTeacher, null, 1L);
         verify(passwordEncoder, never()).encode(anyString());
-        assertEquals("John Updated", teacher.getFirstName());
-        assertEquals("Doe Updated", teacher.getLastName());
-        assertEquals("john.updated@university.com", teacher.getEmail());
-        assertEquals("T1002", teacher.getTeacherId());
-        assertEquals("Master's", teacher.getQualification());
-        assertEquals(department, teacher.getDepartment());
     }
 
     @Test
@@ -346,18 +376,15 @@ class AdminControllerTest {
         String newPassword = "newPassword123";
         String encodedPassword = "encodedPassword123";
 
-        when(teacherService.getTeacherById(teacherId)).thenReturn(teacher);
         when(passwordEncoder.encode(newPassword)).thenReturn(encodedPassword);
-        when(departmentService.getDepartmentById(1L)).thenReturn(department);
 
         // Act
         String viewName = adminController.updateTeacher(teacherId, updatedTeacher, newPassword, 1L);
 
         // Assert
         assertEquals("redirect:/admin/teachers", viewName);
-        verify(teacherService).updateTeacher(teacher);
+        verify(teacherService).updateTeacherDetails(teacherId, updatedTeacher, encodedPassword, 1L);
         verify(passwordEncoder).encode(newPassword);
-        assertEquals(encodedPassword, teacher.getPassword());
     }
 
     @Test
@@ -371,15 +398,12 @@ class AdminControllerTest {
         updatedTeacher.setTeacherId("T1001");
         updatedTeacher.setQualification("PhD");
 
-        when(teacherService.getTeacherById(teacherId)).thenReturn(teacher);
-
         // Act
         String viewName = adminController.updateTeacher(teacherId, updatedTeacher, null, null);
 
         // Assert
         assertEquals("redirect:/admin/teachers", viewName);
-        verify(teacherService).updateTeacher(teacher);
-        assertNull(teacher.getDepartment());
+        verify(teacherService).updateTeacherDetails(teacherId, updatedTeacher, null, null);
     }
 
     @Test
@@ -399,38 +423,54 @@ class AdminControllerTest {
     void viewTeacher() {
         // Arrange
         Long teacherId = 1L;
-        when(teacherService.getTeacherById(teacherId)).thenReturn(teacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(courses);
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(courseSummaries);
 
         // Act
         String viewName = adminController.viewTeacher(teacherId, model);
 
         // Assert
         assertEquals("admin/view-teacher", viewName);
-        verify(model).addAttribute("teacher", teacher);
-        verify(model).addAttribute("courses", courses);
+        verify(model).addAttribute("teacher", teacherView);
+        verify(model).addAttribute("courses", courseSummaries);
     }
 
     @Test
     void listStudents() {
         // Arrange
-        when(studentService.getAllStudents()).thenReturn(students);
+        Window<StudentView> page = Window.from(List.of(studentView), ScrollPosition::offset);
+        when(studentService.getStudentViewPage(1L, "lastName", Sort.Direction.ASC, 20)).thenReturn(page);
         when(departmentService.getAllDepartments()).thenReturn(departments);
 
         // Act
-        String viewName = adminController.listStudents(model);
+        String viewName = adminController.listStudents(1L, "lastName", Sort.Direction.ASC, 20, model);
 
         // Assert
         assertEquals("admin/students", viewName);
-        verify(model).addAttribute("students", students);
+        verify(model).addAttribute("students", page);
+        verify(model).addAttribute("nextCursor", null);
         verify(model).addAttribute("departments", departments);
     }
 
+    @Test
+    void listStudents_withDeletedCursorRow_shouldRestartFromFirstPage() {
+        // Arrange
+        when(studentService.getStudentViewPage(99L, "lastName", Sort.Direction.DESC, 20))
+                .thenThrow(new CursorNotFoundException(99L));
+
+        // Act
+        String viewName = adminController.listStudents(99L, "lastName", Sort.Direction.DESC, 20, model);
+
+        // Assert
+        assertEquals("redirect:/admin/students?sort=lastName&dir=DESC&size=20&restarted", viewName);
+        verify(model, never()).addAttribute(eq("students"), any());
+    }
+
     @Test
     void editStudentForm() {
         // Arrange
         Long studentId = 1L;
-        when(studentService.getStudentById(studentId)).thenReturn(student);
+        when(studentService.getStudentView(studentId)).thenReturn(studentView);
         when(departmentService.getAllDepartments()).thenReturn(departments);
 
         // Act
@@ -438,9 +478,9 @@ class AdminControllerTest {
 
         // Assert
         assertEquals("admin/edit-student", viewName);
-        verify(model).addAttribute("student", student);
+        verify(model).addAttribute("student", studentView);
         verify(model).addAttribute("departments", departments);
-        verify(model).addAttribute(eq("studentDepartmentIds"), anyList());
+        verify(model).addAttribute("studentDepartmentIds", List.of(1L));
     }
 
     @Test
@@ -453,25 +493,13 @@ class AdminControllerTest {
         updatedStudent.setEmail("jane.updated@university.com");
         updatedStudent.setStudentId("S2002");
 
-        when(studentService.getStudentById(studentId)).thenReturn(student);
-        when(departmentService.getDepartmentById(1L)).thenReturn(department);
-
         // Act
         String viewName = adminController.updateStudent(studentId, updatedStudent, null, Collections.singletonList(1L));
 
         // Assert
         assertEquals("redirect:/admin/students?success=true", viewName);
-        verify(studentService).updateStudent(student);
+        verify(studentService).updateStudentDetails(studentId, updatedStudent, null, Collections.singletonList(1L));
         verify(passwordEncoder, never()).encode(anyString());
-        assertEquals("Jane Updated", student.getFirstName());
-        assertEquals("Smith Updated", student.getLastName());
-        assertEquals("jane.updated@university.com", student.getEmail());
-        assertEquals("S2002", student.getStudentId());
-
-        // Verify departments were set correctly (as Set)
-        Set<Department> expectedDepartments = new HashSet<>();
-        expectedDepartments.add(department);
-        assertEquals(expectedDepartments, student.getDepartments());
     }
 
     @Test
@@ -487,23 +515,14 @@ class AdminControllerTest {
         String newPassword = "newPassword123";
         String encodedPassword = "encodedPassword123";
 
-        when(studentService.getStudentById(studentId)).thenReturn(student);
         when(passwordEncoder.encode(newPassword)).thenReturn(encodedPassword);
-        when(departmentService.getDepartmentById(1L)).thenReturn(department);
 
         // Act
         String viewName = adminController.updateStudent(studentId, updatedStudent, newPassword, Collections.singletonList(1L));
 
         // Assert
         assertEquals("redirect:/admin/students?success=true", viewName);
-        verify(studentService).updateStudent(student);
-        verify(passwordEncoder).encode(newPassword);
-        assertEquals(encodedPassword, student.getPassword());
-
-        // Verify departments were set correctly (as Set)
-        Set<Department> expectedDepartments = new HashSet<>();
-        expectedDepartments.add(department);
-        assertEquals(expectedDepartments, student.getDepartments());
+        verify(studentService).updateStudentDetails(studentId, updatedStudent, encodedPassword, Collections.singletonList(1L));
     }
 
     @Test
@@ -516,30 +535,15 @@ class AdminControllerTest {
         updatedStudent.setEmail("jane.smith@university.com");
         updatedStudent.setStudentId("S2001");
 
-        Department department2 = new Department();
-        department2.setId(2L);
-        department2.setName("Mathematics");
-        department2.setCode("MATH");
-
         List<Long> departmentIds = Arrays.asList(1L, 2L);
 
-        when(studentService.getStudentById(studentId)).thenReturn(student);
-        when(departmentService.getDepartmentById(1L)).thenReturn(department);
-        when(departmentService.getDepartmentById(2L)).thenReturn(department2);
-
         // Act
-        String viewName = adminController.updateStudent(studentId, updatedStudent, null, departmentIds);
+        String viewName = adminController.updateStudent(studentId, updatedStudent, "  ", departmentIds);
 
         // Assert
         assertEquals("redirect:/admin/students?success=true", viewName);
-        verify(studentService).updateStudent(student);
-
-        // Verify both departments were added
-        Set<Department> expectedDepartments = new HashSet<>();
-        expectedDepartments.add(department);
-        expectedDepartments.add(department2);
-        assertEquals(expectedDepartments, student.getDepartments());
-        assertEquals(2, student.getDepartments().size());
+        verify(studentService).updateStudentDetails(studentId, updatedStudent, null, departmentIds);
+        verify(passwordEncoder, never()).encode(anyString());
     }
 
     @Test
@@ -552,15 +556,12 @@ class AdminControllerTest {
         updatedStudent.setEmail("jane.smith@university.com");
         updatedStudent.setStudentId("S2001");
 
-        when(studentService.getStudentById(studentId)).thenReturn(student);
-
         // Act
         String viewName = adminController.updateStudent(studentId, updatedStudent, null, null);
 
         // Assert
         assertEquals("redirect:/admin/students?success=true", viewName);
-        verify(studentService).updateStudent(student);
-        assertTrue(student.getDepartments().isEmpty());
+        verify(studentService).updateStudentDetails(studentId, updatedStudent, null, null);
     }
 
     @Test
@@ -580,15 +581,150 @@ class AdminControllerTest {
     void viewStudent() {
         // Arrange
         Long studentId = 1L;
-        when(studentService.getStudentById(studentId)).thenReturn(student);
-        when(studentService.getEnrolledCourses(studentId)).thenReturn(courses);
+        when(studentService.getStudentView(studentId)).thenReturn(studentView);
+        when(studentService.getEnrolledCourseSummaries(studentId)).thenReturn(courseSummaries);
 
         // Act
         String viewName = adminController.viewStudent(studentId, model);
 
         // Assert
         assertEquals("admin/view-student", viewName);
-        verify(model).addAttribute("student", student);
-        verify(model).addAttribute("enrolledCourses", courses);
+        verify(model).addAttribute("student", studentView);
+        verify(model).addAttribute("enrolledCourses", courseSummaries);
+    }
+
+    @Test
+    void importUsers_Students() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv", "username\n".getBytes());
+        ImportReport report = new ImportReport("students", 1, 1, 0, List.of(), 5, null);
+        when(bulkImportService.importStudents(any())).thenReturn(report);
+
+        // Act
+        String viewName = adminController.importUsers("students", file, model);
+
+        // Assert
+        assertEquals("admin/import", viewName);
+        verify(model).addAttribute("report", report);
+        verify(bulkImportService, never()).importTeachers(any());
+    }
+
+    @Test
+    void importUsers_Teachers() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "teachers.csv", "text/csv", "username\n".getBytes());
+        ImportReport report = new ImportReport("teachers", 1, 1, 0, List.of(), 5, null);
+        when(bulkImportService.importTeachers(any())).thenReturn(report);
+
+        // Act
+        String viewName = adminController.importUsers("teachers", file, model);
+
+        // Assert
+        assertEquals("admin/import", viewName);
+        verify(model).addAttribute("report", report);
+    }
+
+    @Test
+    void importUsers_WhenReadingStopsMidFile_ShouldShowPartialReportAndError() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv", "username\n".getBytes());
+        ImportReport report = new ImportReport("students", 1200, 1000, 0, List.of(), 5,
+                "Reading stopped after 1200 rows: Unterminated quoted field starting on line 1201");
+        when(bulkImportService.importStudents(any())).thenReturn(report);
+
+        // Act
+        String viewName = adminController.importUsers("students", file, model);
+
+        // Assert
+        assertEquals("admin/import", viewName);
+        verify(model).addAttribute("report", report);
+        verify(model).addAttribute("error", "Import stopped early: Reading stopped after 1200 rows: "
+                + "Unterminated quoted field starting on line 1201. The rows before it were imported as reported below.");
+    }
+
+    @Test
+    void importUsers_WithInvalidFile_ShouldShowError() throws Exception {
+        // Arrange
+        MockMultipartFile file = new MockMultipartFile("file", "students.csv", "text/csv", "name\n".getBytes());
+        when(bulkImportService.importStudents(any())).thenThrow(new IllegalArgumentException("Missing column: username"));
+
+        // Act
+        String viewName = adminController.importUsers("students", file, model);
+
+        // Assert
+        assertEquals("admin/import", viewName);
+        verify(model).addAttribute("error", "Import failed: Missing column: username");
+        verify(model, never()).addAttribute(eq("report"), any());
+    }
+
+    @Test
+    void exportStudents() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        adminController.exportStudents("csv", response);
+
+        // Assert
+        assertEquals("text/csv;charset=UTF-8", response.getContentType());
+        assertEquals("attachment; filename=\"students.csv\"", response.getHeader("Content-Disposition"));
+        verify(exportService).exportStudents(eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void exportCourseEnrollments() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(exportService.courseExists(1L)).thenReturn(true);
+
+        // Act
+        adminController.exportCourseEnrollments(1L, "json", response);
+
+        // Assert
+        assertEquals("attachment; filename=\"course-1-enrollments.json\"", response.getHeader("Content-Disposition"));
+        verify(exportService).exportCourseEnrollments(eq(1L), eq(ExportFormat.JSON), any());
+    }
+
+    @Test
+    void exportDepartmentStudents() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(exportService.departmentExists(1L)).thenReturn(true);
+
+        // Act
+        adminController.exportDepartmentStudents(1L, "csv", response);
+
+        // Assert
+        verify(exportService).exportDepartmentStudents(eq(1L), eq(ExportFormat.CSV), any());
+    }
+
+    @Test
+    void exportCourseEnrollments_unknownCourse() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(exportService.courseExists(99L)).thenReturn(false);
+
+        // Act
+        adminController.exportCourseEnrollments(99L, "csv", response);
+
+        // Assert
+        assertEquals(404, response.getStatus());
+        assertNull(response.getHeader("Content-Disposition"));
+        verify(exportService, never()).exportCourseEnrollments(any(), any(), any());
+    }
+
+    @Test
+    void exportDepartmentStudents_unknownDepartment() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        when(exportService.departmentExists(99L)).thenReturn(false);
+
+        // Act
+        adminController.exportDepartmentStudents(99L, "csv", response);
+
+        // Assert
+        assertEquals(404, response.getStatus());
+        assertNull(response.getHeader("Content-Disposition"));
+        verify(exportService, never()).exportDepartmentStudents(any(), any(), any());
     }
-}
\ No newline at end of file
+}
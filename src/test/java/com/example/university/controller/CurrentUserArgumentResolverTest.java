@@ -0,0 +1,104 @@
+package com.example.university.controller;
+
+import com.example.university.entity.Student;
+import com.example.university.entity.Teacher;
+import com.example.university.service.StudentService;
+import com.example.university.service.TeacherService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.MethodParameter;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class CurrentUserArgumentResolverTest {
+
+    @Mock
+    private StudentService studentService;
+
+    @Mock
+    private TeacherService teacherService;
+
+    @InjectMocks
+    private CurrentUserArgumentResolver resolver;
+
+    private MethodParameter teacherParameter;
+    private MethodParameter studentParameter;
+    private MethodParameter plainTeacherParameter;
+
+    @BeforeEach
+    void setUp() throws NoSuchMethodException {
+        teacherParameter = new MethodParameter(Handlers.class.getDeclaredMethod("teacher", Teacher.class), 0);
+        studentParameter = new MethodParameter(Handlers.class.getDeclaredMethod("student", Student.class), 0);
+        plainTeacherParameter = new MethodParameter(Handlers.class.getDeclaredMethod("plain", Teacher.class), 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void supportsParameter() {
+        assertTrue(resolver.supportsParameter(teacherParameter));
+        assertTrue(resolver.supportsParameter(studentParameter));
+        assertFalse(resolver.supportsParameter(plainTeacherParameter));
+    }
+
+    @Test
+    void resolveArgument_loadsTeacherOncePerRequest() {
+        // Setup
+        Teacher teacher = new Teacher();
+        teacher.setUsername("teacher123");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("teacher123", null));
+        when(teacherService.getTeacherByUsername("teacher123")).thenReturn(teacher);
+        ServletWebRequest request = new ServletWebRequest(new MockHttpServletRequest());
+
+        // Act
+        Object first = resolver.resolveArgument(teacherParameter, null, request, null);
+        Object second = resolver.resolveArgument(teacherParameter, null, request, null);
+
+        // Assert
+        assertSame(teacher, first);
+        assertSame(teacher, second);
+        verify(teacherService, times(1)).getTeacherByUsername("teacher123");
+        verifyNoInteractions(studentService);
+    }
+
+    @Test
+    void resolveArgument_loadsStudentForEachNewRequest() {
+        // Setup
+        Student student = new Student();
+        student.setUsername("student123");
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("student123", null));
+        when(studentService.getStudentByUsername("student123")).thenReturn(student);
+
+        // Act
+        resolver.resolveArgument(studentParameter, null, new ServletWebRequest(new MockHttpServletRequest()), null);
+        Object resolved = resolver.resolveArgument(studentParameter, null,
+                new ServletWebRequest(new MockHttpServletRequest()), null);
+
+        // Assert
+        assertSame(student, resolved);
+        verify(studentService, times(2)).getStudentByUsername("student123");
+    }
+
+    @SuppressWarnings("unused")
+    private static class Handlers {
+        void teacher(@CurrentUser Teacher teacher) {}
+        void student(@CurrentUser Student student) {}
+        void plain(Teacher teacher) {}
+    }
+}
@@ -1,18 +1,20 @@
 package com.example.university.controller;
 
-import com.example.university.entity.Course;
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.CreditSummary;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.StudentView;
 import com.example.university.entity.Student;
 import com.example.university.service.CourseService;
+import com.example.university.service.DepartmentService;
 import com.example.university.service.StudentService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
 import org.springframework.ui.Model;
 
 import java.util.Arrays;
@@ -32,25 +34,18 @@ class StudentControllerTest {
     private CourseService courseService;
 
     @Mock
-    private PasswordEncoder passwordEncoder;
+    private DepartmentService departmentService;
 
     @Mock
     private Model model;
 
-    @Mock
-    private Authentication authentication;
-
-    @Mock
-    private SecurityContext securityContext;
-
     @InjectMocks
     private StudentController studentController;
 
     private final String testUsername = "student123";
     private final Long studentId = 1L;
     private Student testStudent;
-    private List<Course> enrolledCourses;
-    private List<Course> availableCourses;
+    private List<CourseSummary> enrolledCourses;
 
     @Test
     void studentDashboard() {
@@ -59,29 +54,26 @@ class StudentControllerTest {
         testStudent.setId(studentId);
         testStudent.setUsername(testUsername);
 
-        Course course1 = new Course();
-        course1.setId(1L);
-        course1.setName("Math 101");
+        CourseSummary course1 = new CourseSummary(1L, "Math 101", null, null, 3, null, null, null, null, null, 0, null);
 
-        Course course2 = new Course();
-        course2.setId(2L);
-        course2.setName("Physics 101");
+        CourseSummary course2 = new CourseSummary(2L, "Physics 101", null, null, 3, null, null, null, null, null, 0, null);
 
         enrolledCourses = Arrays.asList(course1, course2);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(studentService.getEnrolledCourses(studentId)).thenReturn(enrolledCourses);
+        CreditSummary credits = new CreditSummary(2, 6, 3.0, List.of());
+
+        when(studentService.getEnrolledCourseSummaries(studentId)).thenReturn(enrolledCourses);
+        when(studentService.getStudentView(studentId)).thenReturn(studentView());
+        when(studentService.getCreditSummary(studentId)).thenReturn(credits);
 
         // Act
-        String viewName = studentController.studentDashboard(model);
+        String viewName = studentController.studentDashboard(testStudent, model);
 
         // Assert
         assertEquals("student/dashboard", viewName);
-        verify(model).addAttribute("student", testStudent);
+        verify(model).addAttribute("student", studentView());
         verify(model).addAttribute("enrolledCourses", enrolledCourses);
+        verify(model).addAttribute("credits", credits);
     }
 
     @Test
@@ -91,38 +83,49 @@ class StudentControllerTest {
         testStudent.setId(studentId);
         testStudent.setUsername(testUsername);
 
-        Course course1 = new Course();
-        course1.setId(1L);
-        course1.setName("Math 101");
+        CourseSummary course1 = new CourseSummary(1L, "Math 101", "MATH101", null, 3, 5L, "Mathematics", 7L, "Ada", "Lovelace", 10, 40);
+        CourseSummary course2 = new CourseSummary(2L, "Physics 101", "PHYS101", null, 4, 6L, "Physics", null, null, null, 5, null);
+        CourseSummary course3 = new CourseSummary(3L, "Chemistry 101", "CHEM101", null, 3, null, null, null, null, null, 0, null);
 
-        Course course2 = new Course();
-        course2.setId(2L);
-        course2.setName("Physics 101");
+        List<CourseSummary> enrolledCourses = Arrays.asList(course1, course2);
+        Page<CourseSummary> availableCourses = new PageImpl<>(Arrays.asList(course3));
 
-        Course course3 = new Course();
-        course3.setId(3L);
-        course3.setName("Chemistry 101");
-
-        enrolledCourses = Arrays.asList(course1, course2);
-        availableCourses = Arrays.asList(course3);
-
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(studentService.getAvailableCourses(studentId)).thenReturn(availableCourses);
-        when(studentService.getEnrolledCourses(studentId)).thenReturn(enrolledCourses);
+        when(studentService.getAvailableCourses(studentId, 5L, 3, null, 0, 12)).thenReturn(availableCourses);
+        when(studentService.getEnrolledCourseSummaries(studentId)).thenReturn(enrolledCourses);
 
         // Act
-        String viewName = studentController.listCourses(model);
+        String viewName = studentController.listCourses(testStudent, 5L, 3, null, 0, 12, null, model);
 
         // Assert
         assertEquals("student/courses", viewName);
         verify(model).addAttribute("availableCourses", availableCourses);
+        verify(model).addAttribute("departmentId", 5L);
+        verify(model).addAttribute("minCredits", 3);
         verify(model).addAttribute("enrolledCourses", enrolledCourses);
         verify(model).addAttribute("student", testStudent);
     }
 
+    @Test
+    void listCourses_withQuery_shouldSearchAvailableCourses() {
+        // Setup
+        testStudent = new Student();
+        testStudent.setId(studentId);
+        CourseSummary match = new CourseSummary(3L, "Chemistry 101", "CHEM101", null, 3, null, null, null, null, null, 0, null);
+        Page<CourseSummary> availableCourses = new PageImpl<>(List.of(match));
+
+        when(studentService.searchAvailableCourses(studentId, "chem", null, null, null, 0, 12)).thenReturn(availableCourses);
+        when(studentService.getEnrolledCourseSummaries(studentId)).thenReturn(List.of());
+
+        // Act
+        String viewName = studentController.listCourses(testStudent, null, null, null, 0, 12, "chem", model);
+
+        // Assert
+        assertEquals("student/courses", viewName);
+        verify(model).addAttribute("availableCourses", availableCourses);
+        verify(model).addAttribute("q", "chem");
+        verify(studentService, never()).getAvailableCourses(any(), any(), any(), any(), anyInt(), anyInt());
+    }
+
     @Test
     void enrollInCourse() {
         // Setup
@@ -131,19 +134,33 @@ class StudentControllerTest {
         testStudent.setId(studentId);
         testStudent.setUsername(testUsername);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
+        when(studentService.enrollInCourse(studentId, courseId)).thenReturn(true);
 
         // Act
-        String viewName = studentController.enrollInCourse(courseId);
+        String viewName = studentController.enrollInCourse(testStudent, courseId);
 
         // Assert
         assertEquals("redirect:/student/courses", viewName);
         verify(studentService).enrollInCourse(studentId, courseId);
     }
 
+    @Test
+    void enrollInCourse_whenCourseIsFull() {
+        // Setup
+        Long courseId = 1L;
+        testStudent = new Student();
+        testStudent.setId(studentId);
+        testStudent.setUsername(testUsername);
+
+        when(studentService.enrollInCourse(studentId, courseId)).thenReturn(false);
+
+        // Act
+        String viewName = studentController.enrollInCourse(testStudent, courseId);
+
+        // Assert
+        assertEquals("redirect:/student/courses?full", viewName);
+    }
+
     @Test
     void unenrollFromCourse() {
         // Setup
@@ -152,13 +169,9 @@ class StudentControllerTest {
         testStudent.setId(studentId);
         testStudent.setUsername(testUsername);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
 
         // Act
-        String viewName = studentController.unenrollFromCourse(courseId);
+        String viewName = studentController.unenrollFromCourse(testStudent, courseId);
 
         // Assert
         assertEquals("redirect:/student/courses", viewName);
@@ -172,25 +185,24 @@ class StudentControllerTest {
         testStudent.setId(studentId);
         testStudent.setUsername(testUsername);
 
-        Course course1 = new Course();
-        course1.setId(1L);
-        course1.setName("Math 101");
+        CourseSummary course1 = new CourseSummary(1L, "Math 101", null, null, 3, null, null, null, null, null, 0, null);
 
         enrolledCourses = Arrays.asList(course1);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(studentService.getEnrolledCourses(studentId)).thenReturn(enrolledCourses);
+        CreditSummary credits = new CreditSummary(1, 3, 3.0, List.of());
+
+        when(studentService.getEnrolledCourseSummaries(studentId)).thenReturn(enrolledCourses);
+        when(studentService.getStudentView(studentId)).thenReturn(studentView());
+        when(studentService.getCreditSummary(studentId)).thenReturn(credits);
 
         // Act
-        String viewName = studentController.viewProfile(model);
+        String viewName = studentController.viewProfile(testStudent, model);
 
         // Assert
         assertEquals("student/profile", viewName);
-        verify(model).addAttribute("student", testStudent);
+        verify(model).addAttribute("student", studentView());
         verify(model).addAttribute("enrolledCourses", enrolledCourses);
+        verify(model).addAttribute("credits", credits);
     }
 
     @Test
@@ -200,17 +212,14 @@ class StudentControllerTest {
         testStudent.setId(studentId);
         testStudent.setUsername(testUsername);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
+        when(studentService.getStudentView(studentId)).thenReturn(studentView());
 
         // Act
-        String viewName = studentController.editProfileForm(model);
+        String viewName = studentController.editProfileForm(testStudent, model);
 
         // Assert
         assertEquals("student/edit-profile", viewName);
-        verify(model).addAttribute("student", testStudent);
+        verify(model).addAttribute("student", studentView());
     }
 
     @Test
@@ -228,26 +237,15 @@ class StudentControllerTest {
 
         String currentPassword = "currentPass123";
         String newPassword = "newPass123";
-        String encodedNewPassword = "encodedNewPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(passwordEncoder.matches(currentPassword, testStudent.getPassword())).thenReturn(true);
-        when(passwordEncoder.encode(newPassword)).thenReturn(encodedNewPassword);
+        when(studentService.updateProfile(studentId, updatedStudent, currentPassword, newPassword)).thenReturn(true);
 
         // Act
-        String viewName = studentController.updateProfile(updatedStudent, newPassword, currentPassword, model);
+        String viewName = studentController.updateProfile(testStudent, updatedStudent, newPassword, currentPassword, model);
 
         // Assert
         assertEquals("redirect:/student/profile?success", viewName);
-        verify(studentService).updateStudent(testStudent);
-        verify(passwordEncoder).encode(newPassword);
-        assertEquals("John", testStudent.getFirstName());
-        assertEquals("Doe", testStudent.getLastName());
-        assertEquals("john.doe@example.com", testStudent.getEmail());
-        assertEquals(encodedNewPassword, testStudent.getPassword());
+        verify(studentService).updateProfile(studentId, updatedStudent, currentPassword, newPassword);
     }
 
     @Test
@@ -265,23 +263,14 @@ class StudentControllerTest {
 
         String currentPassword = "currentPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(passwordEncoder.matches(currentPassword, testStudent.getPassword())).thenReturn(true);
+        when(studentService.updateProfile(studentId, updatedStudent, currentPassword, null)).thenReturn(true);
 
         // Act
-        String viewName = studentController.updateProfile(updatedStudent, null, currentPassword, model);
+        String viewName = studentController.updateProfile(testStudent, updatedStudent, null, currentPassword, model);
 
         // Assert
         assertEquals("redirect:/student/profile?success", viewName);
-        verify(studentService).updateStudent(testStudent);
-        verify(passwordEncoder, never()).encode(anyString());
-        assertEquals("John", testStudent.getFirstName());
-        assertEquals("Doe", testStudent.getLastName());
-        assertEquals("john.doe@example.com", testStudent.getEmail());
-        assertEquals("encodedCurrentPassword", testStudent.getPassword());
+        verify(studentService).updateProfile(studentId, updatedStudent, currentPassword, null);
     }
 
     @Test
@@ -299,23 +288,14 @@ class StudentControllerTest {
 
         String currentPassword = "currentPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(passwordEncoder.matches(currentPassword, testStudent.getPassword())).thenReturn(true);
+        when(studentService.updateProfile(studentId, updatedStudent, currentPassword, "")).thenReturn(true);
 
         // Act
-        String viewName = studentController.updateProfile(updatedStudent, "", currentPassword, model);
+        String viewName = studentController.updateProfile(testStudent, updatedStudent, "", currentPassword, model);
 
         // Assert
         assertEquals("redirect:/student/profile?success", viewName);
-        verify(studentService).updateStudent(testStudent);
-        verify(passwordEncoder, never()).encode(anyString());
-        assertEquals("John", testStudent.getFirstName());
-        assertEquals("Doe", testStudent.getLastName());
-        assertEquals("john.doe@example.com", testStudent.getEmail());
-        assertEquals("encodedCurrentPassword", testStudent.getPassword());
+        verify(studentService).updateProfile(studentId, updatedStudent, currentPassword, "");
     }
 
     @Test
@@ -333,20 +313,17 @@ class StudentControllerTest {
 
         String currentPassword = "wrongPassword";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(passwordEncoder.matches(currentPassword, testStudent.getPassword())).thenReturn(false);
+        when(studentService.updateProfile(studentId, updatedStudent, currentPassword, null)).thenReturn(false);
+        when(studentService.getStudentView(studentId)).thenReturn(studentView());
 
         // Act
-        String viewName = studentController.updateProfile(updatedStudent, null, currentPassword, model);
+        String viewName = studentController.updateProfile(testStudent, updatedStudent, null, currentPassword, model);
 
         // Assert
         assertEquals("student/edit-profile", viewName);
         verify(model).addAttribute("error", "Current password is incorrect");
-        verify(model).addAttribute("student", testStudent);
-        verify(studentService, never()).updateStudent(any());
+        verify(model).addAttribute("student", studentView());
+        verify(model, never()).addAttribute(eq("success"), any());
     }
 
     @Test
@@ -364,18 +341,18 @@ class StudentControllerTest {
 
         String currentPassword = "currentPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(studentService.getStudentByUsername(testUsername)).thenReturn(testStudent);
-        when(passwordEncoder.matches(currentPassword, testStudent.getPassword())).thenReturn(true);
-        doThrow(new RuntimeException("Database error")).when(studentService).updateStudent(any());
+        doThrow(new RuntimeException("Database error")).when(studentService).updateProfile(any(), any(), any(), any());
 
         // Act
-        String viewName = studentController.updateProfile(updatedStudent, null, currentPassword, model);
+        String viewName = studentController.updateProfile(testStudent, updatedStudent, null, currentPassword, model);
 
         // Assert
         assertEquals("student/edit-profile", viewName);
         verify(model).addAttribute(eq("error"), contains("Error updating profile"));
     }
-}
\ No newline at end of file
+
+    private StudentView studentView() {
+        return new StudentView(studentId, "S001", testUsername, "Jane", "Doe", "jane@example.com",
+                List.of(new DepartmentOption(5L, "Mathematics", "MATH", null)), 2);
+    }
+}
@@ -1,25 +1,26 @@
 package com.example.university.controller;
 
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.TeacherView;
 import com.example.university.entity.Course;
-import com.example.university.entity.Department;
 import com.example.university.entity.Teacher;
 import com.example.university.service.CourseService;
 import com.example.university.service.DepartmentService;
+import com.example.university.service.ExportFormat;
+import com.example.university.service.ExportService;
+import com.example.university.service.StudentService;
 import com.example.university.service.TeacherService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContext;
-import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.ui.Model;
 
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashSet;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -36,19 +37,16 @@ class TeacherControllerTest {
     private TeacherService teacherService;
 
     @Mock
-    private DepartmentService departmentService;
-
-    @Mock
-    private PasswordEncoder passwordEncoder;
+    private StudentService studentService;
 
     @Mock
-    private Model model;
+    private DepartmentService departmentService;
 
     @Mock
-    private Authentication authentication;
+    private ExportService exportService;
 
     @Mock
-    private SecurityContext securityContext;
+    private Model model;
 
     @InjectMocks
     private TeacherController teacherController;
@@ -58,10 +56,9 @@ class TeacherControllerTest {
     private final Long courseId = 1L;
     private final Long departmentId = 1L;
     private Teacher testTeacher;
-    private Course testCourse;
-    private Department testDepartment;
-    private List<Course> teacherCourses;
-    private List<Department> departments;
+    private CourseSummary testCourse;
+    private List<CourseSummary> teacherCourses;
+    private List<DepartmentOption> departments;
 
     @Test
     void teacherDashboard() {
@@ -70,28 +67,21 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        Course course1 = new Course();
-        course1.setId(1L);
-        course1.setName("Math 101");
+        CourseSummary course1 = summary(1L, "Math 101", teacherId);
 
-        Course course2 = new Course();
-        course2.setId(2L);
-        course2.setName("Physics 101");
+        CourseSummary course2 = summary(2L, "Physics 101", teacherId);
 
         teacherCourses = Arrays.asList(course1, course2);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(teacherCourses);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(teacherCourses);
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.teacherDashboard(model);
+        String viewName = teacherController.teacherDashboard(testTeacher, model);
 
         // Assert
         assertEquals("teacher/dashboard", viewName);
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("teacher", teacherView());
         verify(model).addAttribute("courses", teacherCourses);
     }
 
@@ -102,32 +92,23 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        Course course1 = new Course();
-        course1.setId(1L);
-        course1.setName("Math 101");
+        CourseSummary course1 = summary(1L, "Math 101", teacherId);
 
         teacherCourses = Arrays.asList(course1);
 
-        testDepartment = new Department();
-        testDepartment.setId(departmentId);
-        testDepartment.setName("Computer Science");
+        departments = Arrays.asList(new DepartmentOption(departmentId, "Computer Science", "CS", null));
 
-        departments = Arrays.asList(testDepartment);
-
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(teacherCourses);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(teacherCourses);
         when(departmentService.getAllDepartments()).thenReturn(departments);
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.listCourses(model);
+        String viewName = teacherController.listCourses(testTeacher, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
         verify(model).addAttribute("courses", teacherCourses);
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("teacher", teacherView());
         verify(model).addAttribute("departments", departments);
         verify(model).addAttribute(eq("course"), any(Course.class));
     }
@@ -144,13 +125,9 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
 
         // Act
-        String viewName = teacherController.createCourse(newCourse, departmentId, model);
+        String viewName = teacherController.createCourse(testTeacher, newCourse, departmentId, model);
 
         // Assert
         assertEquals("redirect:/teacher/courses?success", viewName);
@@ -167,15 +144,11 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.createCourse(newCourse, null, model);
+        String viewName = teacherController.createCourse(testTeacher, newCourse, null, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -193,15 +166,11 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.createCourse(newCourse, departmentId, model);
+        String viewName = teacherController.createCourse(testTeacher, newCourse, departmentId, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -219,16 +188,12 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
         doThrow(new RuntimeException("Database error")).when(courseService).createCourse(any(), any(), any());
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.createCourse(newCourse, departmentId, model);
+        String viewName = teacherController.createCourse(testTeacher, newCourse, departmentId, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -242,30 +207,21 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testDepartment = new Department();
-        testDepartment.setId(departmentId);
-
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(testTeacher);
-        testCourse.setDepartment(testDepartment);
+        testCourse = courseTaughtBy(testTeacher.getId());
 
-        departments = Arrays.asList(testDepartment);
+        departments = Arrays.asList(new DepartmentOption(departmentId, "Computer Science", "CS", null));
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
         when(departmentService.getAllDepartments()).thenReturn(departments);
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.editCourseForm(courseId, model);
+        String viewName = teacherController.editCourseForm(testTeacher, courseId, model);
 
         // Assert
         assertEquals("teacher/edit-course", viewName);
         verify(model).addAttribute("course", testCourse);
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("teacher", teacherView());
         verify(model).addAttribute("departments", departments);
     }
 
@@ -279,20 +235,14 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(otherTeacher);
+        testCourse = courseTaughtBy(otherTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.editCourseForm(courseId, model);
+        String viewName = teacherController.editCourseForm(testTeacher, courseId, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -311,18 +261,12 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(testTeacher);
+        testCourse = courseTaughtBy(testTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
 
         // Act
-        String viewName = teacherController.updateCourse(courseId, updatedCourse, departmentId, model);
+        String viewName = teacherController.updateCourse(testTeacher, courseId, updatedCourse, departmentId, model);
 
         // Assert
         assertEquals("redirect:/teacher/courses?success", viewName);
@@ -342,20 +286,14 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(otherTeacher);
+        testCourse = courseTaughtBy(otherTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.updateCourse(courseId, updatedCourse, departmentId, model);
+        String viewName = teacherController.updateCourse(testTeacher, courseId, updatedCourse, departmentId, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -373,20 +311,14 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(testTeacher);
+        testCourse = courseTaughtBy(testTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.updateCourse(courseId, updatedCourse, null, model);
+        String viewName = teacherController.updateCourse(testTeacher, courseId, updatedCourse, null, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -404,20 +336,14 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(testTeacher);
+        testCourse = courseTaughtBy(testTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.updateCourse(courseId, updatedCourse, departmentId, model);
+        String viewName = teacherController.updateCourse(testTeacher, courseId, updatedCourse, departmentId, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -432,18 +358,12 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(testTeacher);
+        testCourse = courseTaughtBy(testTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
 
         // Act
-        String viewName = teacherController.deleteCourse(courseId, model);
+        String viewName = teacherController.deleteCourse(testTeacher, courseId, model);
 
         // Assert
         assertEquals("redirect:/teacher/courses?deleted", viewName);
@@ -460,20 +380,14 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(otherTeacher);
+        testCourse = courseTaughtBy(otherTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.deleteCourse(courseId, model);
+        String viewName = teacherController.deleteCourse(testTeacher, courseId, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -488,25 +402,62 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(testTeacher);
-        testCourse.setStudents(new HashSet<>());
+        testCourse = courseTaughtBy(testTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        when(studentService.getStudentViewsInCourse(courseId)).thenReturn(List.of());
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.viewCourseStudents(courseId, model);
+        String viewName = teacherController.viewCourseStudents(testTeacher, courseId, model);
 
         // Assert
         assertEquals("teacher/course-students", viewName);
         verify(model).addAttribute("course", testCourse);
-        verify(model).addAttribute("students", testCourse.getStudents());
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("students", List.of());
+        verify(model).addAttribute("teacher", teacherView());
+    }
+
+    @Test
+    void exportCourseStudents_success() throws Exception {
+        // Setup
+        testTeacher = new Teacher();
+        testTeacher.setId(teacherId);
+
+        testCourse = courseTaughtBy(testTeacher.getId());
+
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        teacherController.exportCourseStudents(testTeacher, courseId, "json", response);
+
+        // Assert
+        assertEquals("application/json;charset=UTF-8", response.getContentType());
+        assertEquals("attachment; filename=\"CS101-students.json\"", response.getHeader("Content-Disposition"));
+        verify(exportService).exportCourseEnrollments(eq(courseId), eq(ExportFormat.JSON), any());
+    }
+
+    @Test
+    void exportCourseStudents_notOwnCourse() throws Exception {
+        // Setup
+        Teacher otherTeacher = new Teacher();
+        otherTeacher.setId(2L);
+
+        testTeacher = new Teacher();
+        testTeacher.setId(teacherId);
+
+        testCourse = courseTaughtBy(otherTeacher.getId());
+
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        teacherController.exportCourseStudents(testTeacher, courseId, "csv", response);
+
+        // Assert
+        assertEquals(403, response.getStatus());
+        verifyNoInteractions(exportService);
     }
 
     @Test
@@ -519,20 +470,14 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        testCourse = new Course();
-        testCourse.setId(courseId);
-        testCourse.setTeacher(otherTeacher);
+        testCourse = courseTaughtBy(otherTeacher.getId());
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(courseService.getCourseById(courseId)).thenReturn(testCourse);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(courseService.getCourseSummary(courseId)).thenReturn(testCourse);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
         when(departmentService.getAllDepartments()).thenReturn(new ArrayList<>());
 
         // Act
-        String viewName = teacherController.viewCourseStudents(courseId, model);
+        String viewName = teacherController.viewCourseStudents(testTeacher, courseId, model);
 
         // Assert
         assertEquals("teacher/courses", viewName);
@@ -546,24 +491,19 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        Course course1 = new Course();
-        course1.setId(1L);
-        course1.setName("Math 101");
+        CourseSummary course1 = summary(1L, "Math 101", teacherId);
 
         teacherCourses = Arrays.asList(course1);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(teacherCourses);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(teacherCourses);
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.viewProfile(model);
+        String viewName = teacherController.viewProfile(testTeacher, model);
 
         // Assert
         assertEquals("teacher/profile", viewName);
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("teacher", teacherView());
         verify(model).addAttribute("courses", teacherCourses);
     }
 
@@ -574,24 +514,19 @@ class TeacherControllerTest {
         testTeacher.setId(teacherId);
         testTeacher.setUsername(testUsername);
 
-        Course course1 = new Course();
-        course1.setId(1L);
-        course1.setName("Math 101");
+        CourseSummary course1 = summary(1L, "Math 101", teacherId);
 
         teacherCourses = Arrays.asList(course1);
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(teacherCourses);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(teacherCourses);
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.editProfileForm(model);
+        String viewName = teacherController.editProfileForm(testTeacher, model);
 
         // Assert
         assertEquals("teacher/edit-profile", viewName);
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("teacher", teacherView());
         verify(model).addAttribute("courses", teacherCourses);
     }
 
@@ -611,27 +546,15 @@ class TeacherControllerTest {
 
         String currentPassword = "currentPass123";
         String newPassword = "newPass123";
-        String encodedNewPassword = "encodedNewPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(passwordEncoder.matches(currentPassword, testTeacher.getPassword())).thenReturn(true);
-        when(passwordEncoder.encode(newPassword)).thenReturn(encodedNewPassword);
+        when(teacherService.updateProfile(teacherId, updatedTeacher, currentPassword, newPassword)).thenReturn(true);
 
         // Act
-        String viewName = teacherController.updateProfile(updatedTeacher, newPassword, currentPassword, model);
+        String viewName = teacherController.updateProfile(testTeacher, updatedTeacher, newPassword, currentPassword, model);
 
         // Assert
         assertEquals("redirect:/teacher/profile?success", viewName);
-        verify(teacherService).updateTeacher(testTeacher);
-        verify(passwordEncoder).encode(newPassword);
-        assertEquals("John", testTeacher.getFirstName());
-        assertEquals("Doe", testTeacher.getLastName());
-        assertEquals("john.doe@example.com", testTeacher.getEmail());
-        assertEquals("PhD", testTeacher.getQualification());
-        assertEquals(encodedNewPassword, testTeacher.getPassword());
+        verify(teacherService).updateProfile(teacherId, updatedTeacher, currentPassword, newPassword);
     }
 
     @Test
@@ -650,24 +573,14 @@ class TeacherControllerTest {
 
         String currentPassword = "currentPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(passwordEncoder.matches(currentPassword, testTeacher.getPassword())).thenReturn(true);
+        when(teacherService.updateProfile(teacherId, updatedTeacher, currentPassword, null)).thenReturn(true);
 
         // Act
-        String viewName = teacherController.updateProfile(updatedTeacher, null, currentPassword, model);
+        String viewName = teacherController.updateProfile(testTeacher, updatedTeacher, null, currentPassword, model);
 
         // Assert
         assertEquals("redirect:/teacher/profile?success", viewName);
-        verify(teacherService).updateTeacher(testTeacher);
-        verify(passwordEncoder, never()).encode(anyString());
-        assertEquals("John", testTeacher.getFirstName());
-        assertEquals("Doe", testTeacher.getLastName());
-        assertEquals("john.doe@example.com", testTeacher.getEmail());
-        assertEquals("PhD", testTeacher.getQualification());
-        assertEquals("encodedCurrentPassword", testTeacher.getPassword());
+        verify(teacherService).updateProfile(teacherId, updatedTeacher, currentPassword, null);
     }
 
     @Test
@@ -686,24 +599,14 @@ class TeacherControllerTest {
 
         String currentPassword = "currentPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(passwordEncoder.matches(currentPassword, testTeacher.getPassword())).thenReturn(true);
+        when(teacherService.updateProfile(teacherId, updatedTeacher, currentPassword, "")).thenReturn(true);
 
         // Act
-        String viewName = teacherController.updateProfile(updatedTeacher, "", currentPassword, model);
+        String viewName = teacherController.updateProfile(testTeacher, updatedTeacher, "", currentPassword, model);
 
         // Assert
         assertEquals("redirect:/teacher/profile?success", viewName);
-        verify(teacherService).updateTeacher(testTeacher);
-        verify(passwordEncoder, never()).encode(anyString());
-        assertEquals("John", testTeacher.getFirstName());
-        assertEquals("Doe", testTeacher.getLastName());
-        assertEquals("john.doe@example.com", testTeacher.getEmail());
-        assertEquals("PhD", testTeacher.getQualification());
-        assertEquals("encodedCurrentPassword", testTeacher.getPassword());
+        verify(teacherService).updateProfile(teacherId, updatedTeacher, currentPassword, "");
     }
 
     @Test
@@ -721,22 +624,18 @@ class TeacherControllerTest {
 
         String currentPassword = "wrongPassword";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(passwordEncoder.matches(currentPassword, testTeacher.getPassword())).thenReturn(false);
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(teacherService.updateProfile(teacherId, updatedTeacher, currentPassword, null)).thenReturn(false);
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.updateProfile(updatedTeacher, null, currentPassword, model);
+        String viewName = teacherController.updateProfile(testTeacher, updatedTeacher, null, currentPassword, model);
 
         // Assert
         assertEquals("teacher/edit-profile", viewName);
         verify(model).addAttribute("error", "Current password is incorrect");
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("teacher", teacherView());
         verify(model).addAttribute("courses", new ArrayList<>());
-        verify(teacherService, never()).updateTeacher(any());
     }
 
     @Test
@@ -754,21 +653,31 @@ class TeacherControllerTest {
 
         String currentPassword = "currentPass123";
 
-        when(securityContext.getAuthentication()).thenReturn(authentication);
-        SecurityContextHolder.setContext(securityContext);
-        when(authentication.getName()).thenReturn(testUsername);
-        when(teacherService.getTeacherByUsername(testUsername)).thenReturn(testTeacher);
-        when(passwordEncoder.matches(currentPassword, testTeacher.getPassword())).thenReturn(true);
-        doThrow(new RuntimeException("Database error")).when(teacherService).updateTeacher(any());
-        when(courseService.getCoursesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        doThrow(new RuntimeException("Database error")).when(teacherService).updateProfile(any(), any(), any(), any());
+        when(courseService.getCourseSummariesByTeacher(teacherId)).thenReturn(new ArrayList<>());
+        when(teacherService.getTeacherView(teacherId)).thenReturn(teacherView());
 
         // Act
-        String viewName = teacherController.updateProfile(updatedTeacher, null, currentPassword, model);
+        String viewName = teacherController.updateProfile(testTeacher, updatedTeacher, null, currentPassword, model);
 
         // Assert
         assertEquals("teacher/edit-profile", viewName);
         verify(model).addAttribute(eq("error"), contains("Error updating profile"));
-        verify(model).addAttribute("teacher", testTeacher);
+        verify(model).addAttribute("teacher", teacherView());
         verify(model).addAttribute("courses", new ArrayList<>());
     }
-}
\ No newline at end of file
+
+    private CourseSummary courseTaughtBy(Long courseTeacherId) {
+        return summary(courseId, "Data Structures", courseTeacherId);
+    }
+
+    private CourseSummary summary(Long id, String name, Long courseTeacherId) {
+        return new CourseSummary(id, name, "CS101", null, 3, departmentId, "Computer Science",
+                courseTeacherId, "Ada", "Lovelace", 0, 30);
+    }
+
+    private TeacherView teacherView() {
+        return new TeacherView(teacherId, "T001", testUsername, "Ada", "Lovelace", "ada@example.com", "PhD",
+                new DepartmentOption(departmentId, "Computer Science", "CS", null));
+    }
+}
@@ -0,0 +1,272 @@
+package com.example.university.integration;
+
+import com.example.university.config.BoundedPasswordEncoder;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.ImportError;
+import com.example.university.dto.ImportReport;
+import com.example.university.entity.Department;
+import com.example.university.entity.Role;
+import com.example.university.entity.Student;
+import com.example.university.entity.Teacher;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import com.example.university.repository.TeacherRepository;
+import com.example.university.service.BulkImportService;
+import com.example.university.service.DepartmentService;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@Transactional
+class BulkImportIntegrationTest {
+
+    @Autowired
+    private BulkImportService bulkImportService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private AsyncCache<String, List<DepartmentOption>> departmentCache;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    private String uniqueId;
+
+    @BeforeEach
+    void setUp() {
+        uniqueId = String.valueOf(System.currentTimeMillis());
+        departmentCache.synchronous().invalidateAll();
+    }
+
+    @Test
+    void importStudents_ShouldInsertValidRowsAndReportTheRest() throws Exception {
+        // Given one student already registered
+        studentRepository.saveAndFlush(new Student("taken." + uniqueId, "taken." + uniqueId + "@test.com",
+                passwordEncoder.encode("password"), "TAKEN-" + uniqueId, "Taken", "Student"));
+
+        String csv = "username,email,password,studentId,firstName,lastName\n" +
+                "alice." + uniqueId + ",alice." + uniqueId + "@test.com,password1,A-" + uniqueId + ",Alice,\"Smith, Jr\"\n" +
+                "bob." + uniqueId + ",not-an-email,password1,B-" + uniqueId + ",Bob,Jones\n" +
+                "taken." + uniqueId + ",other." + uniqueId + "@test.com,password1,C-" + uniqueId + ",Taken,Again\n" +
+                "alice." + uniqueId + ",alice2." + uniqueId + "@test.com,password1,D-" + uniqueId + ",Alice,Twice\n";
+
+        // When
+        ImportReport report = bulkImportService.importStudents(stream(csv));
+
+        // Then
+        assertThat(report.rowsRead()).isEqualTo(4);
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isEqualTo(3);
+        assertThat(report.errors()).extracting(ImportError::line).containsExactlyInAnyOrder(3L, 4L, 5L);
+
+        Student alice = studentRepository.findByUsername("alice." + uniqueId).orElseThrow();
+        assertThat(alice.getStudentId()).isEqualTo("A-" + uniqueId);
+        assertThat(alice.getLastName()).isEqualTo("Smith, Jr");
+        assertThat(alice.getRole()).isEqualTo(Role.ROLE_STUDENT);
+        assertThat(alice.isEnabled()).isTrue();
+        assertThat(passwordEncoder.matches("password1", alice.getPassword())).isTrue();
+    }
+
+    // Not rolled back: the department list is loaded in a transaction of its own, which only sees
+    // committed departments
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importTeachers_ShouldResolveDepartmentCodes() throws Exception {
+        // Given
+        Department department = departmentRepository.save(
+                new Department("Import Dept " + uniqueId, "IMP" + uniqueId, "Import test"));
+
+        String csv = "username,email,password,teacherId,firstName,lastName,qualification,department\n" +
+                "prof." + uniqueId + ",prof." + uniqueId + "@test.com,password1,T-" + uniqueId + ",Ada,Lovelace,PhD,IMP" + uniqueId + "\n" +
+                "nodept." + uniqueId + ",nodept." + uniqueId + "@test.com,password1,U-" + uniqueId + ",Alan,Turing,,\n" +
+                "bad." + uniqueId + ",bad." + uniqueId + "@test.com,password1,V-" + uniqueId + ",Grace,Hopper,,NOPE\n";
+
+        try {
+            // When
+            ImportReport report = bulkImportService.importTeachers(stream(csv));
+
+            // Then
+            assertThat(report.imported()).isEqualTo(2);
+            assertThat(report.errors()).containsExactly(new ImportError(4, "Department not found: NOPE"));
+
+            Teacher teacher = teacherRepository.findByTeacherId("T-" + uniqueId).orElseThrow();
+            assertThat(teacher.getDepartment().getId()).isEqualTo(department.getId());
+            assertThat(teacher.getQualification()).isEqualTo("PhD");
+            Teacher noDepartment = teacherRepository.findByTeacherId("U-" + uniqueId).orElseThrow();
+            assertThat(noDepartment.getDepartment()).isNull();
+            assertThat(noDepartment.getQualification()).isNull();
+        } finally {
+            teacherRepository.findByTeacherId("T-" + uniqueId).ifPresent(teacherRepository::delete);
+            teacherRepository.findByTeacherId("U-" + uniqueId).ifPresent(teacherRepository::delete);
+            departmentRepository.deleteById(department.getId());
+        }
+    }
+
+    @Test
+    void importStudents_WithManyPrehashedRows_ShouldImportAcrossChunks() throws Exception {
+        // Given rows that already carry bcrypt hashes, so only the inserts are measured
+        String hash = passwordEncoder.encode("password");
+        StringBuilder csv = new StringBuilder("username,email,password,studentId,firstName,lastName\n");
+        int rows = 2500;
+        for (int i = 0; i < rows; i++) {
+            csv.append("bulk").append(i).append('.').append(uniqueId).append(',')
+                    .append("bulk").append(i).append('.').append(uniqueId).append("@test.com,")
+                    .append(hash).append(",BULK-").append(i).append('-').append(uniqueId)
+                    .append(",Bulk,Student").append(i).append('\n');
+        }
+
+        // When
+        ImportReport report = bulkImportService.importStudents(stream(csv.toString()));
+
+        // Then
+        assertThat(report.imported()).isEqualTo(rows);
+        assertThat(report.rejected()).isZero();
+        Student last = studentRepository.findByStudentId("BULK-" + (rows - 1) + "-" + uniqueId).orElseThrow();
+        assertThat(last.getPassword()).isEqualTo(hash);
+    }
+
+    @Test
+    void importStudents_WithByteOrderMark_ShouldReadFirstColumn() throws Exception {
+        // Given a file as saved by Excel's "CSV UTF-8"
+        String csv = "\uFEFFusername,email,password,studentId,firstName,lastName\n" +
+                "bom." + uniqueId + ",bom." + uniqueId + "@test.com,password1,BOM-" + uniqueId + ",Byte,Order\n";
+
+        // When
+        ImportReport report = bulkImportService.importStudents(stream(csv));
+
+        // Then
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.rejected()).isZero();
+        assertThat(studentRepository.findByUsername("bom." + uniqueId)).isPresent();
+    }
+
+    // Not rolled back: the failed batch has to roll back on its own before the rows are retried
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void importStudents_WhenDatabaseRefusesOneRow_ShouldRejectOnlyThatRow() throws Exception {
+        // Given a first name longer than the column, which only the database checks
+        String csv = "username,email,password,studentId,firstName,lastName\n" +
+                "ok1." + uniqueId + ",ok1." + uniqueId + "@test.com,password1,OK1-" + uniqueId + ",Ok,One\n" +
+                "long." + uniqueId + ",long." + uniqueId + "@test.com,password1,LONG-" + uniqueId + "," + "x".repeat(300) + ",Name\n" +
+                "ok2." + uniqueId + ",ok2." + uniqueId + "@test.com,password1,OK2-" + uniqueId + ",Ok,Two\n";
+
+        try {
+            // When
+            ImportReport report = bulkImportService.importStudents(stream(csv));
+
+            // Then
+            assertThat(report.imported()).isEqualTo(2);
+            assertThat(report.errors()).extracting(ImportError::line).containsExactly(3L);
+            assertThat(studentRepository.findByStudentId("OK1-" + uniqueId)).isPresent();
+            assertThat(studentRepository.findByStudentId("OK2-" + uniqueId)).isPresent();
+            assertThat(studentRepository.findByStudentId("LONG-" + uniqueId)).isEmpty();
+        } finally {
+            studentRepository.findByStudentId("OK1-" + uniqueId).ifPresent(studentRepository::delete);
+            studentRepository.findByStudentId("OK2-" + uniqueId).ifPresent(studentRepository::delete);
+        }
+    }
+
+    @Test
+    void importStudents_WhenHashingQueueRejectsOneRow_ShouldRejectOnlyThatRow() throws Exception {
+        // Given a hashing pool that turns away the second password submitted
+        AtomicInteger submitted = new AtomicInteger();
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new LinkedBlockingQueue<>()) {
+            @Override
+            public void execute(Runnable command) {
+                if (submitted.incrementAndGet() == 2) {
+                    throw new RejectedExecutionException("Hashing queue is full");
+                }
+                super.execute(command);
+            }
+        };
+        BoundedPasswordEncoder encoder = new BoundedPasswordEncoder(new BCryptPasswordEncoder(4), executor);
+        BulkImportService importService = new BulkImportService(jdbcTemplate, namedParameterJdbcTemplate,
+                transactionTemplate, encoder, departmentService, 1);
+        String csv = "username,email,password,studentId,firstName,lastName\n" +
+                "h1." + uniqueId + ",h1." + uniqueId + "@test.com,password1,H1-" + uniqueId + ",Hash,One\n" +
+                "h2." + uniqueId + ",h2." + uniqueId + "@test.com,password1,H2-" + uniqueId + ",Hash,Two\n" +
+                "h3." + uniqueId + ",h3." + uniqueId + "@test.com,password1,H3-" + uniqueId + ",Hash,Three\n";
+
+        try {
+            // When
+            ImportReport report = importService.importStudents(stream(csv));
+
+            // Then
+            assertThat(report.imported()).isEqualTo(2);
+            assertThat(report.errors()).containsExactly(
+                    new ImportError(3, "Password hashing is busy, import this row again later"));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void importStudents_WhenReadingStopsMidFile_ShouldReportRowsBeforeIt() throws Exception {
+        // Given
+        String csv = "username,email,password,studentId,firstName,lastName\n" +
+                "cut." + uniqueId + ",cut." + uniqueId + "@test.com,password1,CUT-" + uniqueId + ",Cut,Short\n" +
+                "\"unterminated,cut2@test.com,password1,CUT2,Cut,Off\n";
+
+        // When
+        ImportReport report = bulkImportService.importStudents(stream(csv));
+
+        // Then
+        assertThat(report.imported()).isEqualTo(1);
+        assertThat(report.failure()).startsWith("Reading stopped after 1 rows: Unterminated quoted field");
+        assertThat(studentRepository.findByUsername("cut." + uniqueId)).isPresent();
+    }
+
+    @Test
+    void importStudents_WithMissingColumn_ShouldFail() {
+        assertThatThrownBy(() -> bulkImportService.importStudents(stream("username,email,password\n")))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("Missing column: studentid");
+    }
+
+    private InputStream stream(String csv) {
+        return new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8));
+    }
+}
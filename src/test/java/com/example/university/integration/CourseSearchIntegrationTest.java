@@ -0,0 +1,174 @@
+package com.example.university.integration;
+
+import com.example.university.dto.CourseSummary;
+import com.example.university.entity.Course;
+import com.example.university.entity.Department;
+import com.example.university.entity.Role;
+import com.example.university.entity.Student;
+import com.example.university.entity.Teacher;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import com.example.university.repository.TeacherRepository;
+import com.example.university.service.CourseService;
+import com.example.university.service.DepartmentService;
+import com.example.university.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Not @Transactional: the search index is updated after commit.
+@SpringBootTest
+class CourseSearchIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    private String uniqueId;
+    private Department department;
+    private Teacher teacher;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        uniqueId = String.valueOf(System.currentTimeMillis());
+        department = departmentRepository.save(new Department("Searchable " + uniqueId, "SE-" + uniqueId, "Search"));
+
+        teacher = new Teacher();
+        teacher.setUsername("search.teacher." + uniqueId);
+        teacher.setEmail("search.teacher." + uniqueId + "@university.com");
+        teacher.setPassword("password");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setTeacherId("TSE-" + uniqueId);
+        teacher.setFirstName("Grace");
+        teacher.setLastName("Search");
+        teacher.setDepartment(department);
+        teacherRepository.save(teacher);
+
+        // Build the index before the course exists, so it has to be picked up by the event
+        courseService.searchCourses("warmup", 10);
+        course = courseService.createCourse(
+                new Course("Quantum Widgets " + uniqueId, "QW-" + uniqueId, "Entanglement basics", 3),
+                department.getId(), teacher.getId());
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.findById(course.getId()).ifPresent(existing -> courseService.deleteCourse(existing.getId()));
+        teacherRepository.deleteById(teacher.getId());
+        departmentRepository.deleteById(department.getId());
+    }
+
+    @Test
+    void searchCourses_ShouldFindNewCourseByPrefixOfEachWord() {
+        // When / Then
+        assertThat(courseService.searchCourses("quant widg " + uniqueId, 10))
+                .extracting(CourseSummary::id).containsExactly(course.getId());
+        assertThat(courseService.searchCourses("entangle " + uniqueId, 10))
+                .extracting(CourseSummary::name).containsExactly(course.getName());
+    }
+
+    @Test
+    void searchCourses_ShouldSplitWordsOnPunctuationLikeSearchTerms() {
+        // When
+        courseService.updateCourse(course.getId(),
+                new Course("Java/Spring " + uniqueId, course.getCode(), "Served from foo.bar", 3), department.getId(), null);
+
+        // Then: on either backend
+        assertThat(courseService.searchCourses("spring " + uniqueId, 10))
+                .extracting(CourseSummary::id).containsExactly(course.getId());
+        assertThat(courseService.searchCourses("bar " + uniqueId, 10))
+                .extracting(CourseSummary::id).containsExactly(course.getId());
+        assertThat(courseService.searchCourses("java/spring foo.bar " + uniqueId, 10))
+                .extracting(CourseSummary::id).containsExactly(course.getId());
+    }
+
+    @Test
+    void searchCourses_ShouldFollowCourseUpdateAndDelete() {
+        // When
+        courseService.updateCourse(course.getId(),
+                new Course("Classical Gadgets " + uniqueId, course.getCode(), null, 3), department.getId(), null);
+
+        // Then
+        assertThat(courseService.searchCourses("quantum " + uniqueId, 10)).isEmpty();
+        assertThat(courseService.searchCourses("gadgets " + uniqueId, 10))
+                .extracting(CourseSummary::id).containsExactly(course.getId());
+
+        // When
+        courseService.deleteCourse(course.getId());
+
+        // Then
+        assertThat(courseService.searchCourses("gadgets " + uniqueId, 10)).isEmpty();
+    }
+
+    @Test
+    void searchCourses_ShouldFollowDepartmentRename() {
+        // When
+        departmentService.updateDepartment(department.getId(),
+                new Department("Renamed " + uniqueId, department.getCode(), "Search"));
+
+        // Then
+        assertThat(courseService.searchCourses("renamed " + uniqueId, 10))
+                .extracting(CourseSummary::id).containsExactly(course.getId());
+        assertThat(courseService.searchCourses("searchable " + uniqueId, 10)).isEmpty();
+    }
+
+    @Test
+    void searchAvailableCourses_ShouldFilterInsideTheSearchAndCountAllMatches() {
+        // Given: the enrolled course and a heavier one match the query too
+        Course heavy = courseService.createCourse(
+                new Course("Quantum Widgets Lab " + uniqueId, "QL-" + uniqueId, null, 6), department.getId(), teacher.getId());
+        Course light = courseService.createCourse(
+                new Course("Quantum Widgets Seminar " + uniqueId, "QS-" + uniqueId, null, 2), department.getId(), teacher.getId());
+        Student student = new Student();
+        student.setUsername("search.student." + uniqueId);
+        student.setEmail("search.student." + uniqueId + "@university.com");
+        student.setPassword("password");
+        student.setRole(Role.ROLE_STUDENT);
+        student.setStudentId("SSE-" + uniqueId);
+        student.setFirstName("Ada");
+        student.setLastName("Search");
+        student = studentRepository.save(student);
+        studentService.enrollInCourse(student.getId(), course.getId());
+
+        try {
+            // When
+            Page<CourseSummary> all = studentService.searchAvailableCourses(student.getId(), "quantum " + uniqueId,
+                    null, null, null, 0, 1);
+            Page<CourseSummary> filtered = studentService.searchAvailableCourses(student.getId(), "quantum " + uniqueId,
+                    department.getId(), null, 4, 0, 10);
+
+            // Then
+            assertThat(all.getTotalElements()).isEqualTo(2);
+            assertThat(all.getContent()).extracting(CourseSummary::id).containsAnyOf(heavy.getId(), light.getId());
+            assertThat(filtered.getContent()).extracting(CourseSummary::id).containsExactly(light.getId());
+        } finally {
+            studentService.deleteStudent(student.getId());
+            courseService.deleteCourse(heavy.getId());
+            courseService.deleteCourse(light.getId());
+        }
+    }
+}
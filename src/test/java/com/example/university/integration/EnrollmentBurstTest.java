@@ -0,0 +1,130 @@
+package com.example.university.integration;
+
+import com.example.university.entity.Course;
+import com.example.university.entity.Department;
+import com.example.university.entity.Student;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import com.example.university.service.StudentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Registration-day burst: many students hit one capped course at once. Not @Transactional, because
+// every enrollment has to commit on its own thread for the seat race to be real.
+// Scale with -Denrollment.burst.students=5000 -Denrollment.burst.threads=64.
+@SpringBootTest
+class EnrollmentBurstTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(EnrollmentBurstTest.class);
+
+    private static final int STUDENTS = Integer.getInteger("enrollment.burst.students", 300);
+    private static final int THREADS = Integer.getInteger("enrollment.burst.threads", 16);
+    private static final int CAPACITY = STUDENTS / 3;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Department department;
+    private Course course;
+    private final List<Long> studentIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        String uniqueId = String.valueOf(System.currentTimeMillis());
+
+        department = departmentRepository.save(new Department("Burst " + uniqueId, "BST" + uniqueId, "Burst test"));
+
+        course = new Course("Burst Course " + uniqueId, "BC" + uniqueId, "Registration day", 3);
+        course.setCapacity(CAPACITY);
+        course.setDepartment(department);
+        course = courseRepository.save(course);
+
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < STUDENTS; i++) {
+            students.add(new Student("burst" + i + "." + uniqueId, "burst" + i + "." + uniqueId + "@test.com",
+                    "password", "BST-" + i + "-" + uniqueId, "Burst", "Student" + i));
+        }
+        studentRepository.saveAll(students).forEach(student -> studentIds.add(student.getId()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        studentRepository.deleteAllById(studentIds);
+        courseRepository.deleteById(course.getId());
+        departmentRepository.deleteById(department.getId());
+    }
+
+    @Test
+    void burstOfEnrollments_ShouldFillCourseExactlyToCapacity() throws Exception {
+        // Every student clicks twice, so duplicates race against each other as well as for seats
+        List<Long> attempts = new ArrayList<>(studentIds);
+        attempts.addAll(studentIds);
+        Collections.shuffle(attempts);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger rejected = new AtomicInteger();
+        List<Future<?>> results = new ArrayList<>();
+        try {
+            for (Long studentId : attempts) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    if (!studentService.enrollInCourse(studentId, course.getId())) {
+                        rejected.incrementAndGet();
+                    }
+                    return null;
+                }));
+            }
+
+            long began = System.nanoTime();
+            start.countDown();
+            for (Future<?> result : results) {
+                result.get(2, TimeUnit.MINUTES);
+            }
+            long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - began));
+            logger.info("Enrollment burst: {} attempts on {} threads in {} ms ({} per second)",
+                    attempts.size(), THREADS, elapsedMillis, attempts.size() * 1000L / elapsedMillis);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Integer rows = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM student_courses WHERE course_id = ?", Integer.class, course.getId());
+        Course after = courseRepository.findById(course.getId()).orElseThrow();
+
+        assertThat(rows).isEqualTo(CAPACITY);
+        assertThat(after.getEnrolledStudentCount()).isEqualTo(CAPACITY);
+        assertThat(rejected.get()).isGreaterThanOrEqualTo(STUDENTS - CAPACITY);
+    }
+}
@@ -0,0 +1,147 @@
+package com.example.university.integration;
+
+import com.example.university.entity.Role;
+import com.example.university.entity.User;
+import com.example.university.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestBuilders.formLogin;
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+
+// Morning-rush logins through the real filter chain. Not @Transactional: users must be committed
+// for the background re-hash to see them. Reports p50/p99 login latency.
+// Scale with -Dlogin.burst.logins=500 -Dlogin.burst.threads=200.
+@SpringBootTest
+class LoginBurstTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoginBurstTest.class);
+
+    private static final int LOGINS = Integer.getInteger("login.burst.logins", 40);
+    private static final int THREADS = Integer.getInteger("login.burst.threads", 16);
+    private static final int USERS = 10;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private MockMvc mockMvc;
+    private String uniqueId;
+    private final List<Long> userIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).apply(springSecurity()).build();
+        uniqueId = String.valueOf(System.currentTimeMillis());
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAllById(userIds);
+    }
+
+    @Test
+    void burstOfLogins_ShouldAllSucceed() throws Exception {
+        List<String> usernames = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            usernames.add(saveUser("rush" + i, passwordEncoder.encode("password")).getUsername());
+        }
+        List<String> attempts = new ArrayList<>();
+        for (int i = 0; i < LOGINS; i++) {
+            attempts.add(usernames.get(i % USERS));
+        }
+        Collections.shuffle(attempts);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Long>> results = new ArrayList<>();
+        List<Long> latencies = new ArrayList<>();
+        try {
+            for (String username : attempts) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    long began = System.nanoTime();
+                    String redirect = mockMvc.perform(formLogin("/login").user(username).password("password"))
+                            .andReturn().getResponse().getRedirectedUrl();
+                    assertThat(redirect).isEqualTo("/dashboard");
+                    return System.nanoTime() - began;
+                }));
+            }
+            start.countDown();
+            for (Future<Long> result : results) {
+                latencies.add(result.get(5, TimeUnit.MINUTES));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        Collections.sort(latencies);
+        logger.info("Login burst: {} logins on {} threads, p50 {} ms, p99 {} ms",
+                LOGINS, THREADS, TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 50)),
+                TimeUnit.NANOSECONDS.toMillis(percentile(latencies, 99)));
+        assertThat(latencies).hasSize(LOGINS);
+    }
+
+    @Test
+    void loginWithLegacyHash_ShouldUpgradeHashInBackground() throws Exception {
+        // Given a hash stored before the {bcrypt} prefix was introduced
+        String legacyHash = new BCryptPasswordEncoder().encode("password");
+        User user = saveUser("legacy", legacyHash);
+
+        // When
+        String redirect = mockMvc.perform(formLogin("/login").user(user.getUsername()).password("password"))
+                .andReturn().getResponse().getRedirectedUrl();
+
+        // Then
+        assertThat(redirect).isEqualTo("/dashboard");
+        String storedHash = legacyHash;
+        for (int i = 0; i < 100 && storedHash.equals(legacyHash); i++) {
+            Thread.sleep(100);
+            storedHash = userRepository.findById(user.getId()).orElseThrow().getPassword();
+        }
+        assertThat(storedHash).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("password", storedHash)).isTrue();
+
+        // The cached login details were dropped, so the new hash is used from now on
+        redirect = mockMvc.perform(formLogin("/login").user(user.getUsername()).password("password"))
+                .andReturn().getResponse().getRedirectedUrl();
+        assertThat(redirect).isEqualTo("/dashboard");
+    }
+
+    private User saveUser(String prefix, String passwordHash) {
+        User user = new User(prefix + "." + uniqueId, prefix + "." + uniqueId + "@test.com", passwordHash, Role.ROLE_STUDENT);
+        user = userRepository.save(user);
+        userIds.add(user.getId());
+        return user;
+    }
+
+    private static long percentile(List<Long> sorted, int percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, index));
+    }
+}
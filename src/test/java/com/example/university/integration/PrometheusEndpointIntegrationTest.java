@@ -0,0 +1,86 @@
+package com.example.university.integration;
+
+import com.example.university.entity.Role;
+import com.example.university.entity.User;
+import com.example.university.repository.UserRepository;
+import com.example.university.service.DepartmentService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Over a real port: http.server.requests is recorded by a servlet filter that MockMvc would skip.
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class PrometheusEndpointIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    private final HttpClient httpClient = HttpClient.newHttpClient();
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        String uniqueId = String.valueOf(System.currentTimeMillis());
+        admin = userRepository.save(new User("scraper." + uniqueId, "scraper." + uniqueId + "@test.com",
+                passwordEncoder.encode("password"), Role.ROLE_ADMIN));
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteById(admin.getId());
+    }
+
+    @Test
+    void prometheus_ShouldExportServiceTimersAndRequestHistograms() throws Exception {
+        // Given
+        departmentService.getAllDepartments();
+        assertThat(send("/login", null).statusCode()).isEqualTo(200);
+
+        // When
+        HttpResponse<String> scrape = send("/actuator/prometheus", admin.getUsername() + ":password");
+
+        // Then
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+                .containsPattern("university_service_seconds_count\\{[^}]*class=\"com.example.university.service.DepartmentService\"[^}]*method=\"getAllDepartments\"")
+                .containsPattern("http_server_requests_seconds_bucket\\{[^}]*uri=\"/login\"")
+                .contains("hikaricp_connections_pending{");
+    }
+
+    @Test
+    void prometheus_WithoutCredentials_ShouldBeRejected() throws Exception {
+        assertThat(send("/actuator/prometheus", null).statusCode()).isEqualTo(401);
+        assertThat(send("/actuator/health", null).statusCode()).isEqualTo(200);
+    }
+
+    private HttpResponse<String> send(String path, String credentials) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (credentials != null) {
+            request.header("Authorization", "Basic "
+                    + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        }
+        return httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.university.integration;
+
+import com.example.university.config.ReplicaDataSource;
+import com.example.university.entity.Department;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.service.DepartmentService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// The "replica" is a second pool on the primary's own database, which is enough to see which pool
+// a transaction ran on. Not @Transactional: the test drives its own read-only and write transactions.
+@SpringBootTest(properties = {
+        "university.datasource.replica-urls=${spring.datasource.url}",
+        "university.datasource.replica-lag-query=SELECT 0",
+        "university.datasource.replica-lag-check-interval=PT1H"
+})
+class ReadReplicaRoutingTest {
+
+    @Autowired
+    private HikariDataSource primaryDataSource;
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private HikariDataSource replica;
+
+    @BeforeEach
+    void setUp() {
+        replicaDataSource.checkReplicationLag();
+        replica = replicaDataSource.getReplicas().get(0).dataSource();
+        assertThat(replicaDataSource.getReplicas().get(0).isUsable()).isTrue();
+    }
+
+    @Test
+    void testReadOnlyTransactionRunsOnReplica() {
+        // Given
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+
+        // When / Then
+        readOnly.executeWithoutResult(status -> {
+            departmentRepository.count();
+            assertThat(replica.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isZero();
+        });
+    }
+
+    @Test
+    void testWriteTransactionRunsOnPrimary() {
+        // Given
+        long timestamp = System.currentTimeMillis();
+        TransactionTemplate readWrite = new TransactionTemplate(transactionManager);
+
+        // When / Then
+        Department saved = readWrite.execute(status -> {
+            Department department = new Department();
+            department.setName("Replica Routing " + timestamp);
+            department.setCode("RR" + timestamp);
+            Department created = departmentService.createDepartment(department);
+            departmentRepository.flush();
+            assertThat(primaryDataSource.getHikariPoolMXBean().getActiveConnections()).isEqualTo(1);
+            assertThat(replica.getHikariPoolMXBean().getActiveConnections()).isZero();
+            return created;
+        });
+
+        // Then: a read-only service call after the write goes to the replica and sees the row
+        assertThat(departmentService.getDepartmentById(saved.getId()).getName()).isEqualTo(saved.getName());
+        departmentRepository.deleteById(saved.getId());
+    }
+}
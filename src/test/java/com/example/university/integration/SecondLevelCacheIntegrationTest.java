@@ -0,0 +1,198 @@
+package com.example.university.integration;
+
+import com.example.university.entity.Course;
+import com.example.university.entity.Department;
+import com.example.university.entity.Role;
+import com.example.university.entity.Student;
+import com.example.university.entity.Teacher;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import com.example.university.repository.TeacherRepository;
+import com.example.university.service.CourseService;
+import com.example.university.service.DepartmentService;
+import com.example.university.service.StudentService;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// Not @Transactional: the second-level cache is only written and invalidated on commit.
+@SpringBootTest
+@ActiveProfiles("second-level-cache")
+class SecondLevelCacheIntegrationTest {
+
+    @Autowired
+    private CourseService courseService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private Statistics statistics;
+    private Department department;
+    private Department otherDepartment;
+    private Teacher teacher;
+    private Course course;
+
+    @BeforeEach
+    void setUp() {
+        String uniqueId = String.valueOf(System.currentTimeMillis());
+        department = departmentRepository.save(new Department("Cached " + uniqueId, "CA-" + uniqueId, "Cached"));
+        otherDepartment = departmentRepository.save(new Department("Other " + uniqueId, "OT-" + uniqueId, "Other"));
+
+        teacher = new Teacher();
+        teacher.setUsername("cached.teacher." + uniqueId);
+        teacher.setEmail("cached.teacher." + uniqueId + "@university.com");
+        teacher.setPassword("password");
+        teacher.setRole(Role.ROLE_TEACHER);
+        teacher.setTeacherId("TCA-" + uniqueId);
+        teacher.setFirstName("Ada");
+        teacher.setLastName("Cache");
+        teacher.setDepartment(department);
+        teacherRepository.save(teacher);
+
+        course = courseService.createCourse(new Course("Caching " + uniqueId, "CCH-" + uniqueId, "L2", 3),
+                department.getId(), teacher.getId());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        entityManagerFactory.getCache().evictAll();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        courseRepository.findById(course.getId()).ifPresent(courseRepository::delete);
+        teacherRepository.deleteById(teacher.getId());
+        departmentRepository.deleteById(department.getId());
+        departmentRepository.deleteById(otherDepartment.getId());
+    }
+
+    @Test
+    void getCourseById_SecondRead_ShouldComeFromCache() {
+        // When
+        courseService.getCourseById(course.getId());
+        courseService.getCourseById(course.getId());
+
+        // Then
+        assertThat(statistics.getDomainDataRegionStatistics("courses").getHitCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("hibernate.second.level.cache.requests")
+                .tags("region", "courses", "result", "hit").functionCounter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void getCoursesByDepartment_SecondRead_ShouldComeFromQueryCache() {
+        // When
+        courseService.getCoursesByDepartment(department.getId());
+        courseService.getCoursesByDepartment(department.getId());
+
+        // Then
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        assertThat(statistics.getQueryExecutionCount()).isEqualTo(1);
+    }
+
+    @Test
+    void updateCourse_ShouldInvalidateEntityAndQueryCaches() {
+        // Given
+        courseService.getCourseById(course.getId());
+        courseService.getCoursesByDepartment(department.getId());
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(departmentService.getDepartmentById(department.getId()).getCourses()).hasSize(1));
+
+        // When
+        Course details = new Course("Renamed " + course.getName(), course.getCode(), "L2", 4);
+        courseService.updateCourse(course.getId(), details, otherDepartment.getId(), null);
+
+        // Then
+        assertThat(courseService.getCourseById(course.getId()).getName()).startsWith("Renamed ");
+        assertThat(courseService.getCoursesByDepartment(department.getId())).isEmpty();
+        assertThat(courseService.getCoursesByDepartment(otherDepartment.getId()))
+                .extracting(Course::getId).containsExactly(course.getId());
+        transactionTemplate.executeWithoutResult(status ->
+                assertThat(departmentService.getDepartmentById(department.getId()).getCourses()).isEmpty());
+    }
+
+    @Test
+    void deleteCourse_ShouldInvalidateEntityAndQueryCaches() {
+        // Given
+        courseService.getCoursesByTeacher(teacher.getId());
+        assertThat(entityManagerFactory.getCache().contains(Course.class, course.getId())).isTrue();
+
+        // When
+        courseService.deleteCourse(course.getId());
+
+        // Then
+        assertThatThrownBy(() -> courseService.getCourseById(course.getId()))
+                .hasMessage("Course not found");
+        assertThat(courseService.getCoursesByTeacher(teacher.getId())).isEmpty();
+    }
+
+    @Test
+    void enrollInCourse_ShouldEvictOnlyThatCourse() {
+        // Given
+        Course otherCourse = courseService.createCourse(
+                new Course("Other " + course.getName(), "O" + course.getCode(), "L2", 3), department.getId(), teacher.getId());
+        Student student = new Student();
+        student.setUsername("cached.student." + course.getCode());
+        student.setEmail("cached.student." + course.getCode() + "@university.com");
+        student.setPassword("password");
+        student.setRole(Role.ROLE_STUDENT);
+        student.setStudentId("SCA-" + course.getCode());
+        student.setFirstName("Seat");
+        student.setLastName("Taker");
+        studentRepository.save(student);
+        try {
+            courseService.getCourseById(course.getId());
+            courseService.getCourseById(otherCourse.getId());
+            courseService.getCoursesByDepartment(department.getId());
+            departmentService.getDepartmentById(department.getId());
+            statistics.clear();
+
+            // When
+            studentService.enrollInCourse(student.getId(), course.getId());
+
+            // Then
+            assertThat(courseService.getCourseById(course.getId()).getEnrolledStudentCount()).isEqualTo(1);
+            assertThat(entityManagerFactory.getCache().contains(Course.class, otherCourse.getId())).isTrue();
+            assertThat(entityManagerFactory.getCache().contains(Department.class, department.getId())).isTrue();
+            courseService.getCoursesByDepartment(department.getId());
+            assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+        } finally {
+            studentRepository.deleteById(student.getId());
+            courseRepository.deleteById(otherCourse.getId());
+        }
+    }
+}
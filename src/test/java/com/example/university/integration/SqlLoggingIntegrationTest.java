@@ -0,0 +1,58 @@
+package com.example.university.integration;
+
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import ch.qos.logback.core.read.ListAppender;
+import com.example.university.config.SqlLoggingDataSource;
+import com.example.university.repository.DepartmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import javax.sql.DataSource;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "university.sql.logging.enabled=true",
+        "university.sql.logging.sample-rate=1"
+})
+class SqlLoggingIntegrationTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    private final Logger sqlLogger = (Logger) LoggerFactory.getLogger("university.sql");
+    private final ListAppender<ILoggingEvent> events = new ListAppender<>();
+
+    @BeforeEach
+    void setUp() {
+        events.start();
+        sqlLogger.addAppender(events);
+    }
+
+    @AfterEach
+    void tearDown() {
+        sqlLogger.detachAppender(events);
+    }
+
+    @Test
+    void repositoryQuery_WithLoggingEnabled_ShouldBeLoggedWithStatement() {
+        // When
+        departmentRepository.count();
+
+        // Then
+        assertThat(dataSource).isInstanceOf(SqlLoggingDataSource.class);
+        assertThat(events.list).anySatisfy(event -> assertThat(event.getKeyValuePairs())
+                .anySatisfy(pair -> {
+                    assertThat(pair.key).isEqualTo("sql");
+                    assertThat(pair.value.toString()).containsIgnoringCase("from departments");
+                }));
+    }
+}
@@ -0,0 +1,175 @@
+package com.example.university.integration;
+
+import com.example.university.config.ReplicaDataSource;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.entity.Department;
+import com.example.university.entity.Role;
+import com.example.university.entity.Student;
+import com.example.university.entity.User;
+import com.example.university.repository.StudentRepository;
+import com.example.university.repository.UserRepository;
+import com.example.university.service.CustomUserDetailsService;
+import com.example.university.service.DepartmentService;
+import com.example.university.service.StudentService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Primary and replica are two separate H2 databases. The replica gets a copy of the rows as they
+// were before each test's change and never sees the change itself, i.e. it lags indefinitely.
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:stale-primary;DB_CLOSE_DELAY=-1;MODE=PostgreSQL",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "university.datasource.replica-urls=" + StaleReplicaIntegrationTest.REPLICA_URL,
+        "university.datasource.replica-lag-query=SELECT 0",
+        "university.datasource.replica-lag-check-interval=PT1H"
+})
+class StaleReplicaIntegrationTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:stale-replica;DB_CLOSE_DELAY=-1;MODE=PostgreSQL";
+
+    // Kept open: H2 check constraints stop evaluating once the session that created them is closed
+    private static final SingleConnectionDataSource replicaWriter =
+            new SingleConnectionDataSource(REPLICA_URL, "sa", "", true);
+
+    @Autowired
+    private ReplicaDataSource replicaDataSource;
+
+    @Autowired
+    private CustomUserDetailsService userDetailsService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private DepartmentService departmentService;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate replica;
+    private Student student;
+    private Department department;
+
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaWriter).locations("classpath:db/migration").load().migrate();
+        replica = new JdbcTemplate(replicaWriter);
+        replicaDataSource.checkReplicationLag();
+        assertThat(replicaDataSource.getReplicas().get(0).isUsable()).isTrue();
+
+        String uniqueId = String.valueOf(System.currentTimeMillis());
+        student = new Student();
+        student.setUsername("stale." + uniqueId);
+        student.setEmail("stale." + uniqueId + "@university.com");
+        student.setPassword("{noop}old-password");
+        student.setRole(Role.ROLE_STUDENT);
+        student.setEnabled(true);
+        student.setStudentId("STA-" + uniqueId);
+        student.setFirstName("Stale");
+        student.setLastName("Replica");
+        student = studentRepository.save(student);
+
+        // "Replicate" the student as it is now
+        replica.update("INSERT INTO users (id, username, email, password, role, enabled) VALUES (?, ?, ?, ?, ?, ?)",
+                student.getId(), student.getUsername(), student.getEmail(), student.getPassword(),
+                student.getRole().name(), student.isEnabled());
+        replica.update("INSERT INTO students (user_id, student_id, first_name, last_name) VALUES (?, ?, ?, ?)",
+                student.getId(), student.getStudentId(), student.getFirstName(), student.getLastName());
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.update("DELETE FROM students WHERE user_id = ?", student.getId());
+        replica.update("DELETE FROM users WHERE id = ?", student.getId());
+        studentRepository.deleteById(student.getId());
+        if (department != null) {
+            departmentService.deleteDepartment(department.getId());
+        }
+    }
+
+    @Test
+    void loadUserByUsername_AfterPasswordReset_ShouldNotCacheReplicasOldHash() {
+        // Given
+        assertThat(userDetailsService.loadUserByUsername(student.getUsername()).getPassword())
+                .isEqualTo("{noop}old-password");
+
+        // When
+        studentService.updateStudentDetails(student.getId(), student, "{noop}new-password", null);
+
+        // Then: the replica still has the old hash; a refill from inside a read-only transaction must not use it
+        assertThat(readOnly().execute(status -> userRepository.findByUsername(student.getUsername()))
+                .map(User::getPassword)).contains("{noop}old-password");
+        assertThat(readOnly().execute(status -> userDetailsService.loadUserByUsername(student.getUsername()))
+                .getPassword()).isEqualTo("{noop}new-password");
+        assertThat(userDetailsService.loadUserByUsername(student.getUsername()).getPassword())
+                .isEqualTo("{noop}new-password");
+    }
+
+    @Test
+    void updateProfile_AfterPasswordReset_ShouldCheckAndWriteThePrimarysRow() {
+        // Given: the replica still serves the old hash and the old last name
+        studentService.updateStudentDetails(student.getId(), student, passwordEncoder.encode("new-password"), null);
+        Student stale = readOnly().execute(status -> studentService.getStudentByUsername(student.getUsername()));
+        assertThat(stale.getPassword()).isEqualTo("{noop}old-password");
+        Student details = new Student();
+        details.setFirstName("Fresh");
+        details.setLastName(stale.getLastName());
+        details.setEmail(stale.getEmail());
+
+        // When
+        boolean updated = studentService.updateProfile(stale.getId(), details, "new-password", null);
+
+        // Then
+        assertThat(updated).isTrue();
+        // findById is read-only and would be routed to the replica
+        Student fresh = new TransactionTemplate(transactionManager)
+                .execute(status -> studentRepository.findById(student.getId()).orElseThrow());
+        assertThat(fresh.getFirstName()).isEqualTo("Fresh");
+        assertThat(passwordEncoder.matches("new-password", fresh.getPassword())).isTrue();
+    }
+
+    @Test
+    void getAllDepartments_AfterCreate_ShouldNotCacheReplicasOldList() {
+        // Given
+        departmentService.getAllDepartments();
+        String uniqueId = String.valueOf(System.currentTimeMillis());
+
+        // When
+        department = departmentService.createDepartment(new Department("Stale " + uniqueId, "ST-" + uniqueId, null));
+
+        // Then
+        List<DepartmentOption> departments = readOnly().execute(status -> departmentService.getAllDepartments());
+        assertThat(departments).extracting(DepartmentOption::id).contains(department.getId());
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.university.integration;
 
+import com.example.university.dto.CourseSummary;
 import com.example.university.entity.Course;
 import com.example.university.entity.Department;
 import com.example.university.entity.Role;
@@ -12,6 +13,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.transaction.annotation.Transactional;
@@ -269,11 +271,12 @@ class StudentIntegrationTest {
         studentService.enrollInCourse(saved.getId(), course1.getId());
 
         // Get available courses
-        List<Course> available = studentService.getAvailableCourses(saved.getId());
+        Page<CourseSummary> available = studentService.getAvailableCourses(
+                saved.getId(), dept.getId(), null, null, 0, 20);
 
         // Verify only course 2 is available
-        assertThat(available).hasSize(1);
-        assertThat(available.get(0).getCode()).isEqualTo("C2-" + uniqueId);
+        assertThat(available.getTotalElements()).isEqualTo(1);
+        assertThat(available.getContent().get(0).code()).isEqualTo("C2-" + uniqueId);
     }
 
     @Test
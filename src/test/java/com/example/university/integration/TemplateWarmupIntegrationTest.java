@@ -0,0 +1,38 @@
+package com.example.university.integration;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.thymeleaf.ITemplateEngine;
+import org.thymeleaf.engine.TemplateModel;
+import org.thymeleaf.cache.TemplateCacheKey;
+
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.thymeleaf.cache=true",
+        "university.thymeleaf.warm-up=true"
+})
+class TemplateWarmupIntegrationTest {
+
+    @Autowired
+    private ITemplateEngine templateEngine;
+
+    @Test
+    void warmUp_ShouldParsePageTemplatesIntoCacheAtStartup() {
+        // When: nothing has been rendered yet, only the startup warm-up has run
+        Set<String> cached = templateEngine.getConfiguration().getCacheManager()
+                .<TemplateCacheKey, TemplateModel>getTemplateCache().keySet().stream()
+                .filter(key -> key.getOwnerTemplate() == null && key.getTemplateSelectors() == null)
+                .map(TemplateCacheKey::getTemplate)
+                .collect(Collectors.toSet());
+
+        // Then
+        assertThat(cached).contains("admin/students", "admin/edit-student", "student/courses",
+                "student/profile", "teacher/courses", "teacher/course-students");
+        assertThat(cached).doesNotContain("login", "register");
+    }
+}
@@ -1,16 +1,27 @@
 package com.example.university.repository;
 
+import com.example.university.dto.CourseSummary;
 import com.example.university.entity.*;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
-@SpringBootTest
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
 @Transactional
 class CourseRepositoryTest {
 
@@ -26,6 +37,9 @@ class CourseRepositoryTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private EntityManager entityManager;
+
     @Test
     void testExistsByName() {
         // Create department with unique name
@@ -75,6 +89,196 @@ class CourseRepositoryTest {
         assertThat(courses).isNotEmpty();
     }
 
+    @Test
+    void testCourseSummariesLoadInOneStatement() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Department dept = createUniqueDepartment();
+        Teacher teacher = createTeacher(suffix, dept);
+
+        Course enrolled = createCourse("Enrolled " + suffix, "E" + suffix, dept, teacher);
+        Course available = createCourse("Available " + suffix, "A" + suffix, dept, teacher);
+        Course unassigned = createCourse("Unassigned " + suffix, "U" + suffix, null, null);
+
+        Student student = createStudent("summary.a." + suffix, "SA" + suffix);
+        student.enrollInCourse(enrolled);
+        Student other = createStudent("summary.b." + suffix, "SB" + suffix);
+        other.enrollInCourse(enrolled);
+        other.enrollInCourse(available);
+        entityManager.flush();
+        courseRepository.reconcileEnrolledStudentCounts();
+        entityManager.clear();
+
+        Statistics statistics = statistics();
+        List<CourseSummary> availableRows = courseRepository.findSummariesNotEnrolledByStudent(
+                student.getId(), dept.getId(), null, null, PageRequest.of(0, 20)).getContent();
+        List<CourseSummary> enrolledRows = courseRepository.findSummariesEnrolledByStudent(student.getId());
+
+        // the available page fits in one page, so no separate count query is issued
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+        assertThat(availableRows).extracting(CourseSummary::id)
+                .containsExactly(available.getId());
+        CourseSummary availableRow = availableRows.stream()
+                .filter(row -> row.id().equals(available.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(availableRow.departmentName()).isEqualTo(dept.getName());
+        assertThat(availableRow.teacherName()).isEqualTo("Summary Teacher");
+        assertThat(availableRow.enrolledCount()).isEqualTo(1);
+        assertThat(enrolledRows).extracting(CourseSummary::id).containsExactly(enrolled.getId());
+        assertThat(enrolledRows.get(0).enrolledCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testAdminCoursePageFetchesDepartmentAndTeacherInOneStatement() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Department dept = createUniqueDepartment();
+        Teacher teacher = createTeacher(suffix, dept);
+        for (int i = 0; i < 3; i++) {
+            createCourse("Page " + i + " " + suffix, "P" + i + suffix, dept, teacher);
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        Statistics statistics = statistics();
+        Window<Course> page = courseRepository.findAllBy(ScrollPosition.keyset(), Sort.by("id"), Limit.of(50));
+        page.forEach(course -> {
+            if (course.getDepartment() != null) {
+                course.getDepartment().getName();
+            }
+            if (course.getTeacher() != null) {
+                course.getTeacher().getFirstName();
+            }
+        });
+
+        assertThat(page.getContent()).isNotEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testEnrolledStudentCountIsMaintainedByAtomicUpdates() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Course course = createCourse("Counter " + suffix, "CNT" + suffix, createUniqueDepartment(), null);
+        course.setEnrolledStudentCount(99); // ignored: the column is not written by entity flushes
+        entityManager.flush();
+
+        courseRepository.reserveSeat(course.getId());
+        courseRepository.reserveSeat(course.getId());
+        courseRepository.releaseSeat(course.getId());
+        entityManager.clear();
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledStudentCount()).isEqualTo(1);
+
+        courseRepository.releaseSeat(course.getId());
+        courseRepository.releaseSeat(course.getId());
+        entityManager.clear();
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledStudentCount()).isZero();
+    }
+
+    @Test
+    void testReserveSeatStopsAtCapacity() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Course course = new Course("Capacity " + suffix, "CAP" + suffix, null, 3);
+        course.setCapacity(2);
+        course.setDepartment(createUniqueDepartment());
+        course = courseRepository.save(course);
+        entityManager.flush();
+
+        assertThat(courseRepository.reserveSeat(course.getId())).isEqualTo(1);
+        assertThat(courseRepository.reserveSeat(course.getId())).isEqualTo(1);
+        assertThat(courseRepository.reserveSeat(course.getId())).isZero();
+        entityManager.clear();
+
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledStudentCount()).isEqualTo(2);
+    }
+
+    @Test
+    void testInsertEnrollmentIsInsertIfAbsent() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Course course = createCourse("Direct " + suffix, "DIR" + suffix, createUniqueDepartment(), null);
+        Student student = createStudent("direct." + suffix, "DIR" + suffix);
+
+        assertThat(studentRepository.insertEnrollment(student.getId(), course.getId())).isEqualTo(1);
+        assertThat(studentRepository.insertEnrollment(student.getId(), course.getId())).isZero();
+        assertThat(courseRepository.findSummariesEnrolledByStudent(student.getId()))
+                .extracting(CourseSummary::code).containsExactly(course.getCode());
+
+        assertThat(studentRepository.deleteEnrollment(student.getId(), course.getId())).isEqualTo(1);
+        assertThat(studentRepository.deleteEnrollment(student.getId(), course.getId())).isZero();
+    }
+
+    @Test
+    void testReconcileRepairsDriftedCounts() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Course course = createCourse("Drift " + suffix, "DR" + suffix, createUniqueDepartment(), null);
+        Student student = createStudent("drift." + suffix, "DR" + suffix);
+        student.enrollInCourse(course);
+        entityManager.flush();
+        courseRepository.reserveSeat(course.getId());
+        courseRepository.reserveSeat(course.getId());
+
+        int repaired = courseRepository.reconcileEnrolledStudentCounts();
+        entityManager.clear();
+
+        assertThat(repaired).isGreaterThanOrEqualTo(1);
+        assertThat(courseRepository.findById(course.getId()).orElseThrow().getEnrolledStudentCount()).isEqualTo(1);
+    }
+
+    @Test
+    void testBulkCreatesAreSentAsJdbcBatches() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Department dept = createUniqueDepartment();
+        entityManager.flush();
+
+        Statistics statistics = statistics();
+        List<Course> courses = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Course course = new Course("Batch Course " + i + suffix, "BAT" + i + suffix, "Batch", 3);
+            course.setDepartment(dept);
+            courses.add(course);
+        }
+        courseRepository.saveAll(courses);
+        List<Student> students = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Student student = new Student("batch" + i + "." + suffix, "batch" + i + "." + suffix + "@test.com",
+                    "password", "BAT" + i + suffix, "Batch", "Student");
+            student.enrollInCourse(courses.get(i));
+            students.add(student);
+        }
+        studentRepository.saveAll(students);
+        entityManager.flush();
+
+        // Pooled sequence ids plus ordered inserts: a couple of nextval calls and one batch per
+        // table (courses, users, students, student_courses) instead of 80 single-row statements
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(40);
+        assertThat(statistics.getPrepareStatementCount()).isLessThanOrEqualTo(8);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactory.class)
+                .getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private Course createCourse(String name, String code, Department dept, Teacher teacher) {
+        Course course = new Course(name, code, "Test Course", 3);
+        course.setDepartment(dept);
+        course.setTeacher(teacher);
+        return courseRepository.save(course);
+    }
+
+    private Teacher createTeacher(String suffix, Department dept) {
+        Teacher teacher = new Teacher("summary.teacher." + suffix, "summary.teacher." + suffix + "@test.com",
+                "password", "ST" + suffix, "Summary", "Teacher", "PhD");
+        teacher.setDepartment(dept);
+        return teacherRepository.save(teacher);
+    }
+
+    private Student createStudent(String username, String studentId) {
+        return studentRepository.save(new Student(username, username + "@test.com", "password",
+                studentId, "Test", "Student"));
+    }
+
     private Department createUniqueDepartment() {
         Department dept = new Department();
         dept.setName("Dept " + System.currentTimeMillis());
@@ -82,4 +286,23 @@ class CourseRepositoryTest {
         dept.setDescription("Test Department");
         return departmentRepository.save(dept);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testAvailableSummariesApplyCreditFilterAndPaging() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Department dept = createUniqueDepartment();
+        for (int credits = 1; credits <= 5; credits++) {
+            Course course = new Course("Credits " + credits + " " + suffix, "CR" + credits + suffix, null, credits);
+            course.setDepartment(dept);
+            courseRepository.save(course);
+        }
+        Student student = createStudent("credits." + suffix, "CR" + suffix);
+
+        Page<CourseSummary> firstPage = courseRepository.findSummariesNotEnrolledByStudent(
+                student.getId(), dept.getId(), 2, 4, PageRequest.of(0, 2, Sort.by("name")));
+
+        assertThat(firstPage.getTotalElements()).isEqualTo(3);
+        assertThat(firstPage.getTotalPages()).isEqualTo(2);
+        assertThat(firstPage.getContent()).extracting(CourseSummary::credits).containsExactly(2, 3);
+    }
+}
@@ -1,11 +1,19 @@
 package com.example.university.repository;
 
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.DepartmentTotals;
+import com.example.university.entity.Course;
 import com.example.university.entity.Department;
+import com.example.university.entity.Role;
+import com.example.university.entity.Student;
+import com.example.university.entity.Teacher;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.List;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 @SpringBootTest
@@ -15,6 +23,15 @@ class DepartmentRepositoryTest {
     @Autowired
     private DepartmentRepository departmentRepository;
 
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private TeacherRepository teacherRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
     @Test
     void testExistsByName() {
         // Use a unique name with timestamp to avoid conflicts
@@ -43,4 +60,54 @@ class DepartmentRepositoryTest {
         boolean exists = departmentRepository.existsByCode(uniqueCode);
         assertThat(exists).isTrue();
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAllOptionsSortedByName() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        departmentRepository.save(new Department("Zoology " + suffix, "ZOO" + suffix, "Animals"));
+        departmentRepository.save(new Department("Astronomy " + suffix, "AST" + suffix, "Stars"));
+
+        List<DepartmentOption> options = departmentRepository.findAllOptions();
+
+        assertThat(options).extracting(DepartmentOption::name)
+                .containsSubsequence("Astronomy " + suffix, "Zoology " + suffix);
+        assertThat(options).filteredOn(option -> option.code().equals("AST" + suffix))
+                .singleElement()
+                .satisfies(option -> assertThat(option.description()).isEqualTo("Stars"));
+    }
+
+    @Test
+    void testFindDepartmentTotals() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+
+        Department dept = new Department("Totals Dept " + suffix, "TOT" + suffix, "Test Department");
+        departmentRepository.save(dept);
+
+        Teacher teacher = new Teacher("totals.teacher." + suffix, "totals.teacher." + suffix + "@test.com",
+                "password", "TT" + suffix, "Test", "Teacher", "PhD");
+        teacher.setDepartment(dept);
+        teacherRepository.save(teacher);
+
+        for (int i = 0; i < 2; i++) {
+            Course course = new Course("Totals Course " + i + " " + suffix, "TC" + i + suffix, null, 3);
+            course.setDepartment(dept);
+            courseRepository.save(course);
+        }
+
+        Student student = new Student("totals.student." + suffix, "totals.student." + suffix + "@test.com",
+                "password", "TS" + suffix, "Test", "Student");
+        student.setRole(Role.ROLE_STUDENT);
+        student.getDepartments().add(dept);
+        studentRepository.save(student);
+
+        List<DepartmentTotals> totals = departmentRepository.findDepartmentTotals();
+
+        DepartmentTotals row = totals.stream()
+                .filter(t -> t.id().equals(dept.getId()))
+                .findFirst()
+                .orElseThrow();
+        assertThat(row.courseCount()).isEqualTo(2);
+        assertThat(row.teacherCount()).isEqualTo(1);
+        assertThat(row.studentCount()).isEqualTo(1);
+    }
+}
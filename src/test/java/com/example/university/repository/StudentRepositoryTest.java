@@ -1,15 +1,29 @@
 package com.example.university.repository;
 
+import com.example.university.dto.DepartmentCredits;
+import com.example.university.dto.EnrollmentCount;
+import com.example.university.dto.StudentDepartment;
+import com.example.university.dto.StudentExportRow;
+import com.example.university.entity.Course;
+import com.example.university.entity.Department;
 import com.example.university.entity.Role;
 import com.example.university.entity.Student;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 
 @SpringBootTest
 @Transactional
@@ -18,6 +32,12 @@ class StudentRepositoryTest {
     @Autowired
     private StudentRepository studentRepository;
 
+    @Autowired
+    private CourseRepository courseRepository;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
     @Test
     void testFindByStudentId() {
         String uniqueStudentId = "STU" + System.currentTimeMillis();
@@ -76,4 +96,119 @@ class StudentRepositoryTest {
         assertThat(found).isPresent();
         assertThat(found.get().getUsername()).isEqualTo(uniqueUsername);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testFindAllByKeysetScrollsEveryRowOnce() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        List<Long> saved = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            Student student = new Student();
+            student.setUsername("keyset" + i + "." + suffix);
+            student.setEmail("keyset" + i + "." + suffix + "@test.com");
+            student.setPassword("password");
+            student.setRole(Role.ROLE_STUDENT);
+            student.setStudentId("KS" + i + suffix);
+            student.setFirstName("Test");
+            student.setLastName("Keyset");
+            saved.add(studentRepository.save(student).getId());
+        }
+
+        Sort sort = Sort.by("lastName", "id");
+        List<Long> scrolled = new ArrayList<>();
+        Window<Student> window = studentRepository.findAllBy(ScrollPosition.keyset(), sort, Limit.of(2));
+        window.forEach(s -> scrolled.add(s.getId()));
+        while (window.hasNext()) {
+            window = studentRepository.findAllBy(window.positionAt(window.size() - 1), sort, Limit.of(2));
+            window.forEach(s -> scrolled.add(s.getId()));
+        }
+
+        assertThat(scrolled).doesNotHaveDuplicates().containsSubsequence(saved);
+    }
+
+    @Test
+    void testStreamByCourseReturnsEnrolledStudentsByName() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Course course = courseRepository.save(new Course("Stream Course " + suffix, "STR" + suffix, "Export", 3));
+        for (String lastName : List.of("Zeta", "Alpha")) {
+            Student student = new Student("stream" + lastName + suffix, "stream" + lastName + suffix + "@test.com",
+                    "password", "STR-" + lastName + suffix, "Test", lastName);
+            student = studentRepository.save(student);
+            studentRepository.insertEnrollment(student.getId(), course.getId());
+        }
+        studentRepository.save(new Student("streamOther" + suffix, "streamOther" + suffix + "@test.com",
+                "password", "STR-Other" + suffix, "Test", "Other"));
+
+        try (Stream<StudentExportRow> rows = studentRepository.streamByCourse(course.getId())) {
+            assertThat(rows.map(StudentExportRow::lastName)).containsExactly("Alpha", "Zeta");
+        }
+        try (Stream<StudentExportRow> rows = studentRepository.streamRoster()) {
+            assertThat(rows.map(StudentExportRow::studentId)).contains("STR-Other" + suffix, "STR-Alpha" + suffix);
+        }
+    }
+
+    @Test
+    void testExistsEnrollment() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Course course = courseRepository.save(new Course("Exists Course " + suffix, "EXC" + suffix, "Exists", 3));
+        Student student = studentRepository.save(new Student("exists" + suffix, "exists" + suffix + "@test.com",
+                "password", "EX-" + suffix, "Test", "Exists"));
+
+        assertThat(studentRepository.existsEnrollment(student.getId(), course.getId())).isFalse();
+        studentRepository.insertEnrollment(student.getId(), course.getId());
+        assertThat(studentRepository.existsEnrollment(student.getId(), course.getId())).isTrue();
+    }
+
+    @Test
+    void testViewQueriesLoadDepartmentsAndEnrollmentCountsPerStudent() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Department department = departmentRepository.save(new Department("View Dept " + suffix, "VD" + suffix, null));
+        Course first = courseRepository.save(new Course("View Course A " + suffix, "VCA" + suffix, "View", 3));
+        Course second = courseRepository.save(new Course("View Course B " + suffix, "VCB" + suffix, "View", 3));
+
+        Student enrolled = new Student("viewEnrolled" + suffix, "viewEnrolled" + suffix + "@test.com",
+                "password", "VW-E" + suffix, "Test", "Enrolled");
+        enrolled.getDepartments().add(department);
+        enrolled = studentRepository.save(enrolled);
+        studentRepository.insertEnrollment(enrolled.getId(), first.getId());
+        studentRepository.insertEnrollment(enrolled.getId(), second.getId());
+        Student idle = studentRepository.save(new Student("viewIdle" + suffix, "viewIdle" + suffix + "@test.com",
+                "password", "VW-I" + suffix, "Test", "Idle"));
+        studentRepository.flush();
+
+        List<Long> ids = List.of(enrolled.getId(), idle.getId());
+        assertThat(studentRepository.findDepartmentsOfStudents(ids))
+                .extracting(StudentDepartment::studentId, StudentDepartment::code)
+                .containsExactly(tuple(enrolled.getId(), "VD" + suffix));
+        assertThat(studentRepository.countEnrollments(ids))
+                .containsExactly(new EnrollmentCount(enrolled.getId(), 2));
+        assertThat(studentRepository.findByEnrolledCourseId(first.getId()))
+                .extracting(Student::getId)
+                .containsExactly(enrolled.getId());
+    }
+
+    @Test
+    void testSumCreditsByDepartmentGroupsEnrollments() {
+        String suffix = String.valueOf(System.currentTimeMillis());
+        Department science = departmentRepository.save(new Department("Credit Science " + suffix, "CS" + suffix, null));
+        Department arts = departmentRepository.save(new Department("Credit Arts " + suffix, "CA" + suffix, null));
+        List<Course> courses = new ArrayList<>();
+        courses.add(new Course("Credit Physics " + suffix, "CRP" + suffix, "Credits", 4));
+        courses.add(new Course("Credit Chemistry " + suffix, "CRC" + suffix, "Credits", 3));
+        courses.add(new Course("Credit Painting " + suffix, "CRA" + suffix, "Credits", 5));
+        courses.add(new Course("Credit Seminar " + suffix, "CRS" + suffix, "Credits", 2));
+        courses.get(0).setDepartment(science);
+        courses.get(1).setDepartment(science);
+        courses.get(2).setDepartment(arts);
+
+        Student student = studentRepository.save(new Student("credits" + suffix, "credits" + suffix + "@test.com",
+                "password", "CR-" + suffix, "Test", "Credits"));
+        for (Course course : courseRepository.saveAll(courses)) {
+            studentRepository.insertEnrollment(student.getId(), course.getId());
+        }
+
+        assertThat(studentRepository.sumCreditsByDepartment(student.getId())).containsExactlyInAnyOrder(
+                new DepartmentCredits(science.getId(), science.getName(), 2, 7),
+                new DepartmentCredits(arts.getId(), arts.getName(), 1, 5),
+                new DepartmentCredits(null, null, 1, 2));
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.university.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CachesTest {
+
+    private final AsyncCache<String, String> cache = Caffeine.newBuilder().buildAsync();
+
+    @Test
+    void getOrLoad_ShouldLoadOnceForConcurrentCallers() throws Exception {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<String> first = executor.submit(() -> Caches.getOrLoad(cache, "key", key -> {
+                loads.incrementAndGet();
+                loading.countDown();
+                await(release);
+                return "value";
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            Future<String> second = executor.submit(() -> Caches.getOrLoad(cache, "key", key -> {
+                loads.incrementAndGet();
+                return "other";
+            }));
+            release.countDown();
+
+            // Then
+            assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            assertThat(loads).hasValue(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void getOrLoad_InvalidatedWhileLoading_ShouldNotCacheStaleValue() {
+        // When
+        String loaded = Caches.getOrLoad(cache, "key", key -> {
+            cache.synchronous().invalidate(key);
+            return "stale";
+        });
+
+        // Then
+        assertThat(loaded).isEqualTo("stale");
+        assertThat(Caches.getOrLoad(cache, "key", key -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    void getOrLoad_WhenLoaderFails_ShouldRethrowAndRetryNextTime() {
+        // When / Then
+        assertThatThrownBy(() -> Caches.getOrLoad(cache, "key", key -> {
+            throw new RuntimeException("User not found");
+        })).isExactlyInstanceOf(RuntimeException.class).hasMessage("User not found");
+
+        assertThat(cache.getIfPresent("key")).isNull();
+        assertThat(Caches.getOrLoad(cache, "key", key -> "value")).isEqualTo("value");
+    }
+
+    @Test
+    void getOrLoad_WhenLoaderThrowsError_ShouldRethrowAndNotLeaveLoadPending() throws Exception {
+        // Given
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // When
+            Future<String> first = executor.submit(() -> Caches.getOrLoad(cache, "key", key -> {
+                loading.countDown();
+                await(release);
+                throw new StackOverflowError("deep");
+            }));
+            assertThat(loading.await(5, TimeUnit.SECONDS)).isTrue();
+            // What concurrent callers for the key join
+            CompletableFuture<String> pending = cache.getIfPresent("key");
+            release.countDown();
+
+            // Then
+            assertThatThrownBy(() -> first.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThatThrownBy(() -> pending.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(StackOverflowError.class);
+            assertThat(cache.getIfPresent("key")).isNull();
+            assertThat(Caches.getOrLoad(cache, "key", key -> "value")).isEqualTo("value");
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.university.service;
 
+import com.example.university.dto.CourseSummary;
 import com.example.university.entity.Course;
 import com.example.university.entity.Department;
 import com.example.university.entity.Teacher;
@@ -12,9 +13,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -34,6 +45,12 @@ class CourseServiceTest {
     @Mock
     private TeacherRepository teacherRepository;
 
+    @Mock
+    private CourseSearchIndex courseSearchIndex;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private CourseService courseService;
 
@@ -137,6 +154,7 @@ class CourseServiceTest {
         assertThat(created.getTeacher()).isEqualTo(teacher);
 
         verify(courseRepository, times(1)).save(any(Course.class));
+        verify(eventPublisher).publishEvent(new CourseChangedEvent(2L));
     }
 
     @Test
@@ -213,6 +231,7 @@ class CourseServiceTest {
         assertThat(updated.getCredits()).isEqualTo(4);
 
         verify(courseRepository, times(1)).save(any(Course.class));
+        verify(eventPublisher).publishEvent(new CourseChangedEvent(1L));
     }
 
     @Test
@@ -270,6 +289,7 @@ class CourseServiceTest {
 
         // Then
         verify(courseRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new CourseChangedEvent(1L));
     }
 
     @Test
@@ -301,4 +321,97 @@ class CourseServiceTest {
         assertThat(actualCourses.get(0).getName()).isEqualTo("Java Programming");
         verify(courseRepository, times(1)).findByTeacherId(1L);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getCoursePage_WithCursor_ShouldContinueAfterAnchorRow() {
+        // Given
+        when(courseRepository.findById(1L)).thenReturn(Optional.of(course));
+        when(courseRepository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        // When
+        Window<Course> page = courseService.getCoursePage(1L, "credits", Sort.Direction.ASC, 20);
+
+        // Then
+        assertThat(page.isEmpty()).isTrue();
+        verify(courseRepository).findAllBy(
+                ScrollPosition.forward(Map.of("credits", 3, "id", 1L)),
+                Sort.by(Sort.Direction.ASC, "credits", "id"),
+                Limit.of(20));
+    }
+
+    @Test
+    void getCourseSummaryPage_ShouldFlattenAssociationsInsideTransaction() {
+        // Given
+        course.setEnrolledStudentCount(12);
+        course.setCapacity(30);
+        when(courseRepository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(course), ScrollPosition::offset));
+
+        // When
+        Window<CourseSummary> page = courseService.getCourseSummaryPage(null, "id", Sort.Direction.ASC, 20);
+
+        // Then
+        assertThat(page.getContent()).containsExactly(new CourseSummary(1L, "Java Programming", "CS101", null, 3,
+                1L, "Computer Science", 1L, "John", "Smith", 12, 30));
+    }
+
+    @Test
+    void getCourseSummary_WhenCourseDoesNotExist_ShouldThrowException() {
+        // Given
+        when(courseRepository.findSummaryById(99L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> courseService.getCourseSummary(99L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Course not found");
+    }
+
+    @Test
+    void searchCourses_ShouldReturnSummariesInMatchOrder() {
+        // Given
+        CourseSummary java = new CourseSummary(1L, "Java Programming", "CS101", null, 3,
+                1L, "Computer Science", 1L, "John", "Smith", 0, null);
+        CourseSummary advanced = new CourseSummary(2L, "Advanced Java", "CS201", null, 4,
+                1L, "Computer Science", 1L, "John", "Smith", 0, null);
+        when(courseSearchIndex.search(List.of("java", "prog"), 20)).thenReturn(List.of(2L, 1L));
+        when(courseRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(java, advanced));
+
+        // When
+        List<CourseSummary> results = courseService.searchCourses("Java  prog!", 20);
+
+        // Then
+        assertThat(results).containsExactly(advanced, java);
+    }
+
+    @Test
+    void searchCourses_WithBlankQuery_ShouldNotLoadSummaries() {
+        // Given
+        when(courseSearchIndex.search(List.of(), 20)).thenReturn(List.of());
+
+        // When
+        List<CourseSummary> results = courseService.searchCourses("  ", 20);
+
+        // Then
+        assertThat(results).isEmpty();
+        verify(courseRepository, never()).findSummariesByIdIn(any());
+    }
+
+    @Test
+    void searchCoursesNotEnrolledByStudent_ShouldKeepMatchOrderAndIndexTotal() {
+        // Given
+        CourseSummary java = new CourseSummary(1L, "Java Programming", "CS101", null, 3,
+                1L, "Computer Science", 1L, "John", "Smith", 0, null);
+        CourseSummary advanced = new CourseSummary(2L, "Advanced Java", "CS201", null, 4,
+                1L, "Computer Science", 1L, "John", "Smith", 0, null);
+        Pageable pageable = PageRequest.of(1, 2);
+        when(courseSearchIndex.searchNotEnrolledByStudent(List.of("java"), 5L, 1L, 3, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(2L, 1L), pageable, 7));
+        when(courseRepository.findSummariesByIdIn(List.of(2L, 1L))).thenReturn(List.of(java, advanced));
+
+        // When
+        Page<CourseSummary> results = courseService.searchCoursesNotEnrolledByStudent(5L, "Java", 1L, 3, null, pageable);
+
+        // Then
+        assertThat(results.getContent()).containsExactly(advanced, java);
+        assertThat(results.getTotalElements()).isEqualTo(7);
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.university.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CsvReaderTest {
+
+    @Test
+    void readRecord_ShouldSplitPlainAndQuotedFields() throws IOException {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("a,b,,c\n\"x, y\",\"say \"\"hi\"\"\",z\n"));
+
+        // When / Then
+        assertThat(reader.readRecord()).containsExactly("a", "b", "", "c");
+        assertThat(reader.readRecord()).containsExactly("x, y", "say \"hi\"", "z");
+        assertThat(reader.readRecord()).isNull();
+    }
+
+    @Test
+    void readRecord_ShouldTrackLinesAcrossBlankLinesAndEmbeddedBreaks() throws IOException {
+        // Given
+        CsvReader reader = new CsvReader(new StringReader("header\n\n\"two\nlines\",x\r\nlast\n"));
+
+        // When
+        reader.readRecord();
+        List<String> multiline = reader.readRecord();
+        long multilineStart = reader.recordLine();
+        reader.readRecord();
+
+        // Then
+        assertThat(multiline).containsExactly("two\nlines", "x");
+        assertThat(multilineStart).isEqualTo(3);
+        assertThat(reader.recordLine()).isEqualTo(5);
+    }
+
+    @Test
+    void readRecord_WithUnterminatedQuote_ShouldFail() {
+        CsvReader reader = new CsvReader(new StringReader("\"open,field\n"));
+
+        assertThatThrownBy(reader::readRecord).isInstanceOf(IOException.class);
+    }
+}
@@ -3,14 +3,17 @@ package com.example.university.service;
 import com.example.university.entity.Role;
 import com.example.university.entity.User;
 import com.example.university.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.Optional;
 
@@ -24,7 +27,11 @@ class CustomUserDetailsServiceTest {
     @Mock
     private UserRepository userRepository;
 
-    @InjectMocks
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AsyncCache<String, UserDetails> userDetailsCache;
+
     private CustomUserDetailsService customUserDetailsService;
 
     private User studentUser;
@@ -34,6 +41,9 @@ class CustomUserDetailsServiceTest {
 
     @BeforeEach
     void setUp() {
+        userDetailsCache = Caffeine.newBuilder().maximumSize(100).recordStats().buildAsync();
+        customUserDetailsService = new CustomUserDetailsService(userRepository, userDetailsCache, transactionManager);
+
         // Create test users
         studentUser = new User();
         studentUser.setId(1L);
@@ -177,4 +187,65 @@ class CustomUserDetailsServiceTest {
 
         verify(userRepository, times(1)).findByUsername(emptyUsername);
     }
-}
\ No newline at end of file
+
+    @Test
+    void loadUserByUsername_CalledTwice_ShouldHitDatabaseOnce() {
+        // Given
+        when(userRepository.findByUsername("john.doe")).thenReturn(Optional.of(studentUser));
+
+        // When
+        customUserDetailsService.loadUserByUsername("john.doe");
+        UserDetails second = customUserDetailsService.loadUserByUsername("john.doe");
+
+        // Then
+        assertThat(second.getUsername()).isEqualTo("john.doe");
+        assertThat(userDetailsCache.synchronous().stats().hitCount()).isEqualTo(1);
+        assertThat(userDetailsCache.synchronous().stats().missCount()).isEqualTo(1);
+        verify(userRepository, times(1)).findByUsername("john.doe");
+    }
+
+    @Test
+    void loadUserByUsername_AfterCredentialsErased_ShouldStillReturnPassword() {
+        // Given
+        when(userRepository.findByUsername("john.doe")).thenReturn(Optional.of(studentUser));
+        UserDetails first = customUserDetailsService.loadUserByUsername("john.doe");
+
+        // When
+        ((CredentialsContainer) first).eraseCredentials();
+        UserDetails second = customUserDetailsService.loadUserByUsername("john.doe");
+
+        // Then
+        assertThat(second.getPassword()).isEqualTo("password123");
+    }
+
+    @Test
+    void evictUser_ShouldReloadChangedPasswordAndEnabledFlag() {
+        // Given
+        when(userRepository.findByUsername("john.doe")).thenReturn(Optional.of(studentUser));
+        customUserDetailsService.loadUserByUsername("john.doe");
+        studentUser.setPassword("changed");
+        studentUser.setEnabled(false);
+
+        // When
+        customUserDetailsService.evictUser("john.doe");
+        UserDetails reloaded = customUserDetailsService.loadUserByUsername("john.doe");
+
+        // Then
+        assertThat(reloaded.getPassword()).isEqualTo("changed");
+        assertThat(reloaded.isEnabled()).isFalse();
+        verify(userRepository, times(2)).findByUsername("john.doe");
+    }
+
+    @Test
+    void loadUserByUsername_WithNonExistentUsername_ShouldNotCacheTheMiss() {
+        // Given
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // When
+        assertThatThrownBy(() -> customUserDetailsService.loadUserByUsername("ghost"))
+                .isInstanceOf(UsernameNotFoundException.class);
+
+        // Then
+        assertThat(userDetailsCache.getIfPresent("ghost")).isNull();
+    }
+}
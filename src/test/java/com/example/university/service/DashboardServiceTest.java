@@ -0,0 +1,62 @@
+package com.example.university.service;
+
+import com.example.university.dto.DashboardStatistics;
+import com.example.university.dto.DepartmentTotals;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import com.example.university.repository.TeacherRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DashboardServiceTest {
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private TeacherRepository teacherRepository;
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @InjectMocks
+    private DashboardService dashboardService;
+
+    @Test
+    void getStatistics_ShouldUseAggregateQueriesOnly() {
+        // Given
+        DepartmentTotals cs = new DepartmentTotals(1L, "Computer Science", "CS", 12, 4, 300);
+        when(departmentRepository.count()).thenReturn(3L);
+        when(courseRepository.count()).thenReturn(40L);
+        when(teacherRepository.count()).thenReturn(15L);
+        when(studentRepository.count()).thenReturn(80_000L);
+        when(departmentRepository.findDepartmentTotals()).thenReturn(List.of(cs));
+
+        // When
+        DashboardStatistics stats = dashboardService.getStatistics();
+
+        // Then
+        assertThat(stats.departmentCount()).isEqualTo(3);
+        assertThat(stats.courseCount()).isEqualTo(40);
+        assertThat(stats.teacherCount()).isEqualTo(15);
+        assertThat(stats.studentCount()).isEqualTo(80_000);
+        assertThat(stats.departmentTotals()).containsExactly(cs);
+        verify(departmentRepository, never()).findAll();
+        verify(courseRepository, never()).findAll();
+        verify(teacherRepository, never()).findAll();
+        verify(studentRepository, never()).findAll();
+    }
+}
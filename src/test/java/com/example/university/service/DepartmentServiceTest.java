@@ -1,14 +1,19 @@
 package com.example.university.service;
 
+import com.example.university.dto.DepartmentOption;
 import com.example.university.entity.Department;
 import com.example.university.repository.DepartmentRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
@@ -24,7 +29,14 @@ class DepartmentServiceTest {
     @Mock
     private DepartmentRepository departmentRepository;
 
-    @InjectMocks
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AsyncCache<String, List<DepartmentOption>> departmentCache;
+
     private DepartmentService departmentService;
 
     private Department department1;
@@ -32,6 +44,9 @@ class DepartmentServiceTest {
 
     @BeforeEach
     void setUp() {
+        departmentCache = Caffeine.newBuilder().maximumSize(1).recordStats().buildAsync();
+        departmentService = new DepartmentService(departmentRepository, departmentCache, eventPublisher, transactionManager);
+
         // Create test departments
         department1 = new Department();
         department1.setId(1L);
@@ -49,17 +64,62 @@ class DepartmentServiceTest {
     @Test
     void getAllDepartments_ShouldReturnAllDepartments() {
         // Given
-        List<Department> expectedDepartments = Arrays.asList(department1, department2);
-        when(departmentRepository.findAll()).thenReturn(expectedDepartments);
+        List<DepartmentOption> expectedDepartments = Arrays.asList(option(department1), option(department2));
+        when(departmentRepository.findAllOptions()).thenReturn(expectedDepartments);
 
         // When
-        List<Department> actualDepartments = departmentService.getAllDepartments();
+        List<DepartmentOption> actualDepartments = departmentService.getAllDepartments();
 
         // Then
         assertThat(actualDepartments).hasSize(2);
-        assertThat(actualDepartments.get(0).getName()).isEqualTo("Computer Science");
-        assertThat(actualDepartments.get(1).getName()).isEqualTo("Mathematics");
-        verify(departmentRepository, times(1)).findAll();
+        assertThat(actualDepartments.get(0).name()).isEqualTo("Computer Science");
+        assertThat(actualDepartments.get(1).name()).isEqualTo("Mathematics");
+        verify(departmentRepository, times(1)).findAllOptions();
+    }
+
+    @Test
+    void getAllDepartments_CalledTwice_ShouldServeSecondCallFromCache() {
+        // Given
+        when(departmentRepository.findAllOptions()).thenReturn(List.of(option(department1)));
+
+        // When
+        departmentService.getAllDepartments();
+        List<DepartmentOption> cached = departmentService.getAllDepartments();
+
+        // Then
+        assertThat(cached).containsExactly(option(department1));
+        assertThat(departmentCache.synchronous().stats().hitCount()).isEqualTo(1);
+        verify(departmentRepository, times(1)).findAllOptions();
+    }
+
+    @Test
+    void getAllDepartments_ShouldReturnImmutableSnapshot() {
+        // Given
+        when(departmentRepository.findAllOptions()).thenReturn(new ArrayList<>(List.of(option(department1))));
+
+        // When
+        List<DepartmentOption> departments = departmentService.getAllDepartments();
+
+        // Then
+        assertThatThrownBy(() -> departments.add(option(department2)))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+    @Test
+    void onDepartmentsChanged_ShouldReloadOnNextRead() {
+        // Given
+        when(departmentRepository.findAllOptions())
+                .thenReturn(List.of(option(department1)))
+                .thenReturn(List.of(option(department1), option(department2)));
+        departmentService.getAllDepartments();
+
+        // When
+        departmentService.onDepartmentsChanged(new DepartmentsChangedEvent(2L));
+        List<DepartmentOption> reloaded = departmentService.getAllDepartments();
+
+        // Then
+        assertThat(reloaded).hasSize(2);
+        verify(departmentRepository, times(2)).findAllOptions();
     }
 
     @Test
@@ -116,6 +176,7 @@ class DepartmentServiceTest {
         assertThat(created.getDescription()).isEqualTo("Physics Department");
 
         verify(departmentRepository, times(1)).save(any(Department.class));
+        verify(eventPublisher).publishEvent(new DepartmentsChangedEvent(3L));
     }
 
     @Test
@@ -133,6 +194,7 @@ class DepartmentServiceTest {
                 .hasMessage("Department name already exists");
 
         verify(departmentRepository, never()).save(any(Department.class));
+        verifyNoInteractions(eventPublisher);
     }
 
     @Test
@@ -173,6 +235,7 @@ class DepartmentServiceTest {
         assertThat(updated.getDescription()).isEqualTo("Updated Department Description");
 
         verify(departmentRepository, times(1)).save(any(Department.class));
+        verify(eventPublisher).publishEvent(new DepartmentsChangedEvent(1L));
     }
 
     @Test
@@ -201,6 +264,7 @@ class DepartmentServiceTest {
 
         // Then
         verify(departmentRepository, times(1)).deleteById(1L);
+        verify(eventPublisher).publishEvent(new DepartmentsChangedEvent(1L));
     }
 
     @Test
@@ -214,4 +278,9 @@ class DepartmentServiceTest {
         // Then
         verify(departmentRepository, times(1)).deleteById(99L);
     }
-}
\ No newline at end of file
+
+    private DepartmentOption option(Department department) {
+        return new DepartmentOption(department.getId(), department.getName(),
+                department.getCode(), department.getDescription());
+    }
+}
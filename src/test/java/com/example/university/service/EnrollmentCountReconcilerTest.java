@@ -0,0 +1,58 @@
+package com.example.university.service;
+
+import com.example.university.entity.Course;
+import com.example.university.repository.CourseRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class EnrollmentCountReconcilerTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
+    @InjectMocks
+    private EnrollmentCountReconciler reconciler;
+
+    @Test
+    void reconcile_ShouldReturnNumberOfRepairedCourses() {
+        // Given
+        when(courseRepository.reconcileEnrolledStudentCounts()).thenReturn(2);
+        when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+
+        // When
+        int repaired = reconciler.reconcile();
+
+        // Then
+        assertThat(repaired).isEqualTo(2);
+        verify(courseRepository, times(1)).reconcileEnrolledStudentCounts();
+        verify(secondLevelCache).evict(Course.class);
+    }
+
+    @Test
+    void reconcile_WithNothingToRepair_ShouldKeepCachedCourses() {
+        // Given
+        when(courseRepository.reconcileEnrolledStudentCounts()).thenReturn(0);
+
+        // When
+        int repaired = reconciler.reconcile();
+
+        // Then
+        assertThat(repaired).isZero();
+        verifyNoInteractions(entityManagerFactory);
+    }
+}
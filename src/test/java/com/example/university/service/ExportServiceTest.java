@@ -0,0 +1,135 @@
+package com.example.university.service;
+
+import com.example.university.dto.StudentExportRow;
+import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
+import com.example.university.repository.StudentRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.StringWriter;
+import java.time.Duration;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ExportServiceTest {
+
+    @Mock
+    private StudentRepository studentRepository;
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private JdbcTemplate jdbcTemplate;
+
+    private ExportService exportService;
+
+    private final StudentExportRow john = new StudentExportRow("S001", "John", "Doe", "john@test.com", "john.doe");
+    private final StudentExportRow jane = new StudentExportRow("S002", "Jane", "O'Neil, \"JJ\"", "jane@test.com", "jane");
+
+    @BeforeEach
+    void setUp() {
+        exportService = exportService("jdbc:h2:mem:test");
+    }
+
+    private ExportService exportService(String url) {
+        return new ExportService(studentRepository, courseRepository, departmentRepository,
+                JsonMapper.builder().build(), jdbcTemplate, url, Duration.ofMinutes(10));
+    }
+
+    @Test
+    void exportStudents_OnPostgres_ShouldRaiseTheStatementTimeoutForItsTransaction() throws Exception {
+        // Given
+        exportService = exportService("jdbc:postgresql://localhost:5432/university");
+        when(studentRepository.streamRoster()).thenReturn(Stream.of(john));
+
+        // When
+        exportService.exportStudents(ExportFormat.CSV, new StringWriter());
+
+        // Then
+        verify(jdbcTemplate).execute("SET LOCAL statement_timeout = 600000");
+    }
+
+    @Test
+    void exportStudents_OnOtherDatabases_ShouldLeaveTheTimeoutAlone() throws Exception {
+        // Given
+        when(studentRepository.streamRoster()).thenReturn(Stream.of(john));
+
+        // When
+        exportService.exportStudents(ExportFormat.CSV, new StringWriter());
+
+        // Then
+        verifyNoInteractions(jdbcTemplate);
+    }
+
+    @Test
+    void exportStudents_AsCsv_ShouldWriteHeaderAndQuoteWhereNeeded() throws Exception {
+        // Given
+        when(studentRepository.streamRoster()).thenReturn(Stream.of(john, jane));
+        StringWriter out = new StringWriter();
+
+        // When
+        exportService.exportStudents(ExportFormat.CSV, out);
+
+        // Then
+        assertThat(out.toString()).isEqualTo(
+                "studentId,firstName,lastName,email,username\r\n" +
+                "S001,John,Doe,john@test.com,john.doe\r\n" +
+                "S002,Jane,\"O'Neil, \"\"JJ\"\"\",jane@test.com,jane\r\n");
+    }
+
+    @Test
+    void exportCourseEnrollments_AsJson_ShouldWriteArrayOfRows() throws Exception {
+        // Given
+        when(courseRepository.existsById(1L)).thenReturn(true);
+        when(studentRepository.streamByCourse(1L)).thenReturn(Stream.of(john));
+        StringWriter out = new StringWriter();
+
+        // When
+        exportService.exportCourseEnrollments(1L, ExportFormat.JSON, out);
+
+        // Then
+        assertThat(out.toString()).isEqualTo(
+                "[{\"studentId\":\"S001\",\"firstName\":\"John\",\"lastName\":\"Doe\"," +
+                "\"email\":\"john@test.com\",\"username\":\"john.doe\"}]");
+    }
+
+    @Test
+    void exportCourseEnrollments_WithUnknownCourse_ShouldThrow() {
+        // Given
+        when(courseRepository.existsById(99L)).thenReturn(false);
+
+        // When / Then
+        assertThatThrownBy(() -> exportService.exportCourseEnrollments(99L, ExportFormat.CSV, new StringWriter()))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Course not found");
+        verify(studentRepository, never()).streamByCourse(any());
+    }
+
+    @Test
+    void exportDepartmentStudents_ShouldCloseTheStream() throws Exception {
+        // Given
+        when(departmentRepository.existsById(2L)).thenReturn(true);
+        boolean[] closed = {false};
+        when(studentRepository.streamByDepartment(2L)).thenReturn(Stream.of(john).onClose(() -> closed[0] = true));
+
+        // When
+        exportService.exportDepartmentStudents(2L, ExportFormat.CSV, new StringWriter());
+
+        // Then
+        assertThat(closed[0]).isTrue();
+    }
+}
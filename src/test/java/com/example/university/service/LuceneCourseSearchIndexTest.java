@@ -0,0 +1,183 @@
+package com.example.university.service;
+
+import com.example.university.dto.CourseSummary;
+import com.example.university.repository.CourseRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LuceneCourseSearchIndexTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private LuceneCourseSearchIndex index;
+
+    @AfterEach
+    void tearDown() throws IOException {
+        index.close();
+    }
+
+    private static CourseSummary course(Long id, String name, String code, String description,
+                                        Long departmentId, String departmentName) {
+        return new CourseSummary(id, name, code, description, 3, departmentId, departmentName,
+                null, null, null, 0, null);
+    }
+
+    @Test
+    void search_ShouldMatchEveryTermByPrefixAcrossFields() {
+        // Given
+        when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                course(1L, "Programming in Java", "CS101", null, 7L, "Computer Science"),
+                course(2L, "Java Tooling", "CS201", "No programming involved", 7L, "Computer Science"),
+                course(3L, "Programming in C", "CS102", null, 7L, "Computer Science"),
+                course(4L, "Java History", "HI300", null, 8L, "History")));
+
+        // When
+        List<Long> javaProgramming = index.search(List.of("jav", "prog"), 10);
+        List<Long> computerJava = index.search(List.of("comp", "java"), 10);
+
+        // Then
+        assertThat(javaProgramming).containsExactly(1L, 2L);
+        assertThat(computerJava).containsExactly(2L, 1L);
+        verify(courseRepository, times(1)).findAllSummaries();
+    }
+
+    @Test
+    void search_ShouldRankNameMatchesAboveDescriptionMatches() {
+        // Given
+        when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                course(1L, "Databases", "DB1", "Includes a unit on algebra", 7L, "Math"),
+                course(2L, "Algebra", "ALG1", null, 7L, "Math")));
+
+        // When
+        List<Long> result = index.search(List.of("algebra"), 10);
+
+        // Then
+        assertThat(result).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void search_ShouldSplitWordsOnEveryNonAlphanumeric() {
+        // Given
+        when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                course(1L, "Java/Spring Services", "CS-101", "Deploying to foo.bar_baz", 7L, "Computer Science")));
+
+        // When / Then: the query words come from SearchTerms, split the same way
+        assertThat(index.search(SearchTerms.query("spring"), 10)).containsExactly(1L);
+        assertThat(index.search(SearchTerms.query("CS-101"), 10)).containsExactly(1L);
+        assertThat(index.search(SearchTerms.query("bar baz"), 10)).containsExactly(1L);
+        assertThat(index.search(SearchTerms.query("java/spring"), 10)).containsExactly(1L);
+        assertThat(index.search(SearchTerms.query("pring"), 10)).isEmpty();
+    }
+
+    @Test
+    void searchNotEnrolledByStudent_ShouldFilterBeforePaging() {
+        // Given: the best matches are the ones filtered out
+        when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                new CourseSummary(1L, "Algebra", "MA1", null, 3, 7L, "Math", null, null, null, 0, null),
+                new CourseSummary(2L, "Algebra", "PH1", null, 3, 8L, "Physics", null, null, null, 0, null),
+                new CourseSummary(3L, "Algebra", "MA3", null, 6, 7L, "Math", null, null, null, 0, null),
+                new CourseSummary(4L, "Algebra II", "MA4", null, 4, 7L, "Math", null, null, null, 0, null),
+                new CourseSummary(5L, "Linear Maps", "MA5", "Uses algebra", 3, 7L, "Math", null, null, null, 0, null)));
+        when(courseRepository.findIdsEnrolledByStudent(9L)).thenReturn(List.of(1L));
+
+        // When
+        Page<Long> first = index.searchNotEnrolledByStudent(List.of("algebra"), 9L, 7L, null, 4, PageRequest.of(0, 1));
+        Page<Long> second = index.searchNotEnrolledByStudent(List.of("algebra"), 9L, 7L, null, 4, PageRequest.of(1, 1));
+
+        // Then
+        assertThat(first.getContent()).containsExactly(4L);
+        assertThat(first.getTotalElements()).isEqualTo(2);
+        assertThat(second.getContent()).containsExactly(5L);
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    void searchNotEnrolledByStudent_WithoutFiltersOrEnrollments_ShouldCountEveryMatch() {
+        // Given
+        when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                course(1L, "Optics", "PH1", null, 7L, "Physics"),
+                course(2L, "Optical Networks", "CS2", null, 8L, "Computer Science"),
+                course(3L, "Poetry", "EN1", null, 9L, "English")));
+        when(courseRepository.findIdsEnrolledByStudent(9L)).thenReturn(List.of());
+
+        // When
+        Page<Long> result = index.searchNotEnrolledByStudent(List.of("opti"), 9L, null, null, null, PageRequest.of(0, 1));
+
+        // Then
+        assertThat(result.getContent()).hasSize(1);
+        assertThat(result.getTotalElements()).isEqualTo(2);
+    }
+
+    @Test
+    void search_WithNoTerms_ShouldNotBuildIndex() {
+        // When
+        List<Long> result = index.search(List.of(), 10);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    void onCourseChanged_ShouldReindexUpdatedAndDropDeletedCourses() {
+        // Given
+        when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                course(1L, "Statistics", "ST1", null, 7L, "Math"),
+                course(2L, "Geometry", "GE1", null, 7L, "Math")));
+        assertThat(index.search(List.of("statistics"), 10)).containsExactly(1L);
+        when(courseRepository.findSummariesByIdIn(List.of(1L)))
+                .thenReturn(List.of(course(1L, "Probability", "ST1", null, 7L, "Math")));
+        when(courseRepository.findSummariesByIdIn(List.of(2L))).thenReturn(List.of());
+
+        // When
+        index.onCourseChanged(new CourseChangedEvent(1L));
+        index.onCourseChanged(new CourseChangedEvent(2L));
+
+        // Then
+        assertThat(index.search(List.of("statistics"), 10)).isEmpty();
+        assertThat(index.search(List.of("probability"), 10)).containsExactly(1L);
+        assertThat(index.search(List.of("geometry"), 10)).isEmpty();
+    }
+
+    @Test
+    void onCourseChanged_BeforeFirstSearch_ShouldLeaveBuildToSearch() {
+        // When
+        index.onCourseChanged(new CourseChangedEvent(1L));
+
+        // Then
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    void onDepartmentsChanged_ShouldReindexThatDepartmentsCourses() {
+        // Given
+        when(courseRepository.findAllSummaries()).thenReturn(List.of(
+                course(1L, "Optics", "PH1", null, 7L, "Physics"),
+                course(2L, "Poetry", "EN1", null, 8L, "English")));
+        assertThat(index.search(List.of("physics"), 10)).containsExactly(1L);
+        when(courseRepository.findSummariesByIdIn(List.of(1L)))
+                .thenReturn(List.of(course(1L, "Optics", "PH1", null, 7L, "Applied Physics")));
+
+        // When
+        index.onDepartmentsChanged(new DepartmentsChangedEvent(7L));
+
+        // Then
+        assertThat(index.search(List.of("applied"), 10)).containsExactly(1L);
+        verify(courseRepository, never()).findSummariesByIdIn(List.of(2L));
+    }
+}
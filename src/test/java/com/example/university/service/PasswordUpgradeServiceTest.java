@@ -0,0 +1,119 @@
+package com.example.university.service;
+
+import com.example.university.config.BoundedPasswordEncoder;
+import com.example.university.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PasswordUpgradeServiceTest {
+
+    @Mock
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    private PasswordUpgradeService passwordUpgradeService;
+
+    @BeforeEach
+    void setUp() {
+        passwordUpgradeService = new PasswordUpgradeService(passwordEncoder, userRepository,
+                userDetailsService, transactionTemplate);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+    }
+
+    @Test
+    void upgradeInBackground_ShouldStoreNewHashAndEvictUser() {
+        // Given
+        when(passwordEncoder.encodeAsync("secret"))
+                .thenReturn(CompletableFuture.completedFuture("{bcrypt}$2a$12$new"));
+        when(userRepository.updatePasswordIfUnchanged("john.doe", "$2a$10$old", "{bcrypt}$2a$12$new"))
+                .thenReturn(1);
+
+        // When
+        passwordUpgradeService.upgradeInBackground("john.doe", "secret", "$2a$10$old");
+
+        // Then
+        verify(userRepository).updatePasswordIfUnchanged("john.doe", "$2a$10$old", "{bcrypt}$2a$12$new");
+        verify(userDetailsService).evictUser("john.doe");
+    }
+
+    @Test
+    void upgradeInBackground_WhenPasswordChangedMeanwhile_ShouldNotEvict() {
+        // Given
+        when(passwordEncoder.encodeAsync("secret"))
+                .thenReturn(CompletableFuture.completedFuture("{bcrypt}$2a$12$new"));
+        when(userRepository.updatePasswordIfUnchanged("john.doe", "$2a$10$old", "{bcrypt}$2a$12$new"))
+                .thenReturn(0);
+
+        // When
+        passwordUpgradeService.upgradeInBackground("john.doe", "secret", "$2a$10$old");
+
+        // Then
+        verify(userDetailsService, never()).evictUser(any());
+    }
+
+    @Test
+    void upgradeInBackground_WhenHashingFails_ShouldLeavePasswordAlone() {
+        // Given
+        when(passwordEncoder.encodeAsync("secret"))
+                .thenReturn(CompletableFuture.failedFuture(new IllegalStateException("queue full")));
+
+        // When
+        passwordUpgradeService.upgradeInBackground("john.doe", "secret", "$2a$10$old");
+
+        // Then
+        verifyNoInteractions(userRepository, userDetailsService);
+    }
+
+    @Test
+    void upgradeInBackground_WhenHashingQueueIsFull_ShouldSkipWithoutThrowing() throws Exception {
+        // Given: the only hashing thread is busy and there is no queue, so the next submit is rejected
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS, new SynchronousQueue<>());
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        BoundedPasswordEncoder saturated = new BoundedPasswordEncoder(NoOpPasswordEncoder.getInstance(), executor);
+        PasswordUpgradeService service = new PasswordUpgradeService(saturated, userRepository,
+                userDetailsService, transactionTemplate);
+
+        try {
+            // When / Then
+            assertThatCode(() -> service.upgradeInBackground("john.doe", "secret", "$2a$10$old"))
+                    .doesNotThrowAnyException();
+            verifyNoInteractions(userRepository, userDetailsService);
+        } finally {
+            release.countDown();
+            saturated.destroy();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.example.university.service;
+
+import com.example.university.repository.CourseRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PostgresCourseSearchIndexTest {
+
+    @Mock
+    private CourseRepository courseRepository;
+
+    @InjectMocks
+    private PostgresCourseSearchIndex index;
+
+    @Test
+    void search_ShouldQueryPrefixOfEveryTerm() {
+        // Given
+        when(courseRepository.searchIds("java:* & prog:*", 20)).thenReturn(List.of(3L, 1L));
+
+        // When
+        List<Long> result = index.search(List.of("java", "prog"), 20);
+
+        // Then
+        assertThat(result).containsExactly(3L, 1L);
+    }
+
+    @Test
+    void searchNotEnrolledByStudent_ShouldPassFiltersToTheQuery() {
+        // Given
+        Pageable pageable = PageRequest.of(1, 10);
+        when(courseRepository.searchIdsNotEnrolledByStudent("java:*", 5L, 7L, 3, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(4L), pageable, 11));
+
+        // When
+        Page<Long> result = index.searchNotEnrolledByStudent(List.of("java"), 5L, 7L, 3, null, pageable);
+
+        // Then
+        assertThat(result.getContent()).containsExactly(4L);
+        assertThat(result.getTotalElements()).isEqualTo(11);
+    }
+
+    @Test
+    void search_WithNoTerms_ShouldNotQuery() {
+        // When
+        List<Long> result = index.search(List.of(), 20);
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    void searchNotEnrolledByStudent_WithNoTerms_ShouldNotQuery() {
+        // When
+        Page<Long> result = index.searchNotEnrolledByStudent(List.of(), 5L, null, null, null, PageRequest.of(0, 10));
+
+        // Then
+        assertThat(result).isEmpty();
+        verifyNoInteractions(courseRepository);
+    }
+}
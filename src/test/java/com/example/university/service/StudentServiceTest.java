@@ -1,20 +1,43 @@
 package com.example.university.service;
 
+import com.example.university.dto.CourseSummary;
+import com.example.university.dto.CreditSummary;
+import com.example.university.dto.DepartmentCredits;
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.EnrollmentCount;
+import com.example.university.dto.StudentDepartment;
+import com.example.university.dto.StudentView;
 import com.example.university.entity.Course;
+import com.example.university.entity.Department;
 import com.example.university.entity.Role;
 import com.example.university.entity.Student;
 import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
 import com.example.university.repository.StudentRepository;
+import jakarta.persistence.Cache;
+import jakarta.persistence.EntityManagerFactory;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -31,6 +54,27 @@ class StudentServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private CourseService courseService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+
+    @Mock
+    private Cache secondLevelCache;
+
     @InjectMocks
     private StudentService studentService;
 
@@ -42,6 +86,10 @@ class StudentServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(entityManagerFactory.getCache()).thenReturn(secondLevelCache);
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
+
         // Create test students
         student1 = new Student();
         student1.setId(1L);
@@ -178,6 +226,7 @@ class StudentServiceTest {
         assertThat(updated.getLastName()).isEqualTo("Doe-Smith");
 
         verify(studentRepository, times(1)).save(any(Student.class));
+        verify(userDetailsService).evictUser("john.doe.updated");
     }
 
     @Test
@@ -195,92 +244,141 @@ class StudentServiceTest {
     @Test
     void enrollInCourse_WithValidIds_ShouldEnrollStudent() {
         // Given
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        when(courseRepository.findById(101L)).thenReturn(Optional.of(course1));
-        when(studentRepository.save(any(Student.class))).thenReturn(student1);
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(101L)).thenReturn(true);
+        when(courseRepository.reserveSeat(101L)).thenReturn(1);
+        when(studentRepository.insertEnrollment(1L, 101L)).thenReturn(1);
 
         // When
-        studentService.enrollInCourse(1L, 101L);
+        boolean enrolled = studentService.enrollInCourse(1L, 101L);
 
         // Then
-        assertThat(student1.getEnrolledCourses()).contains(course1);
-        verify(studentRepository, times(1)).save(student1);
+        assertThat(enrolled).isTrue();
+        verify(courseRepository, never()).releaseSeat(anyLong());
+        verify(studentRepository, never()).findById(anyLong());
+        verify(studentRepository, never()).save(any());
+        verify(secondLevelCache).evict(Course.class, 101L);
+        verifyNoMoreInteractions(secondLevelCache);
     }
 
     @Test
     void enrollInCourse_WithInvalidStudent_ShouldThrowException() {
         // Given
-        when(studentRepository.findById(99L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(99L)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> studentService.enrollInCourse(99L, 101L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Student not found");
 
-        verify(courseRepository, never()).findById(anyLong());
-        verify(studentRepository, never()).save(any());
+        verify(courseRepository, never()).reserveSeat(anyLong());
+        verify(studentRepository, never()).insertEnrollment(anyLong(), anyLong());
     }
 
     @Test
     void enrollInCourse_WithInvalidCourse_ShouldThrowException() {
         // Given
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        when(courseRepository.findById(999L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(999L)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> studentService.enrollInCourse(1L, 999L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Course not found");
 
-        verify(studentRepository, never()).save(any());
+        verify(studentRepository, never()).insertEnrollment(anyLong(), anyLong());
     }
 
     @Test
-    void enrollInCourse_WhenAlreadyEnrolled_ShouldStillWork() {
+    void enrollInCourse_WhenAlreadyEnrolled_ShouldSucceedWithoutReservingSeat() {
         // Given
-        student1.getEnrolledCourses().add(course1); // Already enrolled
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(101L)).thenReturn(true);
+        when(studentRepository.existsEnrollment(1L, 101L)).thenReturn(true);
 
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        when(courseRepository.findById(101L)).thenReturn(Optional.of(course1));
-        when(studentRepository.save(any(Student.class))).thenReturn(student1);
+        // When
+        boolean enrolled = studentService.enrollInCourse(1L, 101L);
+
+        // Then
+        assertThat(enrolled).isTrue();
+        verify(courseRepository, never()).reserveSeat(anyLong());
+        verify(studentRepository, never()).insertEnrollment(anyLong(), anyLong());
+    }
+
+    @Test
+    void enrollInCourse_WhenAlreadyEnrolled_ShouldReleaseReservedSeat() {
+        // Given
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(101L)).thenReturn(true);
+        when(courseRepository.reserveSeat(101L)).thenReturn(1);
+        when(studentRepository.insertEnrollment(1L, 101L)).thenReturn(0); // row inserted concurrently
+
+        // When
+        boolean enrolled = studentService.enrollInCourse(1L, 101L);
+
+        // Then
+        assertThat(enrolled).isTrue();
+        verify(courseRepository, times(1)).releaseSeat(101L);
+    }
+
+    @Test
+    void enrollInCourse_WhenCourseIsFull_ShouldNotInsertEnrollment() {
+        // Given
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(101L)).thenReturn(true);
+        when(courseRepository.reserveSeat(101L)).thenReturn(0);
 
         // When
-        studentService.enrollInCourse(1L, 101L);
+        boolean enrolled = studentService.enrollInCourse(1L, 101L);
 
         // Then
-        assertThat(student1.getEnrolledCourses()).hasSize(1);
-        assertThat(student1.getEnrolledCourses()).contains(course1);
-        verify(studentRepository, times(1)).save(student1);
+        assertThat(enrolled).isFalse();
+        verify(studentRepository, never()).insertEnrollment(anyLong(), anyLong());
+        verify(courseRepository, never()).releaseSeat(anyLong());
+        verifyNoInteractions(secondLevelCache);
     }
 
     @Test
     void unenrollFromCourse_WithValidIds_ShouldUnenrollStudent() {
         // Given
-        student1.getEnrolledCourses().add(course1); // Enroll first
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(101L)).thenReturn(true);
+        when(studentRepository.deleteEnrollment(1L, 101L)).thenReturn(1);
 
-        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        when(courseRepository.findById(101L)).thenReturn(Optional.of(course1));
-        when(studentRepository.save(any(Student.class))).thenReturn(student1);
+        // When
+        studentService.unenrollFromCourse(1L, 101L);
+
+        // Then
+        verify(courseRepository, times(1)).releaseSeat(101L);
+        verify(studentRepository, never()).save(any());
+        verify(secondLevelCache).evict(Course.class, 101L);
+    }
+
+    @Test
+    void unenrollFromCourse_WhenNotEnrolled_ShouldLeaveCountUntouched() {
+        // Given
+        when(studentRepository.existsById(1L)).thenReturn(true);
+        when(courseRepository.existsById(101L)).thenReturn(true);
+        when(studentRepository.deleteEnrollment(1L, 101L)).thenReturn(0);
 
         // When
         studentService.unenrollFromCourse(1L, 101L);
 
         // Then
-        assertThat(student1.getEnrolledCourses()).doesNotContain(course1);
-        verify(studentRepository, times(1)).save(student1);
+        verify(courseRepository, never()).releaseSeat(anyLong());
     }
 
     @Test
     void unenrollFromCourse_WithInvalidStudent_ShouldThrowException() {
         // Given
-        when(studentRepository.findById(99L)).thenReturn(Optional.empty());
+        when(studentRepository.existsById(99L)).thenReturn(false);
 
         // When & Then
         assertThatThrownBy(() -> studentService.unenrollFromCourse(99L, 101L))
                 .isInstanceOf(RuntimeException.class)
                 .hasMessage("Student not found");
 
-        verify(studentRepository, never()).save(any());
+        verify(studentRepository, never()).deleteEnrollment(anyLong(), anyLong());
     }
 
     @Test
@@ -313,54 +411,299 @@ class StudentServiceTest {
     }
 
     @Test
-    void getAvailableCourses_ShouldReturnCoursesNotEnrolled() {
+    void getAvailableCourses_ShouldDelegateToAntiJoinQuery() {
+        // Given
+        CourseSummary summary = new CourseSummary(102L, "Data Structures", "CS201", null, 4,
+                1L, "Computer Science", 2L, "Grace", "Hopper", 12, null);
+        Pageable pageable = PageRequest.of(0, 12, Sort.by("name", "id"));
+        when(courseRepository.findSummariesNotEnrolledByStudent(1L, null, null, null, pageable))
+                .thenReturn(new PageImpl<>(List.of(summary), pageable, 1));
+
+        // When
+        Page<CourseSummary> available = studentService.getAvailableCourses(1L, null, null, null, 0, 12);
+
+        // Then
+        assertThat(available.getContent()).containsExactly(summary);
+        assertThat(available.getContent().get(0).teacherName()).isEqualTo("Grace Hopper");
+        verify(courseRepository, never()).findAll();
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void getAvailableCourses_ShouldPassFiltersAndClampPaging() {
+        // Given
+        when(courseRepository.findSummariesNotEnrolledByStudent(anyLong(), any(), any(), any(), any(Pageable.class)))
+                .thenReturn(Page.empty());
+
+        // When
+        Page<CourseSummary> available = studentService.getAvailableCourses(1L, 7L, 2, 4, -3, 10_000);
+
+        // Then
+        assertThat(available).isEmpty();
+        verify(courseRepository).findSummariesNotEnrolledByStudent(1L, 7L, 2, 4,
+                PageRequest.of(0, KeysetPaging.MAX_PAGE_SIZE, Sort.by("name", "id")));
+    }
+
+    @Test
+    void searchAvailableCourses_ShouldSearchWithTheFiltersAndRequestedPage() {
+        // Given
+        CourseSummary second = new CourseSummary(4L, "Linear Algebra", "MATH4", null, 4, 7L, "Math", null, null, null, 0, null);
+        Pageable pageable = PageRequest.of(1, 1);
+        when(courseService.searchCoursesNotEnrolledByStudent(1L, "algebra", 7L, null, 4, pageable))
+                .thenReturn(new PageImpl<>(List.of(second), pageable, 2));
+
+        // When
+        Page<CourseSummary> page = studentService.searchAvailableCourses(1L, "algebra", 7L, null, 4, 1, 1);
+
+        // Then
+        assertThat(page.getContent()).containsExactly(second);
+        assertThat(page.hasNext()).isFalse();
+        verify(courseRepository, never()).findSummariesEnrolledByStudent(any());
+    }
+
+    @Test
+    void getStudentPage_WithoutCursor_ShouldStartFromFirstKeyset() {
         // Given
-        student1.getEnrolledCourses().add(course1); // Student enrolled in course1
+        Window<Student> window = Window.from(List.of(student1, student2), ScrollPosition::offset);
+        when(studentRepository.findAllBy(ScrollPosition.keyset(),
+                Sort.by(Sort.Direction.ASC, "lastName", "id"), Limit.of(20))).thenReturn(window);
+
+        // When
+        Window<Student> page = studentService.getStudentPage(null, "lastName", Sort.Direction.ASC, 20);
 
-        List<Course> allCourses = Arrays.asList(course1, course2, course3);
+        // Then
+        assertThat(page.getContent()).containsExactly(student1, student2);
+        verify(studentRepository, never()).findById(any());
+    }
 
+    @Test
+    void getStudentPage_WithCursor_ShouldContinueAfterAnchorRow() {
+        // Given
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        when(courseRepository.findAll()).thenReturn(allCourses);
+        when(studentRepository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(student2), ScrollPosition::offset));
 
         // When
-        List<Course> availableCourses = studentService.getAvailableCourses(1L);
+        Window<Student> page = studentService.getStudentPage(1L, "lastName", Sort.Direction.DESC, 20);
 
         // Then
-        assertThat(availableCourses).hasSize(2);
-        assertThat(availableCourses).extracting(Course::getName)
-                .containsExactlyInAnyOrder("Data Structures", "Database Systems");
-        assertThat(availableCourses).doesNotContain(course1);
+        assertThat(page.getContent()).containsExactly(student2);
+        verify(studentRepository).findAllBy(
+                ScrollPosition.forward(Map.of("lastName", "Doe", "id", 1L)),
+                Sort.by(Sort.Direction.DESC, "lastName", "id"),
+                Limit.of(20));
     }
 
     @Test
-    void getAvailableCourses_WhenStudentEnrolledInAll_ShouldReturnEmptyList() {
+    void getStudentPage_WithUnknownSortAndOversizedPage_ShouldFallBackToIdOrderAndClampLimit() {
         // Given
-        student1.getEnrolledCourses().add(course1);
-        student1.getEnrolledCourses().add(course2);
-        student1.getEnrolledCourses().add(course3);
+        when(studentRepository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(), ScrollPosition::offset));
+
+        // When
+        studentService.getStudentPage(null, "password", Sort.Direction.ASC, 10_000);
+
+        // Then
+        verify(studentRepository).findAllBy(ScrollPosition.keyset(), Sort.by("id"), Limit.of(KeysetPaging.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    void getStudentPage_WhenCursorRowWasDeleted_ShouldRejectTheCursor() {
+        // Given
+        when(studentRepository.findById(99L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> studentService.getStudentPage(99L, "id", Sort.Direction.ASC, 20))
+                .isInstanceOf(CursorNotFoundException.class);
+        verify(studentRepository, never()).findAllBy(any(), any(), any());
+    }
+
+    @Test
+    void getEnrolledCourseSummaries_ShouldUseSingleProjectionQuery() {
+        // Given
+        CourseSummary summary = new CourseSummary(101L, "Java Programming", "CS101", null, 3,
+                null, null, null, null, null, 1, 30);
+        when(courseRepository.findSummariesEnrolledByStudent(1L)).thenReturn(List.of(summary));
+
+        // When
+        List<CourseSummary> enrolled = studentService.getEnrolledCourseSummaries(1L);
+
+        // Then
+        assertThat(enrolled).containsExactly(summary);
+        assertThat(enrolled.get(0).teacherName()).isNull();
+        verifyNoInteractions(studentRepository);
+    }
+
+    @Test
+    void getCreditSummary_ShouldAddUpDepartmentRows() {
+        // Given
+        when(studentRepository.sumCreditsByDepartment(1L)).thenReturn(List.of(
+                new DepartmentCredits(10L, "Computer Science", 2, 7),
+                new DepartmentCredits(20L, "Arts", 1, 3),
+                new DepartmentCredits(null, null, 1, 2)));
+
+        // When
+        CreditSummary summary = studentService.getCreditSummary(1L);
+
+        // Then
+        assertThat(summary.courseCount()).isEqualTo(4);
+        assertThat(summary.totalCredits()).isEqualTo(12);
+        assertThat(summary.averageCredits()).isEqualTo(3.0);
+        assertThat(summary.departments()).hasSize(3);
+        verifyNoInteractions(courseRepository);
+    }
+
+    @Test
+    void getCreditSummary_WithoutEnrollments_ShouldBeZero() {
+        // Given
+        when(studentRepository.sumCreditsByDepartment(1L)).thenReturn(List.of());
+
+        // When
+        CreditSummary summary = studentService.getCreditSummary(1L);
+
+        // Then
+        assertThat(summary).isEqualTo(new CreditSummary(0, 0, 0, List.of()));
+    }
+
+    @Test
+    void getStudentViewPage_ShouldLoadDepartmentsAndCountsForWholePageInTwoQueries() {
+        // Given
+        when(studentRepository.findAllBy(any(), any(), any()))
+                .thenReturn(Window.from(List.of(student1, student2), ScrollPosition::offset));
+        when(studentRepository.findDepartmentsOfStudents(List.of(1L, 2L))).thenReturn(List.of(
+                new StudentDepartment(1L, 10L, "Computer Science", "CS", null),
+                new StudentDepartment(1L, 11L, "Mathematics", "MATH", null)));
+        when(studentRepository.countEnrollments(List.of(1L, 2L))).thenReturn(List.of(new EnrollmentCount(1L, 3)));
+
+        // When
+        Window<StudentView> page = studentService.getStudentViewPage(null, "id", Sort.Direction.ASC, 20);
+
+        // Then
+        StudentView john = page.getContent().get(0);
+        StudentView jane = page.getContent().get(1);
+        assertThat(john.departments()).extracting(DepartmentOption::code).containsExactly("CS", "MATH");
+        assertThat(john.enrolledCourseCount()).isEqualTo(3);
+        assertThat(jane.departments()).isEmpty();
+        assertThat(jane.enrolledCourseCount()).isZero();
+        verify(studentRepository, times(1)).findDepartmentsOfStudents(any());
+        verify(studentRepository, times(1)).countEnrollments(any());
+    }
+
+    @Test
+    void updateStudentDetails_ShouldReplaceDepartmentsAndKeepPasswordWhenNoneGiven() {
+        // Given
+        Department computerScience = new Department("Computer Science", "CS", null);
+        computerScience.setId(10L);
+        Department mathematics = new Department("Mathematics", "MATH", null);
+        mathematics.setId(11L);
+        student1.getDepartments().add(computerScience);
+
+        Student details = new Student();
+        details.setFirstName("Johnny");
+        details.setLastName("Doe");
+        details.setEmail("johnny@university.com");
+        details.setStudentId("STU009");
+
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(departmentRepository.findAllById(List.of(11L))).thenReturn(List.of(mathematics));
+
+        // When
+        Student updated = studentService.updateStudentDetails(1L, details, null, List.of(11L));
+
+        // Then
+        assertThat(updated.getFirstName()).isEqualTo("Johnny");
+        assertThat(updated.getEmail()).isEqualTo("johnny@university.com");
+        assertThat(updated.getStudentId()).isEqualTo("STU009");
+        assertThat(updated.getPassword()).isEqualTo("password");
+        assertThat(updated.getDepartments()).containsExactly(mathematics);
+        verify(userDetailsService).evictUser("john.doe");
+    }
+
+    @Test
+    void updateStudentDetails_WithNewPasswordAndNoDepartments_ShouldClearDepartments() {
+        // Given
+        student1.getDepartments().add(new Department("Computer Science", "CS", null));
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+
+        // When
+        Student updated = studentService.updateStudentDetails(1L, new Student(), "encodedNewPassword", null);
 
-        List<Course> allCourses = Arrays.asList(course1, course2, course3);
+        // Then
+        assertThat(updated.getPassword()).isEqualTo("encodedNewPassword");
+        assertThat(updated.getDepartments()).isEmpty();
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void updateStudentDetails_WithUnknownDepartment_ShouldThrowException() {
+        // Given
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(departmentRepository.findAllById(List.of(10L, 99L))).thenReturn(List.of(new Department()));
+
+        // When / Then
+        assertThatThrownBy(() -> studentService.updateStudentDetails(1L, new Student(), null, List.of(10L, 99L)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Department not found");
+        verify(userDetailsService, never()).evictUser(any());
+    }
+
+    @Test
+    void updateProfile_ShouldCheckAndUpdateTheEntityLoadedById() {
+        // Given
+        Student details = new Student();
+        details.setFirstName("Johnny");
+        details.setLastName("Doe");
+        details.setEmail("johnny@university.com");
+        when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
+        when(passwordEncoder.matches("current", "password")).thenReturn(true);
+        when(passwordEncoder.encode("newPassword")).thenReturn("encodedNewPassword");
+
+        // When
+        boolean updated = studentService.updateProfile(1L, details, "current", "newPassword");
 
+        // Then
+        assertThat(updated).isTrue();
+        assertThat(student1.getFirstName()).isEqualTo("Johnny");
+        assertThat(student1.getEmail()).isEqualTo("johnny@university.com");
+        assertThat(student1.getPassword()).isEqualTo("encodedNewPassword");
+        verify(userDetailsService).evictUser("john.doe");
+    }
+
+    @Test
+    void updateProfile_WithWrongCurrentPassword_ShouldChangeNothing() {
+        // Given
+        Student details = new Student();
+        details.setFirstName("Johnny");
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        when(courseRepository.findAll()).thenReturn(allCourses);
+        when(passwordEncoder.matches("wrong", "password")).thenReturn(false);
 
         // When
-        List<Course> availableCourses = studentService.getAvailableCourses(1L);
+        boolean updated = studentService.updateProfile(1L, details, "wrong", "newPassword");
 
         // Then
-        assertThat(availableCourses).isEmpty();
+        assertThat(updated).isFalse();
+        assertThat(student1.getFirstName()).isEqualTo("John");
+        assertThat(student1.getPassword()).isEqualTo("password");
+        verify(passwordEncoder, never()).encode(any());
+        verify(userDetailsService, never()).evictUser(any());
     }
 
     @Test
-    void getAvailableCourses_WhenNoCoursesExist_ShouldReturnEmptyList() {
+    void updateProfile_WhenPasswordIsResetDuringTheCheck_ShouldChangeNothing() {
         // Given
+        Student details = new Student();
+        details.setFirstName("Johnny");
         when(studentRepository.findById(1L)).thenReturn(Optional.of(student1));
-        when(courseRepository.findAll()).thenReturn(Arrays.asList());
+        when(passwordEncoder.matches("current", "password")).thenAnswer(invocation -> {
+            student1.setPassword("resetByAdmin");
+            return true;
+        });
 
         // When
-        List<Course> availableCourses = studentService.getAvailableCourses(1L);
+        boolean updated = studentService.updateProfile(1L, details, "current", null);
 
         // Then
-        assertThat(availableCourses).isEmpty();
+        assertThat(updated).isFalse();
+        assertThat(student1.getFirstName()).isEqualTo("John");
+        assertThat(student1.getPassword()).isEqualTo("resetByAdmin");
+        verify(userDetailsService, never()).evictUser(any());
     }
-}
\ No newline at end of file
+}
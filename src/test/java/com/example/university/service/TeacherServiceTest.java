@@ -1,10 +1,13 @@
 package com.example.university.service;
 
+import com.example.university.dto.DepartmentOption;
+import com.example.university.dto.TeacherView;
 import com.example.university.entity.Course;
 import com.example.university.entity.Department;
 import com.example.university.entity.Role;
 import com.example.university.entity.Teacher;
 import com.example.university.repository.CourseRepository;
+import com.example.university.repository.DepartmentRepository;
 import com.example.university.repository.TeacherRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,10 +15,18 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -32,6 +43,18 @@ class TeacherServiceTest {
     @Mock
     private CourseRepository courseRepository;
 
+    @Mock
+    private DepartmentRepository departmentRepository;
+
+    @Mock
+    private CustomUserDetailsService userDetailsService;
+
+    @Mock
+    private PasswordEncoder passwordEncoder;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
     @InjectMocks
     private TeacherService teacherService;
 
@@ -43,6 +66,8 @@ class TeacherServiceTest {
 
     @BeforeEach
     void setUp() {
+        lenient().when(transactionTemplate.execute(any()))
+                .thenAnswer(invocation -> invocation.<TransactionCallback<?>>getArgument(0).doInTransaction(null));
         // Create test department
         department = new Department();
         department.setId(1L);
@@ -189,6 +214,85 @@ class TeacherServiceTest {
         assertThat(updated.getQualification()).isEqualTo("PhD in Artificial Intelligence");
 
         verify(teacherRepository, times(1)).save(any(Teacher.class));
+        verify(userDetailsService).evictUser("dr.smith.updated");
+    }
+
+    @Test
+    void updateTeacherDetails_ShouldUpdateTheEntityLoadedById() {
+        // Given
+        Department mathematics = new Department("Mathematics", "MA", null);
+        mathematics.setId(2L);
+        Teacher details = new Teacher();
+        details.setFirstName("Johnathan");
+        details.setLastName("Smithson");
+        details.setEmail("smith.updated@university.com");
+        details.setTeacherId("TCH009");
+        details.setQualification("PhD");
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(departmentRepository.findById(2L)).thenReturn(Optional.of(mathematics));
+
+        // When
+        Teacher updated = teacherService.updateTeacherDetails(1L, details, null, 2L);
+
+        // Then
+        assertThat(updated).isSameAs(teacher1);
+        assertThat(updated.getFirstName()).isEqualTo("Johnathan");
+        assertThat(updated.getTeacherId()).isEqualTo("TCH009");
+        assertThat(updated.getDepartment()).isEqualTo(mathematics);
+        assertThat(updated.getPassword()).isEqualTo("password");
+        verify(userDetailsService).evictUser("dr.smith");
+    }
+
+    @Test
+    void updateTeacherDetails_WithNewPasswordAndNoDepartment_ShouldClearDepartment() {
+        // Given
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+
+        // When
+        Teacher updated = teacherService.updateTeacherDetails(1L, new Teacher(), "encodedNewPassword", null);
+
+        // Then
+        assertThat(updated.getPassword()).isEqualTo("encodedNewPassword");
+        assertThat(updated.getDepartment()).isNull();
+        verifyNoInteractions(departmentRepository);
+    }
+
+    @Test
+    void updateProfile_ShouldCheckAndUpdateTheEntityLoadedById() {
+        // Given
+        Teacher details = new Teacher();
+        details.setFirstName("Johnathan");
+        details.setQualification("PhD");
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(passwordEncoder.matches("current", "password")).thenReturn(true);
+
+        // When
+        boolean updated = teacherService.updateProfile(1L, details, "current", null);
+
+        // Then
+        assertThat(updated).isTrue();
+        assertThat(teacher1.getFirstName()).isEqualTo("Johnathan");
+        assertThat(teacher1.getQualification()).isEqualTo("PhD");
+        assertThat(teacher1.getPassword()).isEqualTo("password");
+        verify(userDetailsService).evictUser("dr.smith");
+    }
+
+    @Test
+    void updateProfile_WithWrongCurrentPassword_ShouldChangeNothing() {
+        // Given
+        Teacher details = new Teacher();
+        details.setFirstName("Johnathan");
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(passwordEncoder.matches("wrong", "password")).thenReturn(false);
+
+        // When
+        boolean updated = teacherService.updateProfile(1L, details, "wrong", "newPassword");
+
+        // Then
+        assertThat(updated).isFalse();
+        assertThat(teacher1.getFirstName()).isEqualTo("John");
+        verify(passwordEncoder, never()).encode(any());
+        verify(userDetailsService, never()).evictUser(any());
     }
 
     @Test
@@ -203,6 +307,19 @@ class TeacherServiceTest {
         verify(teacherRepository, times(1)).deleteById(1L);
     }
 
+    @Test
+    void deleteTeacher_ShouldEvictCachedLogin() {
+        // Given
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+
+        // When
+        teacherService.deleteTeacher(1L);
+
+        // Then
+        verify(userDetailsService).evictUser(teacher1.getUsername());
+        verify(teacherRepository).deleteById(1L);
+    }
+
     @Test
     void deleteTeacher_WithNonExistentId_ShouldStillCallRepository() {
         // Given
@@ -271,4 +388,45 @@ class TeacherServiceTest {
         assertThat(foundTeacher.getDepartment().getName()).isEqualTo("Computer Science");
         assertThat(foundTeacher.getDepartment().getCode()).isEqualTo("CS");
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTeacherPage_WithCursor_ShouldContinueAfterAnchorRow() {
+        // Given
+        when(teacherRepository.findById(1L)).thenReturn(Optional.of(teacher1));
+        when(teacherRepository.findAllBy(any(), any(), any())).thenReturn(Window.from(List.of(teacher2), ScrollPosition::offset));
+
+        // When
+        Window<Teacher> page = teacherService.getTeacherPage(1L, "teacherId", Sort.Direction.ASC, 10);
+
+        // Then
+        assertThat(page.getContent()).containsExactly(teacher2);
+        verify(teacherRepository).findAllBy(
+                ScrollPosition.forward(Map.of("teacherId", teacher1.getTeacherId(), "id", 1L)),
+                Sort.by(Sort.Direction.ASC, "teacherId", "id"),
+                Limit.of(10));
+    }
+
+    @Test
+    void getTeacherView_ShouldCarryDepartment() {
+        // Given
+        when(teacherRepository.findWithDepartmentById(1L)).thenReturn(Optional.of(teacher1));
+
+        // When
+        TeacherView view = teacherService.getTeacherView(1L);
+
+        // Then
+        assertThat(view.teacherId()).isEqualTo("TCH001");
+        assertThat(view.department()).isEqualTo(new DepartmentOption(1L, "Computer Science", "CS", null));
+    }
+
+    @Test
+    void getTeacherView_WhenTeacherDoesNotExist_ShouldThrowException() {
+        // Given
+        when(teacherRepository.findWithDepartmentById(99L)).thenReturn(Optional.empty());
+
+        // When / Then
+        assertThatThrownBy(() -> teacherService.getTeacherView(99L))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessage("Teacher not found");
+    }
+}